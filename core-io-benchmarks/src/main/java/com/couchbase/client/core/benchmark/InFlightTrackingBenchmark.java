@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.cnc.tracing.NoopRequestSpan;
+import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectHashMap;
+import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectMap;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.io.netty.kv.InFlightRequestTable;
+import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-flight request tracking of the {@link KeyValueMessageHandler}: the {@link InFlightRequestTable}
+ * against the three opaque keyed maps (request, boxed dispatch timestamp and dispatch span) it replaced.
+ *
+ * <p>Every invocation tracks a newly written request and completes the oldest one, so the number of tracked
+ * requests stays at the configured window.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InFlightTrackingBenchmark {
+
+  /**
+   * The in-flight tracking implementation to measure.
+   */
+  public enum Tracking {
+    TABLE,
+    MAPS
+  }
+
+  @Param
+  Tracking tracking;
+
+  @Param({"1", "128", "1024"})
+  int window;
+
+  @Param({"false", "true"})
+  boolean tracing;
+
+  private KeyValueFixture fixture;
+  private KeyValueRequest<Response>[] requests;
+  private RequestSpan span;
+  private int opaque;
+
+  private InFlightRequestTable table;
+  private IntObjectMap<KeyValueRequest<Response>> writtenRequests;
+  private IntObjectMap<RequestSpan> writtenRequestDispatchSpans;
+  private IntObjectMap<Long> writtenRequestDispatchTimings;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    fixture = new KeyValueFixture(false, false, CompressionConfig.DEFAULT_ENGINE, false, 256);
+    requests = new KeyValueRequest[window];
+    for (int i = 0; i < window; i++) {
+      requests[i] = fixture.request(KeyValueOperation.GET);
+    }
+    span = tracing ? NoopRequestSpan.INSTANCE : null;
+
+    table = new InFlightRequestTable();
+    writtenRequests = new IntObjectHashMap<>();
+    writtenRequestDispatchSpans = new IntObjectHashMap<>();
+    writtenRequestDispatchTimings = new IntObjectHashMap<>();
+    for (opaque = 0; opaque < window - 1; opaque++) {
+      write(opaque);
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    fixture.shutdown();
+  }
+
+  @Benchmark
+  public long writeAndComplete() {
+    write(opaque);
+    long latency = complete(opaque - window + 1);
+    opaque++;
+    return latency;
+  }
+
+  private void write(final int opaque) {
+    KeyValueRequest<Response> request = requests[(opaque & Integer.MAX_VALUE) % window];
+    if (tracking == Tracking.TABLE) {
+      table.put(opaque, request, System.nanoTime(), span);
+    } else {
+      writtenRequests.put(opaque, request);
+      writtenRequestDispatchTimings.put(opaque, (Long) System.nanoTime());
+      if (span != null) {
+        writtenRequestDispatchSpans.put(opaque, span);
+      }
+    }
+  }
+
+  private long complete(final int opaque) {
+    if (tracking == Tracking.TABLE) {
+      int slot = table.indexOf(opaque);
+      long latency = System.nanoTime() - table.dispatchStart(slot);
+      RequestSpan dispatchSpan = table.dispatchSpan(slot);
+      table.removeAt(slot);
+      return dispatchSpan == null ? latency : latency + 1;
+    } else {
+      writtenRequests.remove(opaque);
+      long latency = System.nanoTime() - writtenRequestDispatchTimings.remove(opaque);
+      RequestSpan dispatchSpan = writtenRequestDispatchSpans.remove(opaque);
+      return dispatchSpan == null ? latency : latency + 1;
+    }
+  }
+
+}
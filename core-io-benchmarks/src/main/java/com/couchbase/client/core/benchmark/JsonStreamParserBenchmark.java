@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.json.stream.CompositeStreamWindow;
+import com.couchbase.client.core.json.stream.CopyingStreamWindow;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
+import com.couchbase.client.core.json.stream.StreamWindow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures streaming the rows out of a query response with the {@link JsonStreamParser}, comparing the
+ * {@link CopyingStreamWindow} against the {@link CompositeStreamWindow}.
+ *
+ * <p>The response is fed in chunks of the configured size, allocated from the pooled allocator like network
+ * buffers would be.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonStreamParserBenchmark {
+
+  /**
+   * The stream window implementation to measure.
+   */
+  public enum Window {
+    COPYING,
+    COMPOSITE
+  }
+
+  @Param
+  Window window;
+
+  @Param({"false", "true"})
+  boolean direct;
+
+  @Param({"1024", "16384"})
+  int chunkSize;
+
+  private final PooledByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+  private byte[] response;
+  private long rows;
+
+  private final JsonStreamParser.Builder builder = JsonStreamParser.builder()
+    .doOnValue("/results/-", v -> rows++);
+
+  @Setup
+  public void setup() {
+    StringBuilder json = new StringBuilder("{\"requestID\":\"1234\",\"results\":[");
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":").append(i).append(",\"name\":\"row-").append(i)
+        .append("\",\"tags\":[\"a\",\"b\",\"c\"],\"nested\":{\"enabled\":true,\"score\":0.75}}");
+    }
+    json.append("],\"status\":\"success\"}");
+    response = json.toString().getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public long parseRows() {
+    rows = 0;
+    StreamWindow streamWindow = window == Window.COPYING
+      ? new CopyingStreamWindow(allocator)
+      : new CompositeStreamWindow(allocator);
+    try (JsonStreamParser parser = builder.build(null, streamWindow)) {
+      for (int offset = 0; offset < response.length; offset += chunkSize) {
+        int length = Math.min(chunkSize, response.length - offset);
+        ByteBuf chunk = direct ? allocator.directBuffer(length) : allocator.heapBuffer(length);
+        parser.feed(chunk.writeBytes(response, offset, length));
+      }
+      parser.endOfInput();
+    }
+    return rows;
+  }
+
+}
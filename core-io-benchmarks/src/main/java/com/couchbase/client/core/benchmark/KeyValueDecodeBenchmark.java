@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.env.CompressionEngine;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KeyValueRequest#decode} for every KV request type against a prebuilt, successful
+ * server response.
+ *
+ * <p>Decoding only reads from the response through absolute indexes and slices, so the same response
+ * buffer is reused for every invocation.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyValueDecodeBenchmark {
+
+  @Param
+  KeyValueOperation operation;
+
+  @Param({"false", "true"})
+  boolean collections;
+
+  @Param({"false", "true"})
+  boolean compression;
+
+  @Param({"POOLED", "HEAP"})
+  CompressionEngine engine;
+
+  @Param({"256", "16384"})
+  int contentSize;
+
+  private KeyValueFixture fixture;
+  private KeyValueRequest<Response> request;
+  private KeyValueChannelContext channelContext;
+  private ByteBuf response;
+
+  @Setup
+  public void setup() {
+    fixture = new KeyValueFixture(collections, compression, engine, false, contentSize);
+    request = fixture.request(operation);
+    channelContext = fixture.channelContext();
+    response = fixture.response(PooledByteBufAllocator.DEFAULT, operation, request.opaque());
+  }
+
+  @TearDown
+  public void teardown() {
+    response.release();
+    fixture.shutdown();
+  }
+
+  @Benchmark
+  public Response decode() {
+    return request.decode(response, channelContext);
+  }
+
+}
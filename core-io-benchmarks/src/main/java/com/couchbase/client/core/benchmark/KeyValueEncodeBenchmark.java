@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.env.CompressionEngine;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KeyValueRequest#encode} for every KV request type, which is what the
+ * {@code KeyValueMessageHandler} calls on the event loop for each write.
+ *
+ * <p>The returned buffer is released right away, so with the pooled allocator the allocation
+ * rate reflects the intermediate buffers and objects created during encoding.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyValueEncodeBenchmark {
+
+  @Param
+  KeyValueOperation operation;
+
+  @Param({"false", "true"})
+  boolean collections;
+
+  @Param({"false", "true"})
+  boolean compression;
+
+  @Param({"POOLED", "HEAP"})
+  CompressionEngine engine;
+
+  @Param({"false", "true"})
+  boolean durability;
+
+  @Param({"256", "16384"})
+  int contentSize;
+
+  private KeyValueFixture fixture;
+  private KeyValueRequest<Response> request;
+  private KeyValueChannelContext channelContext;
+  private ByteBufAllocator alloc;
+
+  @Setup
+  public void setup() {
+    fixture = new KeyValueFixture(collections, compression, engine, durability, contentSize);
+    request = fixture.request(operation);
+    channelContext = fixture.channelContext();
+    alloc = PooledByteBufAllocator.DEFAULT;
+  }
+
+  @TearDown
+  public void teardown() {
+    fixture.shutdown();
+  }
+
+  @Benchmark
+  public int encode() {
+    ByteBuf encoded = request.encode(alloc, request.opaque(), channelContext);
+    try {
+      return encoded.readableBytes();
+    } finally {
+      encoded.release();
+    }
+  }
+
+}
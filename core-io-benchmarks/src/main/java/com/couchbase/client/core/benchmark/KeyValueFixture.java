@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.DefaultChannelId;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.env.CompressionEngine;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.util.UnsignedLEB128;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Holds everything a KV benchmark needs to create requests and fake server responses without a cluster.
+ *
+ * <p>The fixture owns its own {@link CoreEnvironment}, so make sure to call {@link #shutdown()} in the
+ * benchmark teardown.</p>
+ */
+class KeyValueFixture {
+
+  static final String BUCKET = "travel-sample";
+  static final String KEY = "airline_10123";
+  static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+  private final CoreEnvironment env;
+  private final CoreContext coreContext;
+  private final CollectionIdentifier collectionIdentifier;
+  private final CollectionMap collectionMap;
+  private final KeyValueChannelContext channelContext;
+  private final Optional<DurabilityLevel> durability;
+  private final byte[] content;
+  private final boolean compression;
+
+  /**
+   * Creates a new fixture.
+   *
+   * @param collections if collections are negotiated and a non-default collection is used.
+   * @param compression if snappy is negotiated (and responses are sent compressed).
+   * @param engine the compression engine to use if snappy is negotiated.
+   * @param durability if sync durability is negotiated and used on mutations (flexible framing extras).
+   * @param contentSize the approximate size of the JSON document used as request and response body.
+   */
+  KeyValueFixture(final boolean collections, final boolean compression, final CompressionEngine engine,
+                  final boolean durability, final int contentSize) {
+    this.env = CoreEnvironment.create();
+    this.coreContext = new CoreContext(null, 1, env, PasswordAuthenticator.create("Administrator", "password"));
+    this.collectionIdentifier = collections
+      ? new CollectionIdentifier(BUCKET, Optional.of("inventory"), Optional.of("airline"))
+      : CollectionIdentifier.fromDefault(BUCKET);
+    this.collectionMap = new CollectionMap();
+    this.collectionMap.put(collectionIdentifier, UnsignedLEB128.encode(8));
+    this.durability = durability ? Optional.of(DurabilityLevel.MAJORITY) : Optional.empty();
+    this.content = jsonDocument(contentSize);
+    this.compression = compression;
+    this.channelContext = new KeyValueChannelContext(
+      compression ? CompressionConfig.builder().engine(engine).build() : null,
+      collections,
+      true,
+      Optional.of(BUCKET),
+      durability,
+      true,
+      true,
+      collectionMap,
+      DefaultChannelId.newInstance(),
+      false
+    );
+  }
+
+  /**
+   * Creates a JSON document of roughly the given size which compresses like a typical document would.
+   *
+   * @param size the target size in bytes.
+   * @return the encoded JSON document.
+   */
+  static byte[] jsonDocument(final int size) {
+    StringBuilder sb = new StringBuilder(size + 64);
+    sb.append("{\"type\":\"airline\",\"routes\":[");
+    int i = 0;
+    while (sb.length() < size) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"id\":").append(i)
+        .append(",\"sourceairport\":\"SFO\",\"destinationairport\":\"LAX\",\"distance\":")
+        .append((i * 7919) % 5000).append('}');
+      i++;
+    }
+    sb.append("]}");
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  KeyValueRequest<Response> request(final KeyValueOperation operation) {
+    return operation.create(this);
+  }
+
+  /**
+   * Builds a successful server response for the given operation and opaque.
+   *
+   * @param alloc the allocator to use.
+   * @param operation the operation to respond to.
+   * @param opaque the opaque of the request this responds to.
+   * @return the created response, owned by the caller.
+   */
+  ByteBuf response(final ByteBufAllocator alloc, final KeyValueOperation operation, final int opaque) {
+    ByteBuf extras = operation.responseExtras(this);
+    ByteBuf body = operation.responseBody(this);
+    byte datatype = 0;
+    if (compression && operation.returnsDocument()) {
+      body.release();
+      body = Unpooled.wrappedBuffer(Snappy.compress(content));
+      datatype = MemcacheProtocol.Datatype.SNAPPY.datatype();
+    }
+    try {
+      return MemcacheProtocol.response(alloc, operation.opcode(), datatype, (short) 0, opaque, 1234L,
+        extras, Unpooled.EMPTY_BUFFER, body);
+    } finally {
+      extras.release();
+      body.release();
+    }
+  }
+
+  CoreContext coreContext() {
+    return coreContext;
+  }
+
+  CoreEnvironment environment() {
+    return env;
+  }
+
+  CollectionIdentifier collectionIdentifier() {
+    return collectionIdentifier;
+  }
+
+  CollectionMap collectionMap() {
+    return collectionMap;
+  }
+
+  KeyValueChannelContext channelContext() {
+    return channelContext;
+  }
+
+  Optional<DurabilityLevel> durability() {
+    return durability;
+  }
+
+  byte[] content() {
+    return content;
+  }
+
+  void shutdown() {
+    env.shutdown();
+  }
+
+}
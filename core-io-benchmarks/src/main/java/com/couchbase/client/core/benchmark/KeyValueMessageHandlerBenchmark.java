@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.io.netty.kv.ChannelAttributes;
+import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
+import com.couchbase.client.core.io.netty.kv.ServerFeature;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.couchbase.client.core.benchmark.KeyValueFixture.BUCKET;
+
+/**
+ * Measures a full write and read cycle through the {@link KeyValueMessageHandler} on an
+ * {@link EmbeddedChannel}: creating the request, encoding it, tracking it as in-flight, decoding
+ * the response and completing the request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyValueMessageHandlerBenchmark {
+
+  /**
+   * Offset of the opaque in the memcache binary protocol header.
+   */
+  private static final int OPAQUE_OFFSET = 12;
+
+  @Param({"GET", "UPSERT", "REMOVE"})
+  KeyValueOperation operation;
+
+  @Param({"false", "true"})
+  boolean collections;
+
+  @Param({"false", "true"})
+  boolean compression;
+
+  @Param({"256", "16384"})
+  int contentSize;
+
+  private KeyValueFixture fixture;
+  private Core core;
+  private EmbeddedChannel channel;
+  private ByteBuf responseTemplate;
+
+  @Setup
+  public void setup() throws Exception {
+    fixture = new KeyValueFixture(collections, compression,
+      CompressionConfig.DEFAULT_ENGINE, false, contentSize);
+    core = Core.create(
+      fixture.environment(),
+      PasswordAuthenticator.create("Administrator", "password"),
+      Collections.emptySet()
+    );
+    core.configurationProvider().collectionMap().put(
+      fixture.collectionIdentifier(),
+      fixture.collectionMap().get(fixture.collectionIdentifier())
+    );
+
+    EndpointContext endpointContext = new EndpointContext(core.context(), new HostAndPort("127.0.0.1", 11210),
+      null, ServiceType.KV, Optional.empty(), Optional.of(BUCKET), Optional.empty());
+
+    List<ServerFeature> features = new ArrayList<>();
+    features.add(ServerFeature.MUTATION_SEQNO);
+    if (collections) {
+      features.add(ServerFeature.COLLECTIONS);
+    }
+    if (compression) {
+      features.add(ServerFeature.SNAPPY);
+    }
+
+    channel = new EmbeddedChannel(false, false, new KeyValueMessageHandler(null, endpointContext,
+      Optional.of(BUCKET)));
+    channel.attr(ChannelAttributes.SERVER_FEATURE_KEY).set(features);
+    channel.register();
+
+    responseTemplate = fixture.response(PooledByteBufAllocator.DEFAULT, operation, 0);
+  }
+
+  @TearDown
+  public void teardown() {
+    channel.finishAndReleaseAll();
+    responseTemplate.release();
+    core.shutdown().block();
+    fixture.shutdown();
+  }
+
+  @Benchmark
+  public Response roundtrip() {
+    KeyValueRequest<Response> request = fixture.request(operation);
+    channel.writeOutbound(request);
+    ByteBuf written = channel.readOutbound();
+    written.release();
+
+    ByteBuf response = responseTemplate.retainedDuplicate();
+    response.setInt(OPAQUE_OFFSET, request.opaque());
+    channel.writeInbound(response);
+
+    return request.response().getNow(null);
+  }
+
+}
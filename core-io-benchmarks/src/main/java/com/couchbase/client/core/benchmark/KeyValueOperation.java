@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol.Opcode;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.AppendRequest;
+import com.couchbase.client.core.msg.kv.CarrierBucketConfigRequest;
+import com.couchbase.client.core.msg.kv.CarrierGlobalConfigRequest;
+import com.couchbase.client.core.msg.kv.DecrementRequest;
+import com.couchbase.client.core.msg.kv.GetAndLockRequest;
+import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
+import com.couchbase.client.core.msg.kv.GetCollectionIdRequest;
+import com.couchbase.client.core.msg.kv.GetCollectionManifestRequest;
+import com.couchbase.client.core.msg.kv.GetMetaRequest;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.IncrementRequest;
+import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.KvPingRequest;
+import com.couchbase.client.core.msg.kv.MultiObserveViaCasRequest;
+import com.couchbase.client.core.msg.kv.NoopRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaCasRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.PrependRequest;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.msg.kv.ReplaceRequest;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.msg.kv.SubdocCommandType;
+import com.couchbase.client.core.msg.kv.SubdocGetRequest;
+import com.couchbase.client.core.msg.kv.SubdocMutateRequest;
+import com.couchbase.client.core.msg.kv.TouchRequest;
+import com.couchbase.client.core.msg.kv.UnlockRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.node.NodeIdentifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.couchbase.client.core.benchmark.KeyValueFixture.KEY;
+import static com.couchbase.client.core.benchmark.KeyValueFixture.TIMEOUT;
+
+/**
+ * Enumerates every request type in the {@code msg.kv} package together with how to build it
+ * and what a successful server response for it looks like.
+ */
+public enum KeyValueOperation {
+
+  GET(Opcode.GET) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetRequest(KEY, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.buffer(Integer.BYTES).writeInt(0x02000006);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.wrappedBuffer(f.content());
+    }
+
+    @Override
+    boolean returnsDocument() {
+      return true;
+    }
+  },
+  GET_AND_LOCK(Opcode.GET_AND_LOCK) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetAndLockRequest(KEY, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null,
+        Duration.ofSeconds(15), null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return GET.responseExtras(f);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return GET.responseBody(f);
+    }
+
+    @Override
+    boolean returnsDocument() {
+      return true;
+    }
+  },
+  GET_AND_TOUCH(Opcode.GET_AND_TOUCH) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetAndTouchRequest(KEY, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, 60, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return GET.responseExtras(f);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return GET.responseBody(f);
+    }
+
+    @Override
+    boolean returnsDocument() {
+      return true;
+    }
+  },
+  REPLICA_GET(Opcode.GET_REPLICA) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new ReplicaGetRequest(KEY, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, (short) 1, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return GET.responseExtras(f);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return GET.responseBody(f);
+    }
+
+    @Override
+    boolean returnsDocument() {
+      return true;
+    }
+  },
+  GET_META(Opcode.GET_META) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetMetaRequest(KEY, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.buffer(Integer.BYTES).writeInt(0);
+    }
+  },
+  UPSERT(Opcode.SET) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new UpsertRequest(KEY, f.content(), 0, 0x02000006, TIMEOUT, f.coreContext(),
+        f.collectionIdentifier(), null, f.durability(), null);
+    }
+  },
+  INSERT(Opcode.ADD) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new InsertRequest(KEY, f.content(), 0, 0x02000006, TIMEOUT, f.coreContext(),
+        f.collectionIdentifier(), null, f.durability(), null);
+    }
+  },
+  REPLACE(Opcode.REPLACE) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new ReplaceRequest(KEY, f.content(), 0, 0x02000006, TIMEOUT, 1234L, f.coreContext(),
+        f.collectionIdentifier(), null, f.durability(), null);
+    }
+  },
+  REMOVE(Opcode.DELETE) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new RemoveRequest(KEY, 0, TIMEOUT, f.coreContext(), f.collectionIdentifier(), null,
+        f.durability(), null);
+    }
+  },
+  APPEND(Opcode.APPEND) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new AppendRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, f.content(),
+        0, f.durability(), null);
+    }
+  },
+  PREPEND(Opcode.PREPEND) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new PrependRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, f.content(),
+        0, f.durability(), null);
+    }
+  },
+  INCREMENT(Opcode.INCREMENT) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new IncrementRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, 1,
+        Optional.of(0L), 0, f.durability(), null);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.buffer(Long.BYTES).writeLong(42);
+    }
+  },
+  DECREMENT(Opcode.DECREMENT) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new DecrementRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, 1,
+        Optional.of(0L), 0, f.durability(), null);
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return INCREMENT.responseBody(f);
+    }
+  },
+  TOUCH(Opcode.TOUCH) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new TouchRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, 60, null);
+    }
+  },
+  UNLOCK(Opcode.UNLOCK) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new UnlockRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, 1234L, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+  },
+  SUBDOC_GET(Opcode.SUBDOC_MULTI_LOOKUP) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new SubdocGetRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, (byte) 0,
+        Collections.singletonList(new SubdocGetRequest.Command(SubdocCommandType.GET, "routes[0]", false, 0)),
+        null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      byte[] value = "{\"id\":0,\"sourceairport\":\"SFO\"}".getBytes(StandardCharsets.UTF_8);
+      return Unpooled.buffer().writeShort(0).writeInt(value.length).writeBytes(value);
+    }
+  },
+  SUBDOC_MUTATE(Opcode.SUBDOC_MULTI_MUTATE) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new SubdocMutateRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, null, KEY,
+        false, false, false, false,
+        Collections.singletonList(new SubdocMutateRequest.Command(SubdocCommandType.DICT_UPSERT, "name",
+          "\"Couchbase Airways\"".getBytes(StandardCharsets.UTF_8), false, false, false, 0)),
+        0, 0, f.durability(), null);
+    }
+  },
+  OBSERVE_CAS(Opcode.OBSERVE_CAS) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new ObserveViaCasRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, KEY, true, 0);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+      return Unpooled.buffer()
+        .writeShort(0)
+        .writeShort(key.length)
+        .writeBytes(key)
+        .writeByte(0x01)
+        .writeLong(1234L);
+    }
+  },
+  MULTI_OBSERVE_CAS(Opcode.OBSERVE_CAS) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new MultiObserveViaCasRequest(TIMEOUT, f.coreContext(), null, f.collectionIdentifier(),
+        new NodeIdentifier("127.0.0.1", 8091),
+        Collections.singletonMap(KEY.getBytes(StandardCharsets.UTF_8), (short) 0),
+        status -> true);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      byte[] collection = f.collectionMap().get(f.collectionIdentifier());
+      byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+      boolean prefixed = f.channelContext().collectionsEnabled();
+      return Unpooled.buffer()
+        .writeShort(0)
+        .writeShort(key.length + (prefixed ? collection.length : 0))
+        .writeBytes(prefixed ? collection : new byte[0])
+        .writeBytes(key)
+        .writeByte(0x01)
+        .writeLong(1234L);
+    }
+  },
+  OBSERVE_SEQNO(Opcode.OBSERVE_SEQ) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new ObserveViaSeqnoRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null, 0, true,
+        0xCAFEBABEL, KEY, null);
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.buffer()
+        .writeByte(0)
+        .writeShort(0)
+        .writeLong(0xCAFEBABEL)
+        .writeLong(100)
+        .writeLong(101);
+    }
+  },
+  NOOP(Opcode.NOOP) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new NoopRequest(TIMEOUT, f.coreContext(), null, f.collectionIdentifier());
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+  },
+  KV_PING(Opcode.NOOP) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new KvPingRequest(TIMEOUT, f.coreContext(), null, f.collectionIdentifier(),
+        new NodeIdentifier("127.0.0.1", 8091));
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+  },
+  GET_COLLECTION_ID(Opcode.COLLECTIONS_GET_CID) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetCollectionIdRequest(TIMEOUT, f.coreContext(), null, f.collectionIdentifier());
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.buffer(12).writeLong(0).writeInt(8);
+    }
+  },
+  GET_COLLECTION_MANIFEST(Opcode.COLLECTIONS_GET_MANIFEST) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new GetCollectionManifestRequest(TIMEOUT, f.coreContext(), null, f.collectionIdentifier());
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.copiedBuffer("{\"uid\":\"8\",\"scopes\":[{\"name\":\"inventory\",\"uid\":\"8\","
+        + "\"collections\":[{\"name\":\"airline\",\"uid\":\"8\"}]}]}", StandardCharsets.UTF_8);
+    }
+  },
+  CARRIER_BUCKET_CONFIG(Opcode.GET_CONFIG) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new CarrierBucketConfigRequest(TIMEOUT, f.coreContext(), f.collectionIdentifier(), null,
+        new NodeIdentifier("127.0.0.1", 8091));
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.copiedBuffer("{\"rev\":1234,\"name\":\"travel-sample\"}", StandardCharsets.UTF_8);
+    }
+  },
+  CARRIER_GLOBAL_CONFIG(Opcode.GET_CONFIG) {
+    @Override
+    KeyValueRequest<?> doCreate(final KeyValueFixture f) {
+      return new CarrierGlobalConfigRequest(TIMEOUT, f.coreContext(), null, new NodeIdentifier("127.0.0.1", 8091));
+    }
+
+    @Override
+    ByteBuf responseExtras(final KeyValueFixture f) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    ByteBuf responseBody(final KeyValueFixture f) {
+      return Unpooled.copiedBuffer("{\"rev\":1234}", StandardCharsets.UTF_8);
+    }
+  };
+
+  private final Opcode opcode;
+
+  KeyValueOperation(final Opcode opcode) {
+    this.opcode = opcode;
+  }
+
+  Opcode opcode() {
+    return opcode;
+  }
+
+  @SuppressWarnings("unchecked")
+  KeyValueRequest<Response> create(final KeyValueFixture fixture) {
+    return (KeyValueRequest<Response>) doCreate(fixture);
+  }
+
+  abstract KeyValueRequest<?> doCreate(KeyValueFixture fixture);
+
+  /**
+   * The extras of a successful response, by default a mutation token (vbucket uuid and seqno).
+   */
+  ByteBuf responseExtras(final KeyValueFixture fixture) {
+    return Unpooled.buffer(Long.BYTES * 2).writeLong(0xCAFEBABEL).writeLong(100);
+  }
+
+  /**
+   * The body of a successful response, empty by default.
+   */
+  ByteBuf responseBody(final KeyValueFixture fixture) {
+    return Unpooled.EMPTY_BUFFER;
+  }
+
+  /**
+   * True if the response carries the full document, which the server sends snappy compressed if negotiated.
+   */
+  boolean returnsDocument() {
+    return false;
+  }
+
+}
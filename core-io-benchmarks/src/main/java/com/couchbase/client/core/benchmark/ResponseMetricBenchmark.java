@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmark;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.cnc.metrics.ResponseMetrics;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.env.SeedNode;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording the response latency of a completed request through the recorder table of the endpoint
+ * ({@link ResponseMetrics}) against the identifier keyed lookup in {@link Core#responseMetric}.
+ *
+ * <p>Run with "-prof gc" to see the allocation rate per operation, which is zero for the endpoint table.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseMetricBenchmark {
+
+  /**
+   * Where the value recorder is looked up.
+   */
+  public enum Lookup {
+    ENDPOINT,
+    CORE
+  }
+
+  @Param
+  Lookup lookup;
+
+  private CoreEnvironment env;
+  private Core core;
+  private ResponseMetrics responseMetrics;
+  private GetRequest request;
+
+  @Setup
+  public void setup() {
+    env = CoreEnvironment.create();
+    core = Core.create(env, PasswordAuthenticator.create("Administrator", "password"), SeedNode.LOCALHOST);
+    responseMetrics = new ResponseMetrics(env.meter(), ServiceType.KV, "127.0.0.1");
+
+    request = new GetRequest("key", Duration.ofSeconds(1), core.context(),
+      CollectionIdentifier.fromDefault("travel-sample"), env.retryStrategy(), null);
+    request.context().lastDispatchedTo(new HostAndPort("127.0.0.1", 11210));
+  }
+
+  @TearDown
+  public void teardown() {
+    core.shutdown().block();
+    env.shutdown();
+  }
+
+  @Benchmark
+  public void recordCompletion() {
+    if (lookup == Lookup.ENDPOINT) {
+      responseMetrics.record(request, 1000);
+    } else {
+      core.responseMetric(request).recordValue(1000);
+    }
+  }
+
+}
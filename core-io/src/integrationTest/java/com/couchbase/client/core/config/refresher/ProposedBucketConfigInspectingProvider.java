@@ -6,6 +6,7 @@ import com.couchbase.client.core.config.ProposedBucketConfigContext;
 import com.couchbase.client.core.config.ProposedGlobalConfigContext;
 import com.couchbase.client.core.env.SeedNode;
 import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -107,4 +108,19 @@ public class ProposedBucketConfigInspectingProvider implements ConfigurationProv
     return false;
   }
 
+  @Override
+  public void resolveCollectionId(KeyValueRequest<?> request) {
+    delegate.resolveCollectionId(request);
+  }
+
+  @Override
+  public void registerConfigPush(String bucket) {
+    delegate.registerConfigPush(bucket);
+  }
+
+  @Override
+  public void deregisterConfigPush(String bucket) {
+    delegate.deregisterConfigPush(bucket);
+  }
+
 }
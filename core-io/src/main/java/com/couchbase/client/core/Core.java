@@ -30,6 +30,7 @@ import com.couchbase.client.core.cnc.events.core.ReconfigurationIgnoredEvent;
 import com.couchbase.client.core.cnc.events.core.ServiceReconfigurationFailedEvent;
 import com.couchbase.client.core.cnc.events.core.ShutdownCompletedEvent;
 import com.couchbase.client.core.cnc.events.core.ShutdownInitiatedEvent;
+import com.couchbase.client.core.cnc.metrics.ResponseMetrics;
 import com.couchbase.client.core.config.AlternateAddress;
 import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.ClusterConfig;
@@ -58,6 +59,7 @@ import com.couchbase.client.core.node.ViewLocator;
 import com.couchbase.client.core.service.ServiceScope;
 import com.couchbase.client.core.service.ServiceState;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.kv.ObserveCoordinator;
 import com.couchbase.client.core.util.HostAndPort;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -103,9 +105,9 @@ public class Core {
   private static final AtomicInteger CORE_IDS = new AtomicInteger();
 
   /**
-   * Locates the right node for the KV service.
+   * Locates the right node for the KV service (one per core, since it keeps the routing tables of the buckets).
    */
-  private static final KeyValueLocator KEY_VALUE_LOCATOR = new KeyValueLocator();
+  private final KeyValueLocator keyValueLocator = new KeyValueLocator();
 
   /**
    * Locates the right node for the manager service.
@@ -190,6 +192,16 @@ public class Core {
    */
   private final Map<ResponseMetricIdentifier, ValueRecorder> responseMetrics = new ConcurrentHashMap<>();
 
+  /**
+   * Holds the response metrics per service and remote hostname, shared by all endpoints to the same host.
+   */
+  private final Map<ServiceType, Map<String, ResponseMetrics>> endpointResponseMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Coalesces the observe polls of concurrent legacy durability operations.
+   */
+  private final ObserveCoordinator observeCoordinator = new ObserveCoordinator();
+
   /**
    * Creates a new {@link Core} with the given environment.
    *
@@ -221,6 +233,7 @@ public class Core {
     this.currentConfig = configurationProvider.config();
     this.configurationProvider.configs().subscribe(c -> {
       currentConfig = c;
+      updateRoutingTables();
       reconfigure();
     });
     eventBus.publish(new CoreCreatedEvent(coreContext, environment, seedNodes));
@@ -261,6 +274,16 @@ public class Core {
     return configurationProvider;
   }
 
+  /**
+   * Returns the coordinator which coalesces the observe polls against the same partition.
+   *
+   * <p>Internal API, use with care!</p>
+   */
+  @Stability.Internal
+  public ObserveCoordinator observeCoordinator() {
+    return observeCoordinator;
+  }
+
   /**
    * Sends a command into the core layer and registers the request with the timeout timer.
    *
@@ -400,11 +423,14 @@ public class Core {
       long start = System.nanoTime();
       return configurationProvider
         .closeBucket(name)
-        .doOnSuccess(ignored -> eventBus.publish(new BucketClosedEvent(
-          Duration.ofNanos(System.nanoTime() - start),
-          coreContext,
-          name
-        )));
+        .doOnSuccess(ignored -> {
+          keyValueLocator.removeRoutingTable(name);
+          eventBus.publish(new BucketClosedEvent(
+            Duration.ofNanos(System.nanoTime() - start),
+            coreContext,
+            name
+          ));
+        });
     });
   }
 
@@ -437,6 +463,7 @@ public class Core {
       .switchIfEmpty(Mono.defer(() -> {
         Node node = createNode(identifier, alternateAddress);
         nodes.add(node);
+        updateRoutingTables();
         return Mono.just(node);
       }))
       .flatMap(node -> node.addService(serviceType, port, bucket))
@@ -454,6 +481,40 @@ public class Core {
     });
   }
 
+  /**
+   * Returns the response metrics for the given service on the given host, creating them if needed.
+   *
+   * <p>The endpoints record the latencies of their requests into these, so they can also be used to look up
+   * recent latency percentiles for a host.</p>
+   *
+   * @param serviceType the service type.
+   * @param hostname the remote hostname.
+   * @return the response metrics.
+   */
+  @Stability.Internal
+  public ResponseMetrics responseMetrics(final ServiceType serviceType, final String hostname) {
+    return endpointResponseMetrics
+      .computeIfAbsent(serviceType, key -> new ConcurrentHashMap<>())
+      .computeIfAbsent(hostname, key -> new ResponseMetrics(coreContext.environment().meter(), serviceType, key));
+  }
+
+  /**
+   * Returns a recent latency percentile of the given request type against a service on a host.
+   *
+   * @param serviceType the service type.
+   * @param hostname the remote hostname.
+   * @param requestType the class of the request.
+   * @param percentile the percentile to return, i.e. 0.95.
+   * @return the percentile in nanoseconds, or 0 if not enough responses have been recorded yet.
+   */
+  @Stability.Internal
+  public long responseLatencyPercentile(final ServiceType serviceType, final String hostname,
+                                        final Class<?> requestType, final double percentile) {
+    Map<String, ResponseMetrics> byHost = endpointResponseMetrics.get(serviceType);
+    ResponseMetrics metrics = byHost == null ? null : byHost.get(hostname);
+    return metrics == null ? 0 : metrics.latencyPercentile(requestType, percentile);
+  }
+
 
   /**
    * Create a {@link Node} from the given identifier.
@@ -497,13 +558,38 @@ public class Core {
       }
 
       if ((!stillPresentInBuckets && !stillPresentInGlobal) || !node.hasServicesEnabled()) {
-        return node.disconnect().doOnTerminate(() -> nodes.remove(node));
+        return node.disconnect().doOnTerminate(() -> {
+          nodes.remove(node);
+          updateRoutingTables();
+          removeResponseMetrics(node);
+        });
       }
 
       return Mono.empty();
     });
   }
 
+  /**
+   * Removes the shared response metrics of a node which left the cluster, unless one of the remaining nodes is
+   * still reached through the same address.
+   *
+   * @param removed the node which has been removed.
+   */
+  private void removeResponseMetrics(final Node removed) {
+    String address = removed.address();
+    if (address == null) {
+      return;
+    }
+    for (Node node : nodes) {
+      if (address.equals(node.address())) {
+        return;
+      }
+    }
+    for (Map<String, ResponseMetrics> byHost : endpointResponseMetrics.values()) {
+      byHost.remove(address);
+    }
+  }
+
   /**
    * This method is used to remove a service from a node.
    *
@@ -615,7 +701,10 @@ public class Core {
     Flux
       .fromIterable(new ArrayList<>(nodes))
       .flatMap(Node::disconnect)
-      .doOnComplete(nodes::clear)
+      .doOnComplete(() -> {
+        nodes.clear();
+        updateRoutingTables();
+      })
       .subscribe(
         v -> {},
         e -> {
@@ -632,6 +721,16 @@ public class Core {
       );
   }
 
+  /**
+   * Publishes new key value routing tables, needs to be called whenever the config or the managed nodes change.
+   */
+  private void updateRoutingTables() {
+    ClusterConfig config = currentConfig;
+    if (config != null) {
+      keyValueLocator.updateRoutingTables(config, nodes);
+    }
+  }
+
   /**
    * Clean reconfiguration in progress and check if there is a new one we need to try.
    */
@@ -804,10 +903,10 @@ public class Core {
    * @param serviceType the service type for which a locator should be returned.
    * @return the locator for the service type, or an exception if unknown.
    */
-  private static Locator locator(final ServiceType serviceType) {
+  private Locator locator(final ServiceType serviceType) {
     switch (serviceType) {
       case KV:
-        return KEY_VALUE_LOCATOR;
+        return keyValueLocator;
       case MANAGER:
         return MANAGER_LOCATOR;
       case QUERY:
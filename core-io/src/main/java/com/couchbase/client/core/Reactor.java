@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core;
 
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.RequestCanceledException;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
@@ -28,6 +29,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Operators;
 import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.context.Context;
 
 import java.util.Objects;
@@ -35,6 +37,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -98,6 +101,30 @@ public class Reactor {
     return toMono(input).flux().flatMap(Flux::fromIterable);
   }
 
+  /**
+   * Maps the elements of the given flux on the scheduler, with up to the given number of mappings running in
+   * parallel, and emits the results in the order of the source.
+   * <p>
+   * At most {@code parallelism} elements are requested from the source ahead of the downstream demand, so the
+   * backpressure of the source is preserved. This is intended for CPU heavy mappings (like decoding rows) which
+   * should not run on the thread emitting the elements.
+   *
+   * @param source the flux with the elements to map.
+   * @param mapper the mapping function, invoked on the scheduler.
+   * @param scheduler the scheduler to run the mappings on.
+   * @param parallelism the maximum number of elements which are mapped at the same time.
+   * @return a flux with the mapped elements in the order of the source.
+   */
+  @Stability.Internal
+  public static <T, R> Flux<R> parallelMapOrdered(final Flux<T> source, final Function<? super T, ? extends R> mapper,
+                                                  final Scheduler scheduler, final int parallelism) {
+    return source.flatMapSequential(
+      element -> Mono.<R>fromCallable(() -> mapper.apply(element)).subscribeOn(scheduler),
+      parallelism,
+      1
+    );
+  }
+
   /**
    * Emits the value or error produced by the wrapped CompletionStage.
    * <p>
@@ -17,6 +17,10 @@
 package com.couchbase.client.core;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.msg.BaseRequest;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
@@ -25,6 +29,8 @@ import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -32,24 +38,54 @@ import java.util.concurrent.atomic.AtomicLong;
  * The {@link Timer} acts as the main timing facility for various operations, for
  * example to track and time out requests if they run for too long or for rescheduling needs.
  *
+ * <p>Instead of funneling every timeout through a single wheel (and its single thread), the timer is split into
+ * a number of independent {@link HashedWheelTimer} shards. Each calling thread always uses the same shard, so the
+ * threads dispatching requests spread their registrations (and cancellations) across the shards.</p>
+ *
+ * <p>Every shard periodically measures how late it fires compared to the scheduled deadline and records it in
+ * microseconds under the "cb.timer.lag" value recorder, tagged with the index of the shard as "cb.timer.shard".</p>
+ *
  * @since 2.0.0
  */
 @Stability.Internal
 public class Timer {
 
   /**
-   * We are using a default tick duration of 10ms instead of the netty-default 100ms because we are also
+   * We are using a default tick duration of 5ms instead of the netty-default 100ms because we are also
    * retrying operations on this timer that have much lower resolution.
    * <p>
-   * Based on our testing 10ms strikes a good balance, 1ms seems to be too noisy and 100ms has too much loss
-   * in accuracy.
+   * With a single wheel, 10ms struck a good balance and 1ms turned out to be too noisy. Since the wheels are
+   * sharded now, each of them handles only a fraction of the load, which allows for a finer resolution.
+   * It can be tuned through the "com.couchbase.timerTickMillis" system property.
+   */
+  private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(Long.parseLong(System.getProperty(
+    "com.couchbase.timerTickMillis",
+    "5"
+  )));
+
+  /**
+   * The default number of wheels, one per two cores (at most 4), which can be tuned through the
+   * "com.couchbase.timerShards" system property.
+   */
+  private static final int DEFAULT_NUM_SHARDS = Integer.parseInt(System.getProperty(
+    "com.couchbase.timerShards",
+    Integer.toString(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)))
+  ));
+
+  /**
+   * The interval at which each shard measures its lag.
+   */
+  private static final Duration LAG_PROBE_INTERVAL = Duration.ofSeconds(1);
+
+  /**
+   * The internal timer shards.
    */
-  private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+  private final HashedWheelTimer[] wheelTimers;
 
   /**
-   * The internal timer.
+   * Records the lag for each of the shards.
    */
-  private HashedWheelTimer wheelTimer;
+  private final ValueRecorder[] lagRecorders;
 
   /**
    * Set to true once stopped.
@@ -73,7 +109,18 @@ public class Timer {
    * @return the created timer.
    */
   public static Timer create(final long maxNumRequestsInRetry) {
-    return new Timer(maxNumRequestsInRetry);
+    return create(maxNumRequestsInRetry, new NoopMeter());
+  }
+
+  /**
+   * Creates a new {@link Timer} with default values which reports its lag to the given meter.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param meter the meter to record the lag of the wheels into.
+   * @return the created timer.
+   */
+  public static Timer create(final long maxNumRequestsInRetry, final Meter meter) {
+    return new Timer(maxNumRequestsInRetry, meter, DEFAULT_NUM_SHARDS, DEFAULT_TICK_DURATION);
   }
 
   /**
@@ -83,7 +130,18 @@ public class Timer {
    * @return the created and started timer.
    */
   public static Timer createAndStart(final long maxNumRequestsInRetry) {
-    Timer timer = create(maxNumRequestsInRetry);
+    return createAndStart(maxNumRequestsInRetry, new NoopMeter());
+  }
+
+  /**
+   * Creates and starts a timer with default values which reports its lag to the given meter.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param meter the meter to record the lag of the wheels into.
+   * @return the created and started timer.
+   */
+  public static Timer createAndStart(final long maxNumRequestsInRetry, final Meter meter) {
+    Timer timer = create(maxNumRequestsInRetry, meter);
     timer.start();
     return timer;
   }
@@ -92,14 +150,37 @@ public class Timer {
    * Internal timer constructor.
    *
    * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param meter the meter to record the lag of the wheels into.
+   * @param numShards the number of wheels to create.
+   * @param tickDuration the tick duration of each wheel.
    */
-  private Timer(final long maxNumRequestsInRetry) {
+  Timer(final long maxNumRequestsInRetry, final Meter meter, final int numShards, final Duration tickDuration) {
     this.maxNumRequestsInRetry = maxNumRequestsInRetry;
-    wheelTimer = new HashedWheelTimer(
-      new DefaultThreadFactory("cb-timer", true),
-      DEFAULT_TICK_DURATION.toMillis(),
-      TimeUnit.MILLISECONDS
-    );
+    int shards = Math.max(1, numShards);
+    this.wheelTimers = new HashedWheelTimer[shards];
+    this.lagRecorders = new ValueRecorder[shards];
+    for (int i = 0; i < shards; i++) {
+      String name = shards == 1 ? "cb-timer" : "cb-timer-" + i;
+      wheelTimers[i] = new HashedWheelTimer(
+        new DefaultThreadFactory(name, true),
+        tickDuration.toMillis(),
+        TimeUnit.MILLISECONDS
+      );
+
+      Map<String, String> tags = new HashMap<>();
+      tags.put("cb.timer.shard", Integer.toString(i));
+      lagRecorders[i] = meter.valueRecorder("cb.timer.lag", tags);
+    }
+  }
+
+  /**
+   * Returns the wheel used by the current thread.
+   */
+  private HashedWheelTimer wheelTimer() {
+    if (wheelTimers.length == 1) {
+      return wheelTimers[0];
+    }
+    return wheelTimers[(int) (Thread.currentThread().getId() % wheelTimers.length)];
   }
 
   /**
@@ -139,12 +220,15 @@ public class Timer {
     if (stopped) {
       return null;
     }
-    return wheelTimer.newTimeout(timeout -> callback.run(), runAfter.toNanos(), TimeUnit.NANOSECONDS);
+    return wheelTimer().newTimeout(timeout -> callback.run(), runAfter.toNanos(), TimeUnit.NANOSECONDS);
   }
 
   /**
    * Registers the given request to be tracked with its timeout value.
    *
+   * <p>A {@link BaseRequest} cancels the registration itself once it completes, all other requests get a
+   * completion callback attached for this purpose.</p>
+   *
    * @param request the request to track.
    */
   public void register(final Request<Response> request) {
@@ -153,19 +237,26 @@ public class Timer {
       return;
     }
 
-    final Timeout registration = wheelTimer.newTimeout(
+    final Timeout registration = wheelTimer().newTimeout(
       timeout -> request.cancel(CancellationReason.TIMEOUT),
       request.timeout().toNanos(),
       TimeUnit.NANOSECONDS
     );
-    request.response().whenComplete((r, throwable) -> registration.cancel());
+    if (request instanceof BaseRequest) {
+      ((BaseRequest<Response>) request).timeoutRegistration(registration);
+    } else {
+      request.response().whenComplete((r, throwable) -> registration.cancel());
+    }
   }
 
   /**
    * Starts this timer.
    */
   public void start() {
-    wheelTimer.start();
+    for (int i = 0; i < wheelTimers.length; i++) {
+      wheelTimers[i].start();
+      scheduleLagProbe(wheelTimers[i], lagRecorders[i]);
+    }
   }
 
   /**
@@ -173,7 +264,23 @@ public class Timer {
    */
   public void stop() {
     stopped = true;
-    wheelTimer.stop();
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      wheelTimer.stop();
+    }
+  }
+
+  /**
+   * Schedules a task on the given wheel which records how late it runs and then schedules itself again.
+   */
+  private void scheduleLagProbe(final HashedWheelTimer wheelTimer, final ValueRecorder lagRecorder) {
+    if (stopped) {
+      return;
+    }
+    final long deadline = System.nanoTime() + LAG_PROBE_INTERVAL.toNanos();
+    wheelTimer.newTimeout(timeout -> {
+      lagRecorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - deadline)));
+      scheduleLagProbe(wheelTimer, lagRecorder);
+    }, LAG_PROBE_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
   }
 
 
@@ -187,7 +294,7 @@ public class Timer {
   @Override
   public String toString() {
     return "Timer{" +
-      "wheelTimer=" + wheelTimer +
+      "wheelTimers=" + wheelTimers.length +
       ", stopped=" + stopped +
       ", outstandingForRetry=" + outstandingForRetry +
       ", maxNumRequestsInRetry=" + maxNumRequestsInRetry +
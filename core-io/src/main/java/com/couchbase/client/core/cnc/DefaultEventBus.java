@@ -24,9 +24,9 @@ import reactor.core.scheduler.Scheduler;
 
 import java.io.PrintStream;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.Queue;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -58,9 +58,18 @@ public class DefaultEventBus implements EventBus {
   private static final Duration DEFAULT_IDLE_SLEEP_DURATION = Duration.ofMillis(100);
 
   /**
-   * Holds all current event subscribers.
+   * Used as the subscribers snapshot as long as nobody is subscribed.
    */
-  private final CopyOnWriteArraySet<Consumer<Event>> subscribers;
+  @SuppressWarnings("unchecked")
+  private static final Consumer<Event>[] NO_SUBSCRIBERS = new Consumer[0];
+
+  /**
+   * Holds a snapshot of all current event subscribers.
+   *
+   * <p>The array is never modified once published but replaced on every (un)subscribe, so that publishers
+   * checking for interest in an event can iterate it without allocating an iterator.</p>
+   */
+  private volatile Consumer<Event>[] subscribers = NO_SUBSCRIBERS;
 
   /**
    * Holds the bounded event mpsc queue dealing with all the events.
@@ -108,7 +117,6 @@ public class DefaultEventBus implements EventBus {
 
   private DefaultEventBus(final Builder builder) {
     scheduler = builder.scheduler;
-    subscribers = new CopyOnWriteArraySet<>();
     running = new AtomicBoolean(false);
 
     eventQueue = QueueFactory.newQueue(
@@ -120,14 +128,39 @@ public class DefaultEventBus implements EventBus {
   }
 
   @Override
-  public EventSubscription subscribe(final Consumer<Event> consumer) {
-    subscribers.add(consumer);
+  public synchronized EventSubscription subscribe(final Consumer<Event> consumer) {
+    Consumer<Event>[] current = subscribers;
+    if (indexOf(current, consumer) < 0) {
+      Consumer<Event>[] updated = Arrays.copyOf(current, current.length + 1);
+      updated[current.length] = consumer;
+      subscribers = updated;
+    }
     return new EventSubscription(this, consumer);
   }
 
   @Override
-  public void unsubscribe(final EventSubscription subscription) {
-    subscribers.remove(subscription.consumer());
+  public synchronized void unsubscribe(final EventSubscription subscription) {
+    Consumer<Event>[] current = subscribers;
+    int index = indexOf(current, subscription.consumer());
+    if (index >= 0) {
+      @SuppressWarnings("unchecked")
+      Consumer<Event>[] updated = new Consumer[current.length - 1];
+      System.arraycopy(current, 0, updated, 0, index);
+      System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+      subscribers = updated;
+    }
+  }
+
+  /**
+   * Returns the index of the consumer in the given subscribers, or -1 if it is not subscribed.
+   */
+  private static int indexOf(final Consumer<Event>[] subscribers, final Consumer<Event> consumer) {
+    for (int i = 0; i < subscribers.length; i++) {
+      if (subscribers[i].equals(consumer)) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
@@ -144,6 +177,23 @@ public class DefaultEventBus implements EventBus {
     }
   }
 
+  /**
+   * Checks the subscribers for interest in the event, which is only the case if at least one plain consumer or
+   * one accepting {@link SelectiveEventConsumer} is subscribed.
+   */
+  @Override
+  public boolean accepts(final Event.Severity severity, final String category) {
+    Consumer<Event>[] current = subscribers;
+    for (int i = 0; i < current.length; i++) {
+      Consumer<Event> subscriber = current[i];
+      if (!(subscriber instanceof SelectiveEventConsumer)
+        || ((SelectiveEventConsumer) subscriber).accepts(severity, category)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Starts the {@link DefaultEventBus}.
    */
@@ -219,7 +269,7 @@ public class DefaultEventBus implements EventBus {
    * True if there are subscribers on the event bus right now.
    */
   boolean hasSubscribers() {
-    return !subscribers.isEmpty();
+    return subscribers.length > 0;
   }
 
   /**
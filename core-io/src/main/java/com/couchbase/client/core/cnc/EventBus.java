@@ -20,6 +20,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The {@link EventBus} is the main demarcation line between internal behavior and external
@@ -38,6 +39,39 @@ public interface EventBus {
    */
   PublishResult publish(Event event);
 
+  /**
+   * Checks if any of the subscribers is interested in an event with the given severity and category.
+   *
+   * <p>Publishers on hot code paths can use this to avoid constructing events which would be dropped by all
+   * subscribers anyways. The default implementation assumes that every event is of interest.</p>
+   *
+   * @param severity the severity of the event.
+   * @param category the category of the event.
+   * @return true if the event should be published, false if nobody would consume it.
+   */
+  default boolean accepts(final Event.Severity severity, final String category) {
+    return true;
+  }
+
+  /**
+   * Publishes the event provided by the supplier, but only if any subscriber is interested in it.
+   *
+   * <p>The severity and category need to match the ones of the supplied event, since they are used to decide
+   * if the supplier is called at all.</p>
+   *
+   * @param severity the severity of the event.
+   * @param category the category of the event.
+   * @param event the supplier which creates the event.
+   * @return the {@link PublishResult} of the event, {@link PublishResult#SUCCESS} if nobody is interested in it.
+   */
+  default PublishResult publish(final Event.Severity severity, final String category,
+                                final Supplier<? extends Event> event) {
+    if (!accepts(severity, category)) {
+      return PublishResult.SUCCESS;
+    }
+    return publish(event.get());
+  }
+
   /**
    * Subscribes a {@link Consumer} to receive {@link Event Events}.
    *
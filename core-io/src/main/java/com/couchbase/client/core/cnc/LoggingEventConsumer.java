@@ -23,10 +23,9 @@ import org.slf4j.MDC;
 
 import java.io.PrintStream;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
@@ -44,7 +43,7 @@ import static com.couchbase.client.core.util.CbCollections.isNullOrEmpty;
  * <p>If SLF4J is detected on the classpath it will be used, otherwise it will fall back to
  * java.com.couchbase.client.test.util.logging or the console depending on the configuration.</p>
  */
-public class LoggingEventConsumer implements Consumer<Event> {
+public class LoggingEventConsumer implements SelectiveEventConsumer {
 
   /**
    * Contains true if SLF4J is on the classpath, false otherwise.
@@ -54,7 +53,7 @@ public class LoggingEventConsumer implements Consumer<Event> {
   /**
    * Contains the selected loggers that should be used for logging.
    */
-  private final Map<String, Logger> loggers = new HashMap<>(Event.Category.values().length);
+  private final Map<String, Logger> loggers = new ConcurrentHashMap<>(Event.Category.values().length);
 
   private final LoggerConfig loggerConfig;
 
@@ -91,6 +90,44 @@ public class LoggingEventConsumer implements Consumer<Event> {
     return logger;
   }
 
+  /**
+   * Returns the logger for the given category, creating it if needed.
+   */
+  private Logger logger(final String category) {
+    Logger logger = loggers.get(category);
+    if (logger == null) {
+      logger = createLogger(category);
+      Logger existing = loggers.putIfAbsent(category, logger);
+      if (existing != null) {
+        logger = existing;
+      }
+    }
+    return logger;
+  }
+
+  /**
+   * Checks if the logger for the category has the level of the severity enabled.
+   *
+   * <p>Tracing events are never logged.</p>
+   */
+  @Override
+  public boolean accepts(final Event.Severity severity, final String category) {
+    switch (severity) {
+      case VERBOSE:
+        return logger(category).isTraceEnabled();
+      case DEBUG:
+        return logger(category).isDebugEnabled();
+      case INFO:
+        return logger(category).isInfoEnabled();
+      case WARN:
+        return logger(category).isWarnEnabled();
+      case ERROR:
+        return logger(category).isErrorEnabled();
+      default:
+        return false;
+    }
+  }
+
   @Override
   public void accept(final Event event) {
     if (event.severity() == Event.Severity.TRACING) {
@@ -120,11 +157,7 @@ public class LoggingEventConsumer implements Consumer<Event> {
 
     String logLine = logLineBuilder.toString();
 
-    Logger logger = loggers.get(event.category());
-    if (logger == null) {
-      logger = createLogger(event.category());
-      loggers.put(event.category(), logger);
-    }
+    Logger logger = logger(event.category());
 
     boolean diagnosticContext = loggerConfig.diagnosticContextEnabled() && event.context() instanceof RequestContext;
 
@@ -24,8 +24,6 @@ import com.couchbase.client.core.deps.org.jctools.queues.MpscUnboundedArrayQueue
 import com.couchbase.client.core.env.OrphanReporterConfig;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.UnmonitoredRequest;
-import com.couchbase.client.core.msg.kv.KeyValueRequest;
-import com.couchbase.client.core.msg.view.ViewRequest;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.HostAndPort;
 import reactor.core.publisher.Mono;
@@ -64,7 +62,7 @@ public class OrphanReporter {
 
   private final AtomicBoolean running = new AtomicBoolean(false);
   private volatile Thread worker = null;
-  private final Queue<Request<?>> orphanQueue;
+  private final Queue<RequestSnapshot> orphanQueue;
   private final long emitIntervalNanos;
   private final int sampleSize;
   private final EventBus eventBus;
@@ -125,6 +123,9 @@ public class OrphanReporter {
   /**
    * Reports an orphaned {@link Request}.
    * <p>
+   * Only a {@link RequestSnapshot} of the request is kept until the next emit interval, so its content can be
+   * garbage collected right away.
+   * <p>
    * If the orphan could not be recorded because the buffer is full, a {@link OrphanRecordDroppedEvent} will
    * be raised on the event bus.
    * <p>
@@ -138,7 +139,7 @@ public class OrphanReporter {
         return;
       }
 
-      if (!orphanQueue.offer(request)) {
+      if (!orphanQueue.offer(RequestSnapshot.of(request))) {
         eventBus.publish(new OrphanRecordDroppedEvent(request.getClass()));
       }
   }
@@ -164,18 +165,18 @@ public class OrphanReporter {
     /**
      * Compares request by their logical request latency for the priority threshold queues.
      */
-    private final Comparator<Request<?>> THRESHOLD_COMPARATOR = Comparator.comparingLong(
-      o -> o.context().logicalRequestLatency()
+    private final Comparator<RequestSnapshot> THRESHOLD_COMPARATOR = Comparator.comparingLong(
+      RequestSnapshot::logicalRequestLatency
     );
 
     private long lastThresholdLog;
     private boolean hasThresholdWritten;
 
-    private final Queue<Request<?>> kvOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> queryOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> viewOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> searchOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> analyticsOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> kvOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> queryOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> viewOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> searchOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> analyticsOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
 
     private long kvOrphanCount = 0;
     private long queryOrphanCount = 0;
@@ -212,7 +213,7 @@ public class OrphanReporter {
       }
 
       while (true) {
-        Request<?> request = orphanQueue.poll();
+        RequestSnapshot request = orphanQueue.poll();
         if (request == null) {
           return;
         }
@@ -240,13 +241,21 @@ public class OrphanReporter {
      * Helper method which updates the list with the span and ensures that the sample
      * size is respected.
      */
-    private void updateSet(final Queue<Request<?>> set, final Request<?> request) {
+    private void updateSet(final Queue<RequestSnapshot> set, final RequestSnapshot request) {
+      hasThresholdWritten = true;
+      if (sampleSize <= 0) {
+        // Only the count is reported, there is no sample to keep
+        return;
+      }
+      if (set.size() >= sampleSize && THRESHOLD_COMPARATOR.compare(request, set.peek()) <= 0) {
+        // Not slower than any of the kept ones, so no need to add and then remove it right away
+        return;
+      }
       set.add(request);
       // Remove the element with the lowest duration, so we only keep the highest ones consistently
       while(set.size() > sampleSize) {
         set.remove();
       }
-      hasThresholdWritten = true;
     }
 
     private void prepareAndLogOrphansNew() {
@@ -256,27 +265,27 @@ public class OrphanReporter {
       hasThresholdWritten = false;
 
       Map<String, Object> output = new HashMap<>();
-      if (!kvOrphans.isEmpty()) {
+      if (kvOrphanCount > 0) {
         output.put(TracingIdentifiers.SERVICE_KV, convertOrphanMetadataNew(kvOrphans, kvOrphanCount));
         kvOrphans.clear();
         kvOrphanCount = 0;
       }
-      if (!queryOrphans.isEmpty()) {
+      if (queryOrphanCount > 0) {
         output.put(TracingIdentifiers.SERVICE_QUERY, convertOrphanMetadataNew(queryOrphans, queryOrphanCount));
         queryOrphans.clear();
         queryOrphanCount = 0;
       }
-      if (!viewOrphans.isEmpty()) {
+      if (viewOrphanCount > 0) {
         output.put(TracingIdentifiers.SERVICE_VIEWS, convertOrphanMetadataNew(viewOrphans, viewOrphanCount));
         viewOrphans.clear();
         viewOrphanCount = 0;
       }
-      if (!searchOrphans.isEmpty()) {
+      if (searchOrphanCount > 0) {
         output.put(TracingIdentifiers.SERVICE_SEARCH, convertOrphanMetadataNew(searchOrphans, searchOrphanCount));
         searchOrphans.clear();
         searchOrphanCount = 0;
       }
-      if (!analyticsOrphans.isEmpty()) {
+      if (analyticsOrphanCount > 0) {
         output.put(TracingIdentifiers.SERVICE_ANALYTICS, convertOrphanMetadataNew(analyticsOrphans, analyticsOrphanCount));
         analyticsOrphans.clear();
         analyticsOrphanCount = 0;
@@ -291,27 +300,27 @@ public class OrphanReporter {
       hasThresholdWritten = false;
 
       List<Map<String, Object>> output = new ArrayList<>();
-      if (!kvOrphans.isEmpty()) {
+      if (kvOrphanCount > 0) {
         output.add(convertOrphanMetadataOld(kvOrphans, kvOrphanCount, TracingIdentifiers.SERVICE_KV));
         kvOrphans.clear();
         kvOrphanCount = 0;
       }
-      if (!queryOrphans.isEmpty()) {
+      if (queryOrphanCount > 0) {
         output.add(convertOrphanMetadataOld(queryOrphans, queryOrphanCount, TracingIdentifiers.SERVICE_QUERY));
         queryOrphans.clear();
         queryOrphanCount = 0;
       }
-      if (!viewOrphans.isEmpty()) {
+      if (viewOrphanCount > 0) {
         output.add(convertOrphanMetadataOld(viewOrphans, viewOrphanCount, TracingIdentifiers.SERVICE_VIEWS));
         viewOrphans.clear();
         viewOrphanCount = 0;
       }
-      if (!searchOrphans.isEmpty()) {
+      if (searchOrphanCount > 0) {
         output.add(convertOrphanMetadataOld(searchOrphans, searchOrphanCount, TracingIdentifiers.SERVICE_SEARCH));
         searchOrphans.clear();
         searchOrphanCount = 0;
       }
-      if (!analyticsOrphans.isEmpty()) {
+      if (analyticsOrphanCount > 0) {
         output.add(convertOrphanMetadataOld(analyticsOrphans, analyticsOrphanCount, TracingIdentifiers.SERVICE_ANALYTICS));
         analyticsOrphans.clear();
         analyticsOrphanCount = 0;
@@ -319,14 +328,14 @@ public class OrphanReporter {
       logOrphans(null,  output);
     }
 
-    private Map<String, Object> convertOrphanMetadataNew(Queue<Request<?>> requests, long count) {
+    private Map<String, Object> convertOrphanMetadataNew(Queue<RequestSnapshot> requests, long count) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (RequestSnapshot request : requests) {
         HashMap<String, Object> fieldMap = new HashMap<>();
 
         if (request != null) {
-          fieldMap.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+          fieldMap.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.logicalRequestLatency()));
 
           fieldMap.put(KEY_OPERATION_NAME, request.name());
 
@@ -335,23 +344,23 @@ public class OrphanReporter {
             fieldMap.put(KEY_OPERATION_ID, operationId);
           }
 
-          String localId = request.context().lastChannelId();
+          String localId = request.lastChannelId();
           if (localId != null) {
             fieldMap.put(KEY_LAST_LOCAL_ID, redactSystem(localId));
           }
 
-          long encodeDuration = request.context().encodeLatency();
+          long encodeDuration = request.encodeLatency();
           if (encodeDuration > 0) {
             fieldMap.put(KEY_ENCODE_MICROS, encodeDuration);
           }
 
-          long dispatchDuration = request.context().dispatchLatency();
+          long dispatchDuration = request.dispatchLatency();
           if (dispatchDuration > 0) {
             fieldMap.put(KEY_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
           }
 
-          HostAndPort local = request.context().lastDispatchedFrom();
-          HostAndPort peer = request.context().lastDispatchedTo();
+          HostAndPort local = request.lastDispatchedFrom();
+          HostAndPort peer = request.lastDispatchedTo();
           if (local != null) {
             fieldMap.put(KEY_LAST_LOCAL_SOCKET, redactSystem(local.toString()));
           }
@@ -359,12 +368,12 @@ public class OrphanReporter {
             fieldMap.put(KEY_LAST_REMOTE_SOCKET, redactSystem(peer.toString()));
           }
 
-          long serverDuration = request.context().serverLatency();
+          long serverDuration = request.serverLatency();
           if (serverDuration > 0) {
             fieldMap.put(KEY_SERVER_MICROS, serverDuration);
           }
 
-          fieldMap.put(KEY_TIMEOUT, request.timeout().toMillis());
+          fieldMap.put(KEY_TIMEOUT, request.timeoutMillis());
         }
 
         top.add(fieldMap);
@@ -374,32 +383,31 @@ public class OrphanReporter {
       return output;
     }
 
-    private Map<String, Object> convertOrphanMetadataOld(Queue<Request<?>> requests, long count, String serviceType) {
+    private Map<String, Object> convertOrphanMetadataOld(Queue<RequestSnapshot> requests, long count, String serviceType) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (RequestSnapshot request : requests) {
         HashMap<String, Object> fieldMap = new HashMap<>();
 
         if (request != null) {
-          String name = request.getClass().getSimpleName().replace("Request", "").toLowerCase();
+          String name = request.requestClass().getSimpleName().replace("Request", "").toLowerCase();
           fieldMap.put("s", name);
 
           String operationId = request.operationId();
           if (operationId != null) {
             fieldMap.put("i", operationId);
           }
-          if (request instanceof KeyValueRequest) {
-            fieldMap.put("b", ((KeyValueRequest<?>) request).bucket());
-          } else if (request instanceof ViewRequest) {
-            fieldMap.put("b", ((ViewRequest) request).bucket());
+          String bucket = request.bucket();
+          if (bucket != null) {
+            fieldMap.put("b", bucket);
           }
-          String localId = request.context().lastChannelId();
+          String localId = request.lastChannelId();
           if (localId != null) {
             fieldMap.put("c", redactSystem(localId));
           }
 
-          HostAndPort local = request.context().lastDispatchedFrom();
-          HostAndPort peer = request.context().lastDispatchedTo();
+          HostAndPort local = request.lastDispatchedFrom();
+          HostAndPort peer = request.lastDispatchedTo();
           if (local != null) {
             fieldMap.put("l", redactSystem(local.toString()));
           }
@@ -407,12 +415,12 @@ public class OrphanReporter {
             fieldMap.put("r", redactSystem(peer.toString()));
           }
 
-          long serverDuration = request.context().serverLatency();
+          long serverDuration = request.serverLatency();
           if (serverDuration > 0) {
             fieldMap.put("d", serverDuration);
           }
 
-          long timeout = request.timeout().toMillis();
+          long timeout = request.timeoutMillis();
           fieldMap.put("t", timeout);
         }
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.tracing.ThresholdRequestTracer;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.view.ViewRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+
+/**
+ * A small, immutable copy of the information about a request which is needed for reporting.
+ *
+ * <p>The {@link ThresholdRequestTracer} and the {@link OrphanReporter} hold on to the slowest requests until
+ * their next emit interval. Keeping the request itself around would also keep its content and its whole
+ * {@link RequestContext} alive, so instead a snapshot is taken right when the request is handed over.</p>
+ */
+@Stability.Internal
+public final class RequestSnapshot {
+
+  private final ServiceType serviceType;
+  private final Class<?> requestClass;
+  private final String name;
+  private final String operationId;
+  private final String bucket;
+  private final String lastChannelId;
+  private final HostAndPort lastDispatchedFrom;
+  private final HostAndPort lastDispatchedTo;
+  private final long logicalRequestLatency;
+  private final long encodeLatency;
+  private final long dispatchLatency;
+  private final long serverLatency;
+  private final long timeoutMillis;
+
+  private RequestSnapshot(final Request<?> request) {
+    RequestContext ctx = request.context();
+    this.serviceType = request.serviceType();
+    this.requestClass = request.getClass();
+    this.name = request.name();
+    this.operationId = request.operationId();
+    if (request instanceof KeyValueRequest) {
+      this.bucket = ((KeyValueRequest<?>) request).bucket();
+    } else if (request instanceof ViewRequest) {
+      this.bucket = ((ViewRequest) request).bucket();
+    } else {
+      this.bucket = null;
+    }
+    this.lastChannelId = ctx.lastChannelId();
+    this.lastDispatchedFrom = ctx.lastDispatchedFrom();
+    this.lastDispatchedTo = ctx.lastDispatchedTo();
+    this.logicalRequestLatency = ctx.logicalRequestLatency();
+    this.encodeLatency = ctx.encodeLatency();
+    this.dispatchLatency = ctx.dispatchLatency();
+    this.serverLatency = ctx.serverLatency();
+    this.timeoutMillis = request.timeout().toMillis();
+  }
+
+  /**
+   * Takes a snapshot of the given request in its current state.
+   *
+   * @param request the request to take the snapshot from.
+   * @return the created snapshot.
+   */
+  public static RequestSnapshot of(final Request<?> request) {
+    return new RequestSnapshot(request);
+  }
+
+  public ServiceType serviceType() {
+    return serviceType;
+  }
+
+  public Class<?> requestClass() {
+    return requestClass;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Returns the operation id of the request, might be null.
+   */
+  public String operationId() {
+    return operationId;
+  }
+
+  /**
+   * Returns the bucket name if the request is bucket scoped, null otherwise.
+   */
+  public String bucket() {
+    return bucket;
+  }
+
+  public String lastChannelId() {
+    return lastChannelId;
+  }
+
+  public HostAndPort lastDispatchedFrom() {
+    return lastDispatchedFrom;
+  }
+
+  public HostAndPort lastDispatchedTo() {
+    return lastDispatchedTo;
+  }
+
+  public long logicalRequestLatency() {
+    return logicalRequestLatency;
+  }
+
+  public long encodeLatency() {
+    return encodeLatency;
+  }
+
+  public long dispatchLatency() {
+    return dispatchLatency;
+  }
+
+  public long serverLatency() {
+    return serverLatency;
+  }
+
+  public long timeoutMillis() {
+    return timeoutMillis;
+  }
+
+}
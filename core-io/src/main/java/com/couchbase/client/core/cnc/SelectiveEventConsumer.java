@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.function.Consumer;
+
+/**
+ * An event {@link Consumer} which is able to tell upfront which events it is going to act upon.
+ *
+ * <p>If all subscribers of the {@link EventBus} implement this interface, publishers can skip constructing
+ * (and enqueueing) events nobody is interested in through {@link EventBus#accepts(Event.Severity, String)}. Plain
+ * consumers are always considered to be interested in every event.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Volatile
+public interface SelectiveEventConsumer extends Consumer<Event> {
+
+  /**
+   * Checks if this consumer would act upon an event with the given severity and category.
+   *
+   * @param severity the severity of the event.
+   * @param category the category of the event.
+   * @return true if the consumer wants to receive such events, false otherwise.
+   */
+  boolean accepts(Event.Severity severity, String category);
+
+}
@@ -19,15 +19,68 @@ package com.couchbase.client.core.cnc.metrics;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.Counter;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
- * At the moment this is a NOOP implementation because we do not perform any aggregations
- * on the counters.
+ * Aggregates the increments of a counter until they are collected by the {@link AggregatingMeter}.
+ *
+ * <p>A {@link LongAdder} is used underneath, so concurrent increments from many threads do not contend on
+ * the same memory location.</p>
  */
 @Stability.Volatile
 public class AggregatingCounter implements Counter {
 
-  static final AggregatingCounter INSTANCE = new AggregatingCounter();
+  private final String name;
+
+  private final Map<String, String> tags;
+
+  private final LongAdder count = new LongAdder();
+
+  public AggregatingCounter(final String name, final Map<String, String> tags) {
+    this.name = name;
+    this.tags = tags;
+  }
+
+  @Override
+  public void incrementBy(long number) {
+    count.add(number);
+  }
+
+  /**
+   * Returns the sum of all increments since the last call and resets it.
+   */
+  long clearCount() {
+    return count.sumThenReset();
+  }
+
+  String name() {
+    return name;
+  }
+
+  Map<String, String> tags() {
+    return tags;
+  }
+
+  @Override
+  public String toString() {
+    return "AggregatingCounter{" +
+      "name='" + name + '\'' +
+      ", tags=" + tags +
+      '}';
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    AggregatingCounter that = (AggregatingCounter) o;
+    return Objects.equals(name, that.name) && Objects.equals(tags, that.tags);
+  }
 
   @Override
-  public void incrementBy(long number) { }
+  public int hashCode() {
+    return Objects.hash(name, tags);
+  }
 }
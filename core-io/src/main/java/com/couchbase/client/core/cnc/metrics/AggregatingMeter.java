@@ -30,13 +30,15 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The default metrics implementation which aggregates latency information and emits it at a regular interval.
+ * The default metrics implementation which aggregates latency information and counts, and emits them at a
+ * regular interval.
  */
 @Stability.Volatile
 public class AggregatingMeter implements Meter {
@@ -48,6 +50,7 @@ public class AggregatingMeter implements Meter {
   private final AtomicBoolean running = new AtomicBoolean(false);
 
   private final Map<NameAndTags, AggregatingValueRecorder> valueRecorders = new ConcurrentHashMap<>();
+  private final Map<NameAndTags, AggregatingCounter> counters = new ConcurrentHashMap<>();
 
   private final long emitIntervalMs;
 
@@ -63,25 +66,24 @@ public class AggregatingMeter implements Meter {
     worker.setDaemon(true);
   }
 
-  /**
-   * Note that since we are not performing any aggregations on the counter type, this pretty much
-   * is a NOOP for performance reasons.
-   *
-   * @param name the name of the counter (unused).
-   * @param tags the tags to apply (unused).
-   * @return a cached noop instance of the counter.
-   */
   @Override
   public Counter counter(String name, Map<String, String> tags) {
-    return AggregatingCounter.INSTANCE;
+    NameAndTags key = new NameAndTags(name, tags);
+    AggregatingCounter counter = counters.get(key);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(key, k -> new AggregatingCounter(name, tags));
+    }
+    return counter;
   }
 
   @Override
-  public synchronized ValueRecorder valueRecorder(String name, Map<String, String> tags) {
-    return valueRecorders.computeIfAbsent(
-      new NameAndTags(name, tags),
-      key -> new AggregatingValueRecorder(name, tags)
-    );
+  public ValueRecorder valueRecorder(String name, Map<String, String> tags) {
+    NameAndTags key = new NameAndTags(name, tags);
+    AggregatingValueRecorder recorder = valueRecorders.get(key);
+    if (recorder == null) {
+      recorder = valueRecorders.computeIfAbsent(key, k -> new AggregatingValueRecorder(name, tags));
+    }
+    return recorder;
   }
 
   @Override
@@ -127,6 +129,7 @@ public class AggregatingMeter implements Meter {
       }
     }
 
+    @SuppressWarnings("unchecked")
     private synchronized void dumpMetrics() {
       Map<String,  Map<String, Object>> output = new HashMap<>();
 
@@ -142,12 +145,15 @@ public class AggregatingMeter implements Meter {
         }
         wroteRow = true;
 
-        String service = avr.tags().get("cb.service");
-        String hostname = avr.tags().get("cb.remote_hostname");
-
-        Map<String, Object> serviceMap = output.computeIfAbsent(service, k -> new HashMap<>());
-        Map<String, Object> hostMap = (Map<String, Object>) serviceMap.computeIfAbsent(hostname, k -> new HashMap<>());
-
+        Map<String, Object> hostMap = hostMap(output, avr.tags());
+        if (!isGroupedByServiceAndHost(avr.tags())) {
+          // Without a service and host to group by, every recorder needs its own entry so they do not overwrite
+          // each other.
+          hostMap = (Map<String, Object>) hostMap.computeIfAbsent(
+            metricName(avr.name(), avr.tags()),
+            k -> new LinkedHashMap<>()
+          );
+        }
         hostMap.put("total_count", histogram.getTotalCount());
 
         Map<String, Object> percentiles = new LinkedHashMap<>();
@@ -160,10 +166,63 @@ public class AggregatingMeter implements Meter {
         hostMap.put("percentiles_us", percentiles);
       }
 
+      double intervalSeconds = emitIntervalMs / 1000.0;
+      for (AggregatingCounter counter : counters.values()) {
+        long count = counter.clearCount();
+        if (count == 0) {
+          continue;
+        }
+        wroteRow = true;
+
+        Map<String, Object> counterMap = new LinkedHashMap<>();
+        counterMap.put("total_count", count);
+        counterMap.put("rate_per_s", intervalSeconds > 0 ? count / intervalSeconds : count);
+
+        Map<String, Object> countersMap = (Map<String, Object>) hostMap(output, counter.tags())
+          .computeIfAbsent("counters", k -> new HashMap<>());
+        countersMap.put(metricName(counter.name(), counter.tags()), counterMap);
+      }
+
       if (wroteRow) {
         eventBus.publish(new LatencyMetricsAggregatedEvent(Duration.ofMillis(emitIntervalMs), output));
       }
     }
+
+    /**
+     * Returns the map of the service and host the tags point to, creating it if needed.
+     *
+     * <p>Metrics without a service or host tag are grouped under "_", since the output is encoded as JSON
+     * and map keys must not be null there.</p>
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> hostMap(final Map<String, Map<String, Object>> output,
+                                        final Map<String, String> tags) {
+      String service = tags.getOrDefault("cb.service", "_");
+      String hostname = tags.getOrDefault("cb.remote_hostname", "_");
+
+      Map<String, Object> serviceMap = output.computeIfAbsent(service, k -> new HashMap<>());
+      return (Map<String, Object>) serviceMap.computeIfAbsent(hostname, k -> new HashMap<>());
+    }
+
+    /**
+     * Returns true if the tags carry both the service and the host, so the metric can be identified by them.
+     */
+    private boolean isGroupedByServiceAndHost(final Map<String, String> tags) {
+      return tags.containsKey("cb.service") && tags.containsKey("cb.remote_hostname");
+    }
+
+    /**
+     * Returns the name of the metric, followed by the values of all tags which are not used for grouping.
+     */
+    private String metricName(final String metricName, final Map<String, String> tags) {
+      StringBuilder name = new StringBuilder(metricName);
+      for (Map.Entry<String, String> tag : new TreeMap<>(tags).entrySet()) {
+        if (!tag.getKey().equals("cb.service") && !tag.getKey().equals("cb.remote_hostname")) {
+          name.append(':').append(tag.getValue());
+        }
+      }
+      return name.toString();
+    }
   }
 
 
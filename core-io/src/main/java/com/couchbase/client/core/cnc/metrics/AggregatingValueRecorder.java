@@ -50,6 +50,10 @@ public class AggregatingValueRecorder implements ValueRecorder {
     return recorderStats.getIntervalHistogram();
   }
 
+  String name() {
+    return name;
+  }
+
   Map<String, String> tags() {
     return tags;
   }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A small, lock free latency histogram which favors recent samples.
+ *
+ * <p>Latencies are tracked in microseconds, in buckets which split every power of two into four, so a percentile
+ * is accurate to within 25%. Once {@link #DECAY_THRESHOLD} samples are recorded all counts are halved, which
+ * lets older samples fade out without having to keep track of time. Samples recorded concurrently with the decay
+ * may be lost, which is fine for an estimate.</p>
+ *
+ * @since 2.1.2
+ */
+final class LatencyHistogram {
+
+  /**
+   * The number of samples after which all counts are halved.
+   */
+  static final int DECAY_THRESHOLD = 2048;
+
+  /**
+   * Below this number of samples no percentile is reported.
+   */
+  static final int MIN_SAMPLES = 32;
+
+  private static final long MAX_MICROS = (1L << 31) - 1;
+  private static final int NUM_BUCKETS = bucketFor(MAX_MICROS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong total = new AtomicLong();
+
+  /**
+   * Records a latency.
+   *
+   * @param latencyNanos the latency in nanoseconds.
+   */
+  void record(final long latencyNanos) {
+    long micros = Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    counts.incrementAndGet(bucketFor(micros));
+    if (total.incrementAndGet() >= DECAY_THRESHOLD) {
+      decay();
+    }
+  }
+
+  /**
+   * Returns the upper bound of the bucket which holds the given percentile of the recorded latencies.
+   *
+   * @param percentile the percentile, i.e. 0.95.
+   * @return the latency in nanoseconds, or 0 if not enough samples have been recorded yet.
+   */
+  long percentile(final double percentile) {
+    long[] snapshot = new long[NUM_BUCKETS];
+    long sum = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      sum += snapshot[i];
+    }
+    if (sum < MIN_SAMPLES) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(sum * percentile);
+    long seen = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return TimeUnit.MICROSECONDS.toNanos(upperBound(i));
+      }
+    }
+    return TimeUnit.MICROSECONDS.toNanos(upperBound(NUM_BUCKETS - 1));
+  }
+
+  private synchronized void decay() {
+    if (total.get() < DECAY_THRESHOLD) {
+      return;
+    }
+    long sum = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      long halved = counts.get(i) >> 1;
+      counts.set(i, halved);
+      sum += halved;
+    }
+    total.set(sum);
+  }
+
+  /**
+   * Values below 4 get their own bucket, every larger power of two is split into four buckets.
+   */
+  static int bucketFor(final long micros) {
+    if (micros < 4) {
+      return (int) micros;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) (micros >> (exponent - 2)) & 3;
+    return (exponent - 1) * 4 + sub;
+  }
+
+  /**
+   * Returns the exclusive upper bound of the bucket in microseconds.
+   */
+  static long upperBound(final int bucket) {
+    if (bucket < 4) {
+      return bucket + 1;
+    }
+    int exponent = bucket / 4 + 1;
+    int sub = bucket % 4;
+    return (5L + sub) << (exponent - 2);
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.service.ServiceType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the "cb.responses" value recorders of one service on one host, indexed by the type of the request.
+ *
+ * <p>Every request class is assigned a dense ordinal once, so after the recorder for a request type has been
+ * created, looking it up is a plain array load and does not allocate.</p>
+ *
+ * <p>Next to the recorders, which report into the configured {@link Meter}, a small decaying histogram is kept per
+ * request type so the SDK itself can make decisions based on recent latency percentiles (i.e. when to hedge a
+ * read against a replica), independent of the meter implementation.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public final class ResponseMetrics {
+
+  /**
+   * Hands out the ordinals for the request classes.
+   */
+  private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+
+  /**
+   * Holds the ordinal for each request class.
+   */
+  private static final ClassValue<Integer> ORDINALS = new ClassValue<Integer>() {
+    @Override
+    protected Integer computeValue(final Class<?> type) {
+      return NEXT_ORDINAL.getAndIncrement();
+    }
+  };
+
+  private final Meter meter;
+  private final ServiceType serviceType;
+  private final String hostname;
+
+  /**
+   * The recorders indexed by request type ordinal, copied on write when a new request type shows up.
+   */
+  private volatile ValueRecorder[] recorders = new ValueRecorder[0];
+
+  /**
+   * The latency histograms indexed by request type ordinal, copied on write like the recorders.
+   */
+  private volatile LatencyHistogram[] histograms = new LatencyHistogram[0];
+
+  /**
+   * Creates the response metrics for a service on a host.
+   *
+   * @param meter the meter to create the value recorders from.
+   * @param serviceType the service type of the endpoints.
+   * @param hostname the remote hostname of the endpoints.
+   */
+  public ResponseMetrics(final Meter meter, final ServiceType serviceType, final String hostname) {
+    this.meter = meter;
+    this.serviceType = serviceType;
+    this.hostname = hostname;
+  }
+
+  /**
+   * Records the latency of a completed request.
+   *
+   * @param request the completed request.
+   * @param latencyNanos the latency of the request in nanoseconds.
+   */
+  public void record(final Request<?> request, final long latencyNanos) {
+    recorder(request).recordValue(latencyNanos);
+    histogram(ORDINALS.get(request.getClass())).record(latencyNanos);
+  }
+
+  /**
+   * Returns the value recorder for the type of the given request.
+   *
+   * @param request the request to record the response for.
+   * @return the value recorder.
+   */
+  public ValueRecorder recorder(final Request<?> request) {
+    int ordinal = ORDINALS.get(request.getClass());
+    ValueRecorder[] current = recorders;
+    if (ordinal < current.length) {
+      ValueRecorder recorder = current[ordinal];
+      if (recorder != null) {
+        return recorder;
+      }
+    }
+    return createRecorder(ordinal, request);
+  }
+
+  /**
+   * Returns a recent latency percentile of the given request type.
+   *
+   * @param requestType the class of the request.
+   * @param percentile the percentile to return, i.e. 0.95.
+   * @return the percentile in nanoseconds, or 0 if not enough responses have been recorded yet.
+   */
+  public long latencyPercentile(final Class<?> requestType, final double percentile) {
+    int ordinal = ORDINALS.get(requestType);
+    LatencyHistogram[] current = histograms;
+    if (ordinal < current.length && current[ordinal] != null) {
+      return current[ordinal].percentile(percentile);
+    }
+    return 0;
+  }
+
+  private LatencyHistogram histogram(final int ordinal) {
+    LatencyHistogram[] current = histograms;
+    if (ordinal < current.length) {
+      LatencyHistogram histogram = current[ordinal];
+      if (histogram != null) {
+        return histogram;
+      }
+    }
+    return createHistogram(ordinal);
+  }
+
+  private synchronized ValueRecorder createRecorder(final int ordinal, final Request<?> request) {
+    ValueRecorder[] current = recorders;
+    if (ordinal < current.length && current[ordinal] != null) {
+      return current[ordinal];
+    }
+
+    Map<String, String> tags = new HashMap<>(4);
+    tags.put("cb.service", serviceType.ident());
+    tags.put("cb.remote_hostname", hostname);
+    tags.put("cb.request_type", request.name());
+    ValueRecorder recorder = meter.valueRecorder("cb.responses", tags);
+
+    ValueRecorder[] updated = Arrays.copyOf(current, Math.max(current.length, ordinal + 1));
+    updated[ordinal] = recorder;
+    recorders = updated;
+    return recorder;
+  }
+
+  private synchronized LatencyHistogram createHistogram(final int ordinal) {
+    LatencyHistogram[] current = histograms;
+    if (ordinal < current.length && current[ordinal] != null) {
+      return current[ordinal];
+    }
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    LatencyHistogram[] updated = Arrays.copyOf(current, Math.max(current.length, ordinal + 1));
+    updated[ordinal] = histogram;
+    histograms = updated;
+    return histogram;
+  }
+
+}
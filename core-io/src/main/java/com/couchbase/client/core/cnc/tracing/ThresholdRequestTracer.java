@@ -17,6 +17,7 @@
 package com.couchbase.client.core.cnc.tracing;
 
 import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.RequestSnapshot;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.RequestTracer;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
@@ -61,7 +62,7 @@ public class ThresholdRequestTracer implements RequestTracer {
   private static final String KEY_LAST_LOCAL_ID = "last_local_id";
 
   private final AtomicBoolean running = new AtomicBoolean(false);
-  private final Queue<Request<?>> overThresholdQueue;
+  private final Queue<RequestSnapshot> overThresholdQueue;
   private final EventBus eventBus;
   private final Thread worker;
 
@@ -132,7 +133,7 @@ public class ThresholdRequestTracer implements RequestTracer {
   }
 
   /**
-   * Finishes the span (sends it off into the queue when over threshold).
+   * Finishes the span (sends a snapshot of its request off into the queue when over threshold).
    *
    * @param span the finished internal span from the toplevel request.
    */
@@ -140,7 +141,7 @@ public class ThresholdRequestTracer implements RequestTracer {
     if (span.requestContext() != null) {
       final Request<?> request = span.requestContext().request();
       if (isOverThreshold(request)) {
-        if (!overThresholdQueue.offer(request)) {
+        if (!overThresholdQueue.offer(RequestSnapshot.of(request))) {
           // TODO: what to do if dropped because queue full? raise event?
         }
       }
@@ -210,15 +211,15 @@ public class ThresholdRequestTracer implements RequestTracer {
     /**
      * Compares request by their logical request latency for the priority threshold queues.
      */
-    private final Comparator<Request<?>> THRESHOLD_COMPARATOR = Comparator.comparingLong(
-      o -> o.context().logicalRequestLatency()
+    private final Comparator<RequestSnapshot> THRESHOLD_COMPARATOR = Comparator.comparingLong(
+      RequestSnapshot::logicalRequestLatency
     );
 
-    private final Queue<Request<?>> kvThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> n1qlThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> viewThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> ftsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> analyticsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> kvThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> n1qlThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> viewThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> ftsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<RequestSnapshot> analyticsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
 
     private long kvThresholdCount = 0;
     private long n1qlThresholdCount = 0;
@@ -265,7 +266,7 @@ public class ThresholdRequestTracer implements RequestTracer {
       }
 
       while (true) {
-        Request<?> request = overThresholdQueue.poll();
+        RequestSnapshot request = overThresholdQueue.poll();
         if (request == null) {
           return;
         }
@@ -302,7 +303,7 @@ public class ThresholdRequestTracer implements RequestTracer {
       hasThresholdWritten = false;
 
       Map<String, Object> output = new HashMap<>();
-      if (!kvThresholds.isEmpty()) {
+      if (kvThresholdCount > 0) {
         output.put(
           TracingIdentifiers.SERVICE_KV,
           convertThresholdMetadataNew(kvThresholds, kvThresholdCount)
@@ -310,7 +311,7 @@ public class ThresholdRequestTracer implements RequestTracer {
         kvThresholds.clear();
         kvThresholdCount = 0;
       }
-      if (!n1qlThresholds.isEmpty()) {
+      if (n1qlThresholdCount > 0) {
         output.put(
           TracingIdentifiers.SERVICE_QUERY,
           convertThresholdMetadataNew(n1qlThresholds, n1qlThresholdCount)
@@ -318,7 +319,7 @@ public class ThresholdRequestTracer implements RequestTracer {
         n1qlThresholds.clear();
         n1qlThresholdCount = 0;
       }
-      if (!viewThresholds.isEmpty()) {
+      if (viewThresholdCount > 0) {
         output.put(
           TracingIdentifiers.SERVICE_VIEWS,
           convertThresholdMetadataNew(viewThresholds, viewThresholdCount)
@@ -326,7 +327,7 @@ public class ThresholdRequestTracer implements RequestTracer {
         viewThresholds.clear();
         viewThresholdCount = 0;
       }
-      if (!ftsThresholds.isEmpty()) {
+      if (ftsThresholdCount > 0) {
         output.put(
           TracingIdentifiers.SERVICE_SEARCH,
           convertThresholdMetadataNew(ftsThresholds, ftsThresholdCount)
@@ -334,7 +335,7 @@ public class ThresholdRequestTracer implements RequestTracer {
         ftsThresholds.clear();
         ftsThresholdCount = 0;
       }
-      if (!analyticsThresholds.isEmpty()) {
+      if (analyticsThresholdCount > 0) {
         output.put(
           TracingIdentifiers.SERVICE_ANALYTICS,
           convertThresholdMetadataNew(analyticsThresholds, analyticsThresholdCount)
@@ -352,27 +353,27 @@ public class ThresholdRequestTracer implements RequestTracer {
       hasThresholdWritten = false;
 
       List<Map<String, Object>> output = new ArrayList<>();
-      if (!kvThresholds.isEmpty()) {
+      if (kvThresholdCount > 0) {
         output.add(convertThresholdMetadataOld(kvThresholds, kvThresholdCount, TracingIdentifiers.SERVICE_KV));
         kvThresholds.clear();
         kvThresholdCount = 0;
       }
-      if (!n1qlThresholds.isEmpty()) {
+      if (n1qlThresholdCount > 0) {
         output.add(convertThresholdMetadataOld(n1qlThresholds, n1qlThresholdCount, TracingIdentifiers.SERVICE_QUERY));
         n1qlThresholds.clear();
         n1qlThresholdCount = 0;
       }
-      if (!viewThresholds.isEmpty()) {
+      if (viewThresholdCount > 0) {
         output.add(convertThresholdMetadataOld(viewThresholds, viewThresholdCount, TracingIdentifiers.SERVICE_VIEWS));
         viewThresholds.clear();
         viewThresholdCount = 0;
       }
-      if (!ftsThresholds.isEmpty()) {
+      if (ftsThresholdCount > 0) {
         output.add(convertThresholdMetadataOld(ftsThresholds, ftsThresholdCount, TracingIdentifiers.SERVICE_SEARCH));
         ftsThresholds.clear();
         ftsThresholdCount = 0;
       }
-      if (!analyticsThresholds.isEmpty()) {
+      if (analyticsThresholdCount > 0) {
         output.add(convertThresholdMetadataOld(analyticsThresholds, analyticsThresholdCount, TracingIdentifiers.SERVICE_ANALYTICS));
         analyticsThresholds.clear();
         analyticsThresholdCount = 0;
@@ -387,12 +388,12 @@ public class ThresholdRequestTracer implements RequestTracer {
      * @param count the total count
      * @return the converted map
      */
-    private Map<String, Object> convertThresholdMetadataNew(final Queue<Request<?>> requests, final long count) {
+    private Map<String, Object> convertThresholdMetadataNew(final Queue<RequestSnapshot> requests, final long count) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (RequestSnapshot request : requests) {
         Map<String, Object> entry = new HashMap<>();
-        entry.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+        entry.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.logicalRequestLatency()));
 
         String operationId = request.operationId();
         if (operationId != null) {
@@ -401,8 +402,8 @@ public class ThresholdRequestTracer implements RequestTracer {
 
         entry.put(KEY_OPERATION_NAME, request.name());
 
-        HostAndPort local = request.context().lastDispatchedFrom();
-        HostAndPort peer = request.context().lastDispatchedTo();
+        HostAndPort local = request.lastDispatchedFrom();
+        HostAndPort peer = request.lastDispatchedTo();
         if (local != null) {
           entry.put(KEY_LAST_LOCAL_SOCKET, redactSystem(local).toString());
         }
@@ -410,22 +411,22 @@ public class ThresholdRequestTracer implements RequestTracer {
           entry.put(KEY_LAST_REMOTE_SOCKET, redactSystem(peer).toString());
         }
 
-        String localId = request.context().lastChannelId();
+        String localId = request.lastChannelId();
         if (localId != null) {
           entry.put(KEY_LAST_LOCAL_ID, redactSystem(localId).toString());
         }
 
-        long encodeDuration = request.context().encodeLatency();
+        long encodeDuration = request.encodeLatency();
         if (encodeDuration > 0) {
           entry.put(KEY_ENCODE_MICROS, encodeDuration);
         }
 
-        long dispatchDuration = request.context().dispatchLatency();
+        long dispatchDuration = request.dispatchLatency();
         if (dispatchDuration > 0) {
           entry.put(KEY_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
         }
 
-        long serverDuration = request.context().serverLatency();
+        long serverDuration = request.serverLatency();
         if (serverDuration > 0) {
           entry.put(KEY_SERVER_MICROS, TimeUnit.NANOSECONDS.toMicros(serverDuration));
         }
@@ -443,23 +444,23 @@ public class ThresholdRequestTracer implements RequestTracer {
       return output;
     }
 
-    private Map<String, Object> convertThresholdMetadataOld(final Queue<Request<?>> requests, final long count,
+    private Map<String, Object> convertThresholdMetadataOld(final Queue<RequestSnapshot> requests, final long count,
                                                             final String ident) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (RequestSnapshot request : requests) {
         Map<String, Object> entry = new HashMap<>();
-        entry.put("total_us", TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+        entry.put("total_us", TimeUnit.NANOSECONDS.toMicros(request.logicalRequestLatency()));
 
         String operationId = request.operationId();
         if (operationId != null) {
           entry.put("last_operation_id", operationId);
         }
 
-        entry.put("operation_name", request.getClass().getSimpleName());
+        entry.put("operation_name", request.requestClass().getSimpleName());
 
-        HostAndPort local = request.context().lastDispatchedFrom();
-        HostAndPort peer = request.context().lastDispatchedTo();
+        HostAndPort local = request.lastDispatchedFrom();
+        HostAndPort peer = request.lastDispatchedTo();
         if (local != null) {
           entry.put("last_local_address", redactSystem(local).toString());
         }
@@ -467,22 +468,22 @@ public class ThresholdRequestTracer implements RequestTracer {
           entry.put("last_remote_address", redactSystem(peer).toString());
         }
 
-        String localId = request.context().lastChannelId();
+        String localId = request.lastChannelId();
         if (localId != null) {
           entry.put("last_local_id", redactSystem(localId).toString());
         }
 
-        long encodeDuration = request.context().encodeLatency();
+        long encodeDuration = request.encodeLatency();
         if (encodeDuration > 0) {
           entry.put("encode_us", encodeDuration);
         }
 
-        long dispatchDuration = request.context().dispatchLatency();
+        long dispatchDuration = request.dispatchLatency();
         if (dispatchDuration > 0) {
           entry.put("last_dispatch_us", TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
         }
 
-        long serverDuration = request.context().serverLatency();
+        long serverDuration = request.serverLatency();
         if (serverDuration > 0) {
           entry.put("server_us", TimeUnit.NANOSECONDS.toMicros(serverDuration));
         }
@@ -513,13 +514,21 @@ public class ThresholdRequestTracer implements RequestTracer {
      * Helper method which updates the list with the span and ensures that the sample
      * size is respected.
      */
-    private void updateThreshold(final Queue<Request<?>> thresholds, final Request<?> request) {
+    private void updateThreshold(final Queue<RequestSnapshot> thresholds, final RequestSnapshot request) {
+      hasThresholdWritten = true;
+      if (sampleSize <= 0) {
+        // Only the count is reported, there is no sample to keep
+        return;
+      }
+      if (thresholds.size() >= sampleSize && THRESHOLD_COMPARATOR.compare(request, thresholds.peek()) <= 0) {
+        // Not slower than any of the kept ones, so no need to add and then remove it right away
+        return;
+      }
       thresholds.add(request);
       // Remove the element with the lowest duration, so we only keep the highest ones consistently
       while(thresholds.size() > sampleSize) {
         thresholds.remove();
       }
-      hasThresholdWritten = true;
     }
   }
 
@@ -19,6 +19,7 @@ package com.couchbase.client.core.config;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.env.SeedNode;
 import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -149,4 +150,31 @@ public interface ConfigurationProvider  {
    */
   boolean collectionMapRefreshInProgress();
 
+  /**
+   * Resolves the ID of the collection the given request targets and dispatches the request again once it is known.
+   *
+   * <p>Only one lookup per collection is in flight at any time. All requests which need the same collection while
+   * it runs are parked and released together once it completes, instead of being retried with backoff.</p>
+   *
+   * @param request the request which could not be encoded because the collection ID is not known yet.
+   */
+  void resolveCollectionId(KeyValueRequest<?> request);
+
+  /**
+   * Signals that a KV connection for the given bucket receives cluster map changes pushed by the server.
+   *
+   * <p>Every call must be paired with {@link #deregisterConfigPush(String)} once the connection is gone. As long as
+   * at least one connection per bucket is registered, the provider can rely on the pushed configs and poll less.</p>
+   *
+   * @param bucket the name of the bucket.
+   */
+  void registerConfigPush(String bucket);
+
+  /**
+   * Signals that a KV connection previously registered through {@link #registerConfigPush(String)} is gone.
+   *
+   * @param bucket the name of the bucket.
+   */
+  void deregisterConfigPush(String bucket);
+
 }
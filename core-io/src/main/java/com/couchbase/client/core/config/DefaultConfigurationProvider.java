@@ -45,9 +45,14 @@ import com.couchbase.client.core.io.CollectionMap;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetCollectionIdRequest;
+import com.couchbase.client.core.msg.kv.GetCollectionIdResponse;
 import com.couchbase.client.core.msg.kv.GetCollectionManifestRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.core.retry.RetryOrchestrator;
+import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.UnsignedLEB128;
 import reactor.core.Exceptions;
@@ -58,11 +63,13 @@ import reactor.core.publisher.ReplayProcessor;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -130,6 +137,13 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   private final AtomicInteger bucketConfigLoadInProgress = new AtomicInteger();
   private volatile boolean collectionMapRefreshInProgress = false;
 
+  /**
+   * Holds the requests parked per collection while the ID of the collection is being resolved.
+   *
+   * <p>An entry is present exactly as long as a lookup for the collection is in flight.</p>
+   */
+  private final Map<CollectionIdentifier, List<KeyValueRequest<?>>> parkedOnCollectionId = new ConcurrentHashMap<>();
+
   /**
    * Stores the current seed nodes used to bootstrap buckets and global configs.
    */
@@ -552,6 +566,113 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     return collectionMapRefreshInProgress;
   }
 
+  @Override
+  public void resolveCollectionId(final KeyValueRequest<?> request) {
+    final CollectionIdentifier identifier = request.collectionIdentifier();
+    final AtomicBoolean lookupNeeded = new AtomicBoolean(false);
+    parkedOnCollectionId.compute(identifier, (k, parked) -> {
+      if (parked == null) {
+        parked = new ArrayList<>();
+        lookupNeeded.set(true);
+      }
+      parked.add(request);
+      return parked;
+    });
+
+    if (lookupNeeded.get()) {
+      lookupCollectionId(identifier);
+    }
+  }
+
+  /**
+   * Fetches the ID of a single collection and releases all requests parked on it once done.
+   *
+   * <p>If the ID has been found, the parked requests are dispatched again right away. Otherwise they go through
+   * the regular retry handling and will trigger a new lookup once they come back.</p>
+   *
+   * @param identifier the collection to look up.
+   */
+  private void lookupCollectionId(final CollectionIdentifier identifier) {
+    long start = System.nanoTime();
+    GetCollectionIdRequest request = new GetCollectionIdRequest(
+      core.context().environment().timeoutConfig().kvTimeout(),
+      core.context(),
+      BestEffortRetryStrategy.INSTANCE,
+      identifier
+    );
+    core.send(request);
+    request.response().whenComplete((response, throwable) -> {
+      boolean found = false;
+      try {
+        found = handleCollectionIdResponse(identifier, response, throwable, Duration.ofNanos(System.nanoTime() - start));
+      } finally {
+        List<KeyValueRequest<?>> parked = parkedOnCollectionId.remove(identifier);
+        if (parked != null) {
+          for (KeyValueRequest<?> r : parked) {
+            if (found) {
+              if (!r.completed()) {
+                core.send(r, false);
+              }
+            } else {
+              RetryOrchestrator.maybeRetry(core.context(), r, RetryReason.COLLECTION_NOT_FOUND);
+            }
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Stores the collection ID from the lookup response if present, or reports why it is not.
+   *
+   * @return true if the collection ID has been stored.
+   */
+  private boolean handleCollectionIdResponse(final CollectionIdentifier identifier,
+                                             final GetCollectionIdResponse response, final Throwable throwable,
+                                             final Duration duration) {
+    if (throwable != null) {
+      eventBus.publish(new CollectionMapRefreshFailedEvent(
+        duration,
+        core.context(),
+        throwable,
+        CollectionMapRefreshFailedEvent.Reason.FAILED
+      ));
+      return false;
+    }
+
+    if (response.status().success() && response.collectionId().isPresent()) {
+      collectionMap.put(identifier, UnsignedLEB128.encode(response.collectionId().get()));
+      return true;
+    }
+
+    if (response.status() == ResponseStatus.UNKNOWN) {
+      eventBus.publish(new CollectionMapRefreshFailedEvent(
+        duration,
+        core.context(),
+        null,
+        CollectionMapRefreshFailedEvent.Reason.NOT_SUPPORTED
+      ));
+    } else if (response.status() != ResponseStatus.UNKNOWN_COLLECTION) {
+      eventBus.publish(new CollectionMapRefreshFailedEvent(
+        duration,
+        core.context(),
+        new CouchbaseException(response.toString()),
+        CollectionMapRefreshFailedEvent.Reason.UNKNOWN
+      ));
+    }
+    return false;
+  }
+
+  @Override
+  public void registerConfigPush(final String bucket) {
+    keyValueRefresher.registerConfigPush(bucket);
+  }
+
+  @Override
+  public void deregisterConfigPush(final String bucket) {
+    keyValueRefresher.deregisterConfigPush(bucket);
+  }
+
   /**
    * Parses a raw collections manifest and stores it in the collections map.
    *
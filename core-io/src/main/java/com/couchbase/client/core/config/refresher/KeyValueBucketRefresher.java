@@ -56,6 +56,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * <p>Once a config is retrieved it is sent to the config manager which then decides if it is going to apply
  * or discard the config.</p>
  *
+ * <p>If the server pushes cluster map changes for a bucket over at least one connection, polling is only kept
+ * as a safety net: it happens at a much longer interval and ignores the tainted state, since every change
+ * during a rebalance is pushed anyways.</p>
+ *
  * @since 1.0.0
  */
 @Stability.Internal
@@ -75,6 +79,11 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   static final int MAX_PARALLEL_FETCH = 3;
 
+  /**
+   * The factor by which the config poll interval is stretched while configs for a bucket are pushed.
+   */
+  static final int PUSH_POLL_INTERVAL_FACTOR = 10;
+
   /**
    * Holds the core as a reference.
    */
@@ -108,6 +117,11 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private final Set<String> tainted = ConcurrentHashMap.newKeySet();
 
+  /**
+   * Holds the number of connections per bucket over which the server pushes config changes.
+   */
+  private final Map<String, Integer> configPushes = new ConcurrentHashMap<>();
+
   /**
    * Holds the allowable config poll interval in nanoseconds.
    */
@@ -180,8 +194,10 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private Mono<ProposedBucketConfigContext> maybeUpdateBucket(final String name) {
     Long last = registrations.get(name);
-    boolean overInterval = last != null && (System.nanoTime() - last) >= configPollIntervalNanos;
-    boolean allowed = tainted.contains(name) || overInterval;
+    boolean pushed = configPushes.containsKey(name);
+    long interval = pushed ? configPollIntervalNanos * PUSH_POLL_INTERVAL_FACTOR : configPollIntervalNanos;
+    boolean overInterval = last != null && (System.nanoTime() - last) >= interval;
+    boolean allowed = (tainted.contains(name) && !pushed) || overInterval;
 
     return allowed
       ? fetchConfigPerNode(name, filterEligibleNodes(name))
@@ -315,6 +331,24 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     tainted.remove(name);
   }
 
+  /**
+   * Registers a connection over which the server pushes config changes for the given bucket.
+   *
+   * @param name the name of the bucket.
+   */
+  public void registerConfigPush(final String name) {
+    configPushes.merge(name, 1, Integer::sum);
+  }
+
+  /**
+   * Deregisters a connection previously registered through {@link #registerConfigPush(String)}.
+   *
+   * @param name the name of the bucket.
+   */
+  public void deregisterConfigPush(final String name) {
+    configPushes.computeIfPresent(name, (k, v) -> v > 1 ? v - 1 : null);
+  }
+
   @Override
   public Mono<Void> shutdown() {
     return Mono.defer(() -> {
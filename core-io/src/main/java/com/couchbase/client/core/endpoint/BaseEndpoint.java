@@ -19,6 +19,8 @@ package com.couchbase.client.core.endpoint;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.Counter;
 import com.couchbase.client.core.cnc.Event;
+import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.metrics.ResponseMetrics;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionAbortedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionFailedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectedEvent;
@@ -38,6 +40,7 @@ import com.couchbase.client.core.error.BucketNotFoundException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.io.netty.PipelineErrorHandler;
 import com.couchbase.client.core.io.netty.SslHandlerFactory;
+import com.couchbase.client.core.io.netty.SslHandshakeTimingHandler;
 import com.couchbase.client.core.io.netty.TrafficCaptureHandler;
 import com.couchbase.client.core.io.netty.kv.ChannelAttributes;
 import com.couchbase.client.core.io.netty.kv.ConnectTimings;
@@ -155,6 +158,11 @@ public abstract class BaseEndpoint implements Endpoint {
 
   private final Map<Class<?>, Counter> requestCounters = new ConcurrentHashMap<>();
 
+  /**
+   * Holds the response latency recorders for the requests dispatched through this endpoint.
+   */
+  private final ResponseMetrics responseMetrics;
+
   /**
    * Once connected, contains the channel to work with.
    */
@@ -165,6 +173,11 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   private volatile long lastResponseTimestamp;
 
+  /**
+   * Holds the exponentially weighted moving average of the dispatch latencies, in nanoseconds.
+   */
+  private volatile long recentLatency;
+
   /**
    * Holds the timestamp this endpoint was last successfully connected.
    */
@@ -207,6 +220,12 @@ public abstract class BaseEndpoint implements Endpoint {
     this.lastResponseTimestamp = 0;
     this.eventLoopGroup = eventLoopGroup;
     this.serviceType = serviceType;
+    ResponseMetrics shared = serviceContext.core() != null
+      ? serviceContext.core().responseMetrics(serviceType, hostname)
+      : null;
+    this.responseMetrics = shared != null
+      ? shared
+      : new ResponseMetrics(serviceContext.environment().meter(), serviceType, hostname);
   }
 
   @Override
@@ -307,6 +326,7 @@ public abstract class BaseEndpoint implements Endpoint {
               SecurityConfig config = env.securityConfig();
               if (config.tlsEnabled()) {
                 try {
+                  pipeline.addFirst(new SslHandshakeTimingHandler());
                   pipeline.addFirst(SslHandlerFactory.get(ch.alloc(), config, endpointContext));
                 } catch (Exception e) {
                   throw new SecurityException("Could not instantiate SSL Handler", e);
@@ -464,6 +484,7 @@ public abstract class BaseEndpoint implements Endpoint {
   @Stability.Internal
   public void notifyChannelInactive() {
     outstandingRequests.set(0);
+    recentLatency = 0;
     if (disconnect.get()) {
       // We don't need to do anything if we've been already instructed to disconnect.
       return;
@@ -527,6 +548,7 @@ public abstract class BaseEndpoint implements Endpoint {
       request.context()
         .lastDispatchedFrom(ctx.localSocket().orElse(null))
         .lastDispatchedTo(ctx.remoteSocket())
+        .lastDispatchedToMetrics(responseMetrics)
         .lastChannelId(ctx.channelId().orElse(null));
 
       if (!pipelined) {
@@ -550,7 +572,10 @@ public abstract class BaseEndpoint implements Endpoint {
           if (!f.isSuccess()) {
             EndpointContext context = endpointContext.get();
             Event.Severity severity = disconnect.get() ? Event.Severity.DEBUG : Event.Severity.WARN;
-            context.environment().eventBus().publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
+            EventBus eventBus = context.environment().eventBus();
+            if (eventBus.accepts(severity, Event.Category.ENDPOINT.path())) {
+              eventBus.publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
+            }
             RetryOrchestrator.maybeRetry(context, request, RetryReason.ENDPOINT_NOT_WRITABLE);
           }
         });
@@ -563,13 +588,16 @@ public abstract class BaseEndpoint implements Endpoint {
   }
 
   private <R extends Request<? extends Response>> void incrementRequestCounter(final R request) {
-    final Counter counter = requestCounters.computeIfAbsent(request.getClass(), key -> {
-      Map<String, String> tags = new HashMap<>(4);
-      tags.put("cb.service", serviceType.ident());
-      tags.put("cb.remote_hostname", hostname);
-      tags.put("cb.request_type", request.name());
-      return context().environment().meter().counter("cb.requests", tags);
-    });
+    Counter counter = requestCounters.get(request.getClass());
+    if (counter == null) {
+      counter = requestCounters.computeIfAbsent(request.getClass(), key -> {
+        Map<String, String> tags = new HashMap<>(4);
+        tags.put("cb.service", serviceType.ident());
+        tags.put("cb.remote_hostname", hostname);
+        tags.put("cb.request_type", request.name());
+        return context().environment().meter().counter("cb.requests", tags);
+      });
+    }
     counter.incrementBy(1);
   }
 
@@ -588,6 +616,31 @@ public abstract class BaseEndpoint implements Endpoint {
     return lastResponseTimestamp;
   }
 
+  @Override
+  public boolean channelWritable() {
+    Channel channel = this.channel;
+    return channel != null && channel.isActive() && channel.isWritable();
+  }
+
+  @Override
+  public long recentLatency() {
+    return recentLatency;
+  }
+
+  /**
+   * Called from the event loop handlers with the dispatch latency of every response received.
+   *
+   * <p>Every sample moves the average by an eighth of its distance, so a socket which turns slow shows up
+   * after a handful of responses. Only the event loop of the channel writes the value.</p>
+   *
+   * @param latency the dispatch latency of the response, in nanoseconds.
+   */
+  @Stability.Internal
+  public void recordDispatchLatency(final long latency) {
+    long current = recentLatency;
+    recentLatency = current == 0 ? latency : current + ((latency - current) >> 3);
+  }
+
   /**
    * Called from the event loop handlers to mark a request as being completed.
    *
@@ -81,6 +81,21 @@ public interface Endpoint extends Stateful<EndpointState> {
    */
   long lastResponseReceived();
 
+  /**
+   * If the underlying channel currently accepts writes without buffering them in the outbound queue.
+   *
+   * @return true if the channel is active and writable, false otherwise.
+   */
+  boolean channelWritable();
+
+  /**
+   * Returns the moving average of the recent dispatch latencies of this endpoint (or 0 if no response has been
+   * received yet).
+   *
+   * @return the recent dispatch latency, in nanoseconds.
+   */
+  long recentLatency();
+
   /**
    * Returns the timestamp when the endpoint was last connected successfully (nanoseconds).
    *
@@ -21,6 +21,7 @@ import com.couchbase.client.core.deps.io.netty.handler.flush.FlushConsolidationH
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.io.netty.kv.ErrorMapLoadingHandler;
 import com.couchbase.client.core.io.netty.kv.FeatureNegotiatingHandler;
+import com.couchbase.client.core.io.netty.kv.KeyValueBootstrapCache;
 import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolDecodeHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolVerificationHandler;
@@ -38,6 +39,7 @@ public class KeyValueEndpoint extends BaseEndpoint {
 
   private final Optional<String> bucketname;
   private final Authenticator authenticator;
+  private final KeyValueBootstrapCache bootstrapCache;
 
   private static final int FLUSH_CONSOLIDATION_LIMIT = Integer.parseInt(System.getProperty(
     "com.couchbase.experimental.flushConsolidationLimit",
@@ -46,15 +48,22 @@ public class KeyValueEndpoint extends BaseEndpoint {
 
   public KeyValueEndpoint(final ServiceContext ctx, final String hostname,
                           final int port, final Optional<String> bucketname, final Authenticator authenticator) {
+    this(ctx, hostname, port, bucketname, authenticator, new KeyValueBootstrapCache());
+  }
+
+  public KeyValueEndpoint(final ServiceContext ctx, final String hostname, final int port,
+                          final Optional<String> bucketname, final Authenticator authenticator,
+                          final KeyValueBootstrapCache bootstrapCache) {
     super(hostname, port, ctx.environment().ioEnvironment().kvEventLoopGroup().get(),
       ctx, ctx.environment().ioConfig().kvCircuitBreakerConfig(), ServiceType.KV, true);
     this.authenticator = authenticator;
     this.bucketname = bucketname;
+    this.bootstrapCache = bootstrapCache;
   }
 
   @Override
   protected PipelineInitializer pipelineInitializer() {
-    return new KeyValuePipelineInitializer(context(), bucketname, authenticator);
+    return new KeyValuePipelineInitializer(context(), bucketname, authenticator, bootstrapCache);
   }
 
   public static class KeyValuePipelineInitializer implements PipelineInitializer {
@@ -62,11 +71,18 @@ public class KeyValueEndpoint extends BaseEndpoint {
     private final EndpointContext ctx;
     private final Optional<String> bucketname;
     private final Authenticator authenticator;
+    private final KeyValueBootstrapCache bootstrapCache;
 
     public KeyValuePipelineInitializer(EndpointContext ctx, Optional<String> bucketname, Authenticator authenticator) {
+      this(ctx, bucketname, authenticator, new KeyValueBootstrapCache());
+    }
+
+    public KeyValuePipelineInitializer(EndpointContext ctx, Optional<String> bucketname, Authenticator authenticator,
+                                       KeyValueBootstrapCache bootstrapCache) {
       this.ctx = ctx;
       this.authenticator = authenticator;
       this.bucketname = bucketname;
+      this.bootstrapCache = bootstrapCache;
     }
 
     @Override
@@ -78,8 +94,8 @@ public class KeyValueEndpoint extends BaseEndpoint {
       pipeline.addLast(new MemcacheProtocolDecodeHandler());
       pipeline.addLast(new MemcacheProtocolVerificationHandler(ctx));
 
-      pipeline.addLast(new FeatureNegotiatingHandler(ctx, serverFeatures()));
-      pipeline.addLast(new ErrorMapLoadingHandler(ctx));
+      pipeline.addLast(new FeatureNegotiatingHandler(ctx, serverFeatures(), bootstrapCache));
+      pipeline.addLast(new ErrorMapLoadingHandler(ctx, bootstrapCache));
 
       authenticator.authKeyValueConnection(ctx, pipeline);
 
@@ -132,6 +148,14 @@ public class KeyValueEndpoint extends BaseEndpoint {
         features.add(ServerFeature.CREATE_AS_DELETED);
       }
 
+      boolean configPushEnabled = Boolean.parseBoolean(
+              System.getProperty("com.couchbase.configPushEnabled", "true")
+      );
+      if (configPushEnabled) {
+        features.add(ServerFeature.DUPLEX);
+        features.add(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
+      }
+
       return features;
     }
   }
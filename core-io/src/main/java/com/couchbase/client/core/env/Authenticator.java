@@ -60,6 +60,16 @@ public interface Authenticator {
   @Stability.Internal
   default void applyTlsProperties(final SslContextBuilder sslContextBuilder) { }
 
+  /**
+   * If the properties applied through {@link #applyTlsProperties(SslContextBuilder)} never change, so that a ssl
+   * context built with them can be shared by all connections.
+   *
+   * <p>Authenticators which load their key material on every invocation (i.e. to pick up rotated client
+   * certificates) must return false.</p>
+   */
+  @Stability.Internal
+  default boolean tlsPropertiesCacheable() { return true; }
+
   /**
    * If this authenticator supports encrypted connections.
    */
@@ -41,6 +41,7 @@ public class CertificateAuthenticator implements Authenticator {
   private final String keyPassword;
   private final List<X509Certificate> keyCertChain;
   private final Supplier<KeyManagerFactory> keyManagerFactory;
+  private final boolean tlsPropertiesCacheable;
 
   /**
    * Creates a new {@link CertificateAuthenticator} from a key store path.
@@ -83,7 +84,7 @@ public class CertificateAuthenticator implements Authenticator {
         keyStore,
         keyStorePassword != null ? keyStorePassword.toCharArray() : null
       );
-      return fromKeyManagerFactory(() -> kmf);
+      return new CertificateAuthenticator(null, null, null, () -> kmf, true);
     } catch (Exception ex) {
       throw InvalidArgumentException.fromMessage("Could not initialize KeyManagerFactory with KeyStore", ex);
     }
@@ -97,7 +98,7 @@ public class CertificateAuthenticator implements Authenticator {
    */
   public static CertificateAuthenticator fromKeyManagerFactory(final Supplier<KeyManagerFactory> keyManagerFactory) {
     notNull(keyManagerFactory, "KeyManagerFactory");
-    return new CertificateAuthenticator(null, null, null, keyManagerFactory);
+    return new CertificateAuthenticator(null, null, null, keyManagerFactory, false);
   }
 
   /**
@@ -112,16 +113,18 @@ public class CertificateAuthenticator implements Authenticator {
                                                  final List<X509Certificate> keyCertChain) {
     notNull(key, "PrivateKey");
     notNullOrEmpty(keyCertChain, "KeyCertChain");
-    return new CertificateAuthenticator(key, keyPassword, keyCertChain, null);
+    return new CertificateAuthenticator(key, keyPassword, keyCertChain, null, true);
   }
 
   private CertificateAuthenticator(final PrivateKey key, final String keyPassword,
                                    final List<X509Certificate> keyCertChain,
-                                   final Supplier<KeyManagerFactory> keyManagerFactory) {
+                                   final Supplier<KeyManagerFactory> keyManagerFactory,
+                                   final boolean tlsPropertiesCacheable) {
     this.key = key;
     this.keyPassword = keyPassword;
     this.keyCertChain = keyCertChain;
     this.keyManagerFactory = keyManagerFactory;
+    this.tlsPropertiesCacheable = tlsPropertiesCacheable;
 
     if (key != null && keyManagerFactory != null) {
       throw InvalidArgumentException.fromMessage("Either a key certificate or a key manager factory" +
@@ -138,6 +141,15 @@ public class CertificateAuthenticator implements Authenticator {
     }
   }
 
+  /**
+   * A user supplied {@link KeyManagerFactory} is asked again for every new connection, so that rotated client
+   * certificates are picked up.
+   */
+  @Override
+  public boolean tlsPropertiesCacheable() {
+    return tlsPropertiesCacheable;
+  }
+
   @Override
   public boolean supportsNonTls() {
     return false;
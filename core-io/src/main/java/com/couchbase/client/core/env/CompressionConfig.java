@@ -21,6 +21,8 @@ import com.couchbase.client.core.annotation.Stability;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static com.couchbase.client.core.util.Validators.notNull;
+
 /**
  * Allows configuring and customizing the compression configuration.
  *
@@ -31,6 +33,7 @@ public class CompressionConfig {
   public static final boolean DEFAULT_ENABLED = true;
   public static final int DEFAULT_MIN_SIZE = 32;
   public static final double DEFAULT_MIN_RATIO = 0.83;
+  public static final CompressionEngine DEFAULT_ENGINE = CompressionEngine.POOLED;
 
   /**
    * If compression is enabled or not.
@@ -47,6 +50,11 @@ public class CompressionConfig {
    */
   private final double minRatio;
 
+  /**
+   * The engine which performs the actual compression and decompression.
+   */
+  private final CompressionEngine engine;
+
   /**
    * Creates a {@link CompressionConfig} with default arguments.
    *
@@ -100,6 +108,19 @@ public class CompressionConfig {
     return builder().minRatio(minRatio);
   }
 
+  /**
+   * The engine which performs the compression and decompression.
+   *
+   * <p>The default is {@link CompressionEngine#POOLED}.</p>
+   *
+   * @param engine the compression engine.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder engine(CompressionEngine engine) {
+    return builder().engine(engine);
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -109,6 +130,7 @@ public class CompressionConfig {
     export.put("enabled", enabled);
     export.put("minRatio", minRatio);
     export.put("minSize", minSize);
+    export.put("engine", engine.name());
     return export;
   }
 
@@ -121,6 +143,7 @@ public class CompressionConfig {
     this.enabled = builder.enabled;
     this.minRatio = builder.minRatio;
     this.minSize = builder.minSize;
+    this.engine = builder.engine;
   }
 
   /**
@@ -150,6 +173,16 @@ public class CompressionConfig {
     return enabled;
   }
 
+  /**
+   * Returns the engine which performs the compression and decompression.
+   *
+   * @return the compression engine.
+   */
+  @Stability.Volatile
+  public CompressionEngine engine() {
+    return engine;
+  }
+
   /**
    * This builder allows to customize the {@link CompressionConfig}.
    */
@@ -158,6 +191,7 @@ public class CompressionConfig {
     private boolean enabled = DEFAULT_ENABLED;
     private int minSize = DEFAULT_MIN_SIZE;
     private double minRatio = DEFAULT_MIN_RATIO;
+    private CompressionEngine engine = DEFAULT_ENGINE;
 
     public CompressionConfig build() {
       return new CompressionConfig(this);
@@ -197,6 +231,18 @@ public class CompressionConfig {
       return this;
     }
 
+    /**
+     * The engine which performs the compression and decompression.
+     *
+     * @param engine the compression engine.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder engine(CompressionEngine engine) {
+      this.engine = notNull(engine, "CompressionEngine");
+      return this;
+    }
+
   }
 
 }
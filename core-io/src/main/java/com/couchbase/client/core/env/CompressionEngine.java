@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+
+/**
+ * The engine which performs snappy compression of outgoing documents and decompression of incoming ones.
+ */
+@Stability.Volatile
+public enum CompressionEngine {
+
+  /**
+   * Compresses into a freshly allocated byte array and decompresses from a copy of the response body.
+   *
+   * <p>This is how compression was performed before the engine became configurable.</p>
+   */
+  HEAP {
+    @Override
+    public ByteBuf compress(final ByteBufAllocator alloc, final byte[] input, final double minRatio) {
+      byte[] compressed = Snappy.compress(input);
+      if (((double) compressed.length / input.length) > minRatio) {
+        return null;
+      }
+      return Unpooled.wrappedBuffer(compressed);
+    }
+
+    @Override
+    public byte[] decompress(final ByteBuf input) {
+      byte[] compressed = ByteBufUtil.getBytes(input);
+      return Snappy.uncompress(compressed, 0, compressed.length);
+    }
+  },
+
+  /**
+   * Compresses into a pooled buffer from the channel allocator and decompresses straight out of the
+   * response body.
+   *
+   * <p>Larger documents are sampled first and not compressed at all if their byte distribution indicates
+   * that they are already compressed or encrypted.</p>
+   */
+  POOLED {
+    @Override
+    public ByteBuf compress(final ByteBufAllocator alloc, final byte[] input, final double minRatio) {
+      if (!compressible(input)) {
+        return null;
+      }
+
+      ByteBuf compressed = alloc.heapBuffer(Snappy.maxCompressedLength(input.length));
+      try {
+        int length = Snappy.compress(input, 0, input.length, compressed.array(), compressed.arrayOffset());
+        if (((double) length / input.length) > minRatio) {
+          compressed.release();
+          return null;
+        }
+        return compressed.writerIndex(length);
+      } catch (RuntimeException ex) {
+        compressed.release();
+        throw ex;
+      }
+    }
+
+    @Override
+    public byte[] decompress(final ByteBuf input) {
+      if (input.hasArray()) {
+        return uncompress(input.array(), input.arrayOffset() + input.readerIndex(), input.readableBytes());
+      }
+
+      ByteBuf scratch = PooledByteBufAllocator.DEFAULT.heapBuffer(input.readableBytes());
+      try {
+        scratch.writeBytes(input, input.readerIndex(), input.readableBytes());
+        return uncompress(scratch.array(), scratch.arrayOffset(), scratch.readableBytes());
+      } finally {
+        scratch.release();
+      }
+    }
+  };
+
+  /**
+   * Documents below this size are always compressed, since sampling would not save much work.
+   */
+  static final int SAMPLE_MIN_SIZE = 4096;
+
+  /**
+   * The number of bytes sampled from larger documents.
+   */
+  static final int SAMPLE_SIZE = 1024;
+
+  /**
+   * The number of contiguous bytes taken from each sampled position.
+   */
+  static final int SAMPLE_CHUNK_SIZE = 64;
+
+  /**
+   * If the sampled bytes have a higher entropy (in bits per byte) than this, compression is skipped.
+   */
+  static final double MAX_ENTROPY = 7.0;
+
+  /**
+   * Compresses the input.
+   *
+   * @param alloc the allocator to use for the compressed output.
+   * @param input the uncompressed input.
+   * @param minRatio the maximum ratio of compressed to uncompressed size which is still worth sending.
+   * @return the compressed buffer which must be released by the caller, or null if not worth compressing.
+   */
+  public abstract ByteBuf compress(ByteBufAllocator alloc, byte[] input, double minRatio);
+
+  /**
+   * Decompresses the readable bytes of the input, without modifying its reader index.
+   *
+   * @param input the snappy compressed input.
+   * @return the uncompressed bytes.
+   */
+  public abstract byte[] decompress(ByteBuf input);
+
+  private static byte[] uncompress(final byte[] input, final int offset, final int length) {
+    byte[] output = new byte[Snappy.getUncompressedLength(input, offset)];
+    Snappy.uncompress(input, offset, length, output, 0);
+    return output;
+  }
+
+  /**
+   * Estimates the entropy of a sample of the input to decide if it is worth compressing at all.
+   *
+   * @param input the uncompressed input.
+   * @return true if the input should be compressed.
+   */
+  static boolean compressible(final byte[] input) {
+    if (input.length < SAMPLE_MIN_SIZE) {
+      return true;
+    }
+
+    int[] histogram = new int[256];
+    int chunks = SAMPLE_SIZE / SAMPLE_CHUNK_SIZE;
+    int stride = (input.length - SAMPLE_CHUNK_SIZE) / (chunks - 1);
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      int start = chunk * stride;
+      for (int i = start; i < start + SAMPLE_CHUNK_SIZE; i++) {
+        histogram[input[i] & 0xFF]++;
+      }
+    }
+
+    double entropy = 0;
+    for (int count : histogram) {
+      if (count > 0) {
+        double p = (double) count / SAMPLE_SIZE;
+        entropy -= p * Math.log(p);
+      }
+    }
+    return entropy / Math.log(2) <= MAX_ENTROPY;
+  }
+
+}
@@ -140,8 +140,6 @@ public class CoreEnvironment {
     this.eventBus = Optional
       .ofNullable(builder.eventBus)
       .orElse(new OwnedSupplier<>(DefaultEventBus.create(scheduler.get())));
-    this.timer = Timer.createAndStart(maxNumRequestsInRetry);
-
 
     this.securityConfig = builder.securityConfig.build();
 
@@ -178,6 +176,8 @@ public class CoreEnvironment {
       meter.get().start().block();
     }
 
+    this.timer = Timer.createAndStart(maxNumRequestsInRetry, meter.get());
+
     orphanReporter = new OrphanReporter(eventBus.get(), orphanReporterConfig);
     orphanReporter.start().block();
 
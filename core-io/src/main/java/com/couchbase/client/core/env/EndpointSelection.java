@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+
+/**
+ * Determines how a service picks one of its endpoints (sockets) to dispatch a request to.
+ *
+ * @since 2.1.2
+ */
+@Stability.Volatile
+public enum EndpointSelection {
+
+  /**
+   * The default of the service: key-value requests are pinned to an endpoint by their partition and retried if
+   * it is not writable, all other services cycle through their endpoints in round-robin order.
+   */
+  DEFAULT,
+
+  /**
+   * Picks two random endpoints and selects the one with fewer outstanding requests and lower recent latency.
+   *
+   * <p>This is not supported for the key-value service: its requests must stay pinned to the endpoint of their
+   * partition, otherwise consecutive operations on the same document could be reordered.</p>
+   */
+  POWER_OF_TWO_CHOICES
+
+}
@@ -19,12 +19,14 @@ package com.couchbase.client.core.env;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.endpoint.CircuitBreaker;
 import com.couchbase.client.core.endpoint.CircuitBreakerConfig;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.service.AbstractPooledEndpointServiceConfig;
 import com.couchbase.client.core.service.ServiceType;
 
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -43,6 +45,9 @@ public class IoConfig {
   public static final int DEFAULT_MAX_HTTP_CONNECTIONS = AbstractPooledEndpointServiceConfig.DEFAULT_MAX_ENDPOINTS;
   public static final Duration DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT = AbstractPooledEndpointServiceConfig.DEFAULT_IDLE_TIME;
   public static final Duration DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT = Duration.ofMinutes(5);
+  public static final int DEFAULT_QUERY_CACHE_SIZE = 5000;
+  public static final EndpointSelection DEFAULT_ENDPOINT_SELECTION = EndpointSelection.DEFAULT;
+  public static final boolean DEFAULT_ADAPTIVE_CONCURRENCY_LIMIT_ENABLED = false;
 
   private final boolean mutationTokensEnabled;
   private final Duration configPollInterval;
@@ -61,6 +66,9 @@ public class IoConfig {
   private final int maxHttpConnections;
   private final Duration idleHttpConnectionTimeout;
   private final Duration configIdleRedialTimeout;
+  private final int queryCacheSize;
+  private final Map<ServiceType, EndpointSelection> endpointSelection;
+  private final boolean adaptiveConcurrencyLimitEnabled;
 
   private IoConfig(Builder builder) {
     mutationTokensEnabled = builder.mutationTokensEnabled;
@@ -84,6 +92,11 @@ public class IoConfig {
     maxHttpConnections = builder.maxHttpConnections;
     idleHttpConnectionTimeout = builder.idleHttpConnectionTimeout;
     configIdleRedialTimeout = builder.configIdleRedialTimeout;
+    queryCacheSize = builder.queryCacheSize;
+    endpointSelection = builder.endpointSelection.isEmpty()
+      ? Collections.emptyMap()
+      : Collections.unmodifiableMap(new EnumMap<>(builder.endpointSelection));
+    adaptiveConcurrencyLimitEnabled = builder.adaptiveConcurrencyLimitEnabled;
   }
 
   public static IoConfig create() {
@@ -173,6 +186,18 @@ public class IoConfig {
     return builder().configIdleRedialTimeout(configIdleRedialTimeout);
   }
 
+  public static Builder queryCacheSize(int queryCacheSize) {
+    return builder().queryCacheSize(queryCacheSize);
+  }
+
+  public static Builder endpointSelection(ServiceType serviceType, EndpointSelection endpointSelection) {
+    return builder().endpointSelection(serviceType, endpointSelection);
+  }
+
+  public static Builder enableAdaptiveConcurrencyLimit(boolean adaptiveConcurrencyLimitEnabled) {
+    return builder().enableAdaptiveConcurrencyLimit(adaptiveConcurrencyLimitEnabled);
+  }
+
   public CircuitBreakerConfig kvCircuitBreakerConfig() {
     return kvCircuitBreakerConfig;
   }
@@ -246,6 +271,30 @@ public class IoConfig {
     return configIdleRedialTimeout;
   }
 
+  /**
+   * Returns the maximum number of prepared query statements kept in the query cache.
+   */
+  public int queryCacheSize() {
+    return queryCacheSize;
+  }
+
+  /**
+   * Returns how the given service picks the endpoint to dispatch a request to.
+   *
+   * @param serviceType the service to check.
+   * @return the configured endpoint selection, {@link EndpointSelection#DEFAULT} if not customized.
+   */
+  public EndpointSelection endpointSelection(final ServiceType serviceType) {
+    return endpointSelection.getOrDefault(serviceType, DEFAULT_ENDPOINT_SELECTION);
+  }
+
+  /**
+   * Returns true if the in-flight requests per node and service are limited adaptively.
+   */
+  public boolean adaptiveConcurrencyLimitEnabled() {
+    return adaptiveConcurrencyLimitEnabled;
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -269,6 +318,11 @@ public class IoConfig {
     export.put("maxHttpConnections", maxHttpConnections);
     export.put("idleHttpConnectionTimeoutMs", idleHttpConnectionTimeout.toMillis());
     export.put("configIdleRedialTimeoutMs", configIdleRedialTimeout.toMillis());
+    export.put("queryCacheSize", queryCacheSize);
+    export.put("adaptiveConcurrencyLimitEnabled", adaptiveConcurrencyLimitEnabled);
+    if (!endpointSelection.isEmpty()) {
+      export.put("endpointSelection", endpointSelection);
+    }
     return export;
   }
 
@@ -291,6 +345,9 @@ public class IoConfig {
     private int maxHttpConnections = DEFAULT_MAX_HTTP_CONNECTIONS;
     private Duration idleHttpConnectionTimeout = DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT;
     private Duration configIdleRedialTimeout = DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT;
+    private int queryCacheSize = DEFAULT_QUERY_CACHE_SIZE;
+    private final Map<ServiceType, EndpointSelection> endpointSelection = new EnumMap<>(ServiceType.class);
+    private boolean adaptiveConcurrencyLimitEnabled = DEFAULT_ADAPTIVE_CONCURRENCY_LIMIT_ENABLED;
 
     public IoConfig build() {
       return new IoConfig(this);
@@ -462,5 +519,58 @@ public class IoConfig {
       this.configIdleRedialTimeout = configIdleRedialTimeout;
       return this;
     }
+
+    /**
+     * Allows to customize the maximum number of prepared query statements kept in the query cache.
+     *
+     * <p>Once the cache is full, the least recently used statements are evicted and need to be prepared again
+     * when used the next time.</p>
+     *
+     * @param queryCacheSize the maximum number of cached statements.
+     * @return this builder for chaining purposes.
+     */
+    public Builder queryCacheSize(final int queryCacheSize) {
+      if (queryCacheSize <= 0) {
+        throw InvalidArgumentException.fromMessage("Query cache size must be greater than 0");
+      }
+      this.queryCacheSize = queryCacheSize;
+      return this;
+    }
+
+    /**
+     * Allows to customize how a service picks the endpoint (socket) to dispatch a request to.
+     *
+     * <p>With {@link EndpointSelection#POWER_OF_TWO_CHOICES} two random endpoints are compared by their
+     * outstanding requests and recent latency, so a single slow socket receives less of the traffic instead of
+     * its fair share. It is not supported for {@link ServiceType#KV}, since key-value requests are pinned to the
+     * endpoint of their partition to keep operations on the same document in order.</p>
+     *
+     * @param serviceType the service to customize.
+     * @param endpointSelection the endpoint selection to use for this service.
+     * @return this builder for chaining purposes.
+     */
+    public Builder endpointSelection(final ServiceType serviceType, final EndpointSelection endpointSelection) {
+      if (serviceType == ServiceType.KV && endpointSelection == EndpointSelection.POWER_OF_TWO_CHOICES) {
+        throw InvalidArgumentException.fromMessage("The KV service does not support " + endpointSelection);
+      }
+      this.endpointSelection.put(serviceType, endpointSelection);
+      return this;
+    }
+
+    /**
+     * Allows to enable an adaptive limit of the requests in-flight towards each service of a node.
+     *
+     * <p>The limit grows while the dispatch latencies of a node stay stable and backs off once they rise. Requests
+     * over the limit are queued until earlier ones complete, and once the queue is as long as the limit new
+     * requests fail fast with a {@link com.couchbase.client.core.error.RequestCanceledException} instead of
+     * piling up in retry. This is disabled by default.</p>
+     *
+     * @param adaptiveConcurrencyLimitEnabled true if the concurrency should be limited.
+     * @return this builder for chaining purposes.
+     */
+    public Builder enableAdaptiveConcurrencyLimit(final boolean adaptiveConcurrencyLimitEnabled) {
+      this.adaptiveConcurrencyLimitEnabled = adaptiveConcurrencyLimitEnabled;
+      return this;
+    }
   }
 }
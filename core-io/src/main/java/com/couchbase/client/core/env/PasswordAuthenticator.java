@@ -21,6 +21,7 @@ import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpRequest;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.io.netty.kv.SaslAuthenticationHandler;
 import com.couchbase.client.core.io.netty.kv.SaslListMechanismsHandler;
+import com.couchbase.client.core.io.netty.kv.sasl.ScramKeyCache;
 import com.couchbase.client.core.service.ServiceType;
 
 import java.util.Base64;
@@ -43,6 +44,11 @@ public class PasswordAuthenticator implements Authenticator {
   private final Supplier<String> username;
   private final Supplier<String> password;
   private final Set<SaslMechanism> allowedSaslMechanisms;
+
+  /**
+   * Shared by all KV connections, so only the first one derives the SCRAM keys from the password.
+   */
+  private final ScramKeyCache scramKeyCache = new ScramKeyCache();
   private final String cachedHttpAuthHeader;
 
   /**
@@ -110,7 +116,8 @@ public class PasswordAuthenticator implements Authenticator {
       ctx,
       username.get(),
       password.get(),
-      tls ? EnumSet.of(SaslMechanism.PLAIN) : allowedSaslMechanisms
+      tls ? EnumSet.of(SaslMechanism.PLAIN) : allowedSaslMechanisms,
+      scramKeyCache
     ));
   }
 
@@ -210,7 +210,9 @@ public abstract class NonChunkedHttpMessageHandler extends ChannelDuplexHandler
     try {
       if (msg instanceof FullHttpResponse) {
         try {
-          currentRequest.context().dispatchLatency(System.nanoTime() - dispatchTimingStart);
+          long dispatchLatency = System.nanoTime() - dispatchTimingStart;
+          currentRequest.context().dispatchLatency(dispatchLatency);
+          endpoint.recordDispatchLatency(dispatchLatency);
           if (currentDispatchSpan != null) {
             currentDispatchSpan.end();
           }
@@ -17,9 +17,11 @@
 package com.couchbase.client.core.io.netty;
 
 import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.SecurityConfig;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.OpenSsl;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslContext;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslContextBuilder;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslProvider;
@@ -27,10 +29,21 @@ import com.couchbase.client.core.deps.io.netty.handler.ssl.SslProvider;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
 import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * This factory creates {@link SslHandler} based on a given configuration.
  *
+ * <p>Building a {@link SslContext} parses all the trust and key material, so it is only done once per
+ * {@link SecurityConfig} and {@link Authenticator} and then shared by all endpoints. Since the client session
+ * cache lives inside the context, sharing it also allows reconnects to the same host and port to resume the
+ * previous TLS session instead of performing a full handshake. Authenticators which do not consider their TLS
+ * properties cacheable (i.e. a client certificate from a user supplied key manager factory) get a new context
+ * for every connection instead.</p>
+ *
  * @since 2.0.0
  */
 public class SslHandlerFactory {
@@ -40,21 +53,25 @@ public class SslHandlerFactory {
    */
   private static final boolean OPENSSL_AVAILABLE = OpenSsl.isAvailable();
 
-  public static SslHandler get(final ByteBufAllocator allocator, final SecurityConfig config,
-                               final EndpointContext endpointContext) throws Exception {
-    SslProvider provider =  OPENSSL_AVAILABLE && config.nativeTlsEnabled() ? SslProvider.OPENSSL : SslProvider.JDK;
-
-    SslContextBuilder context = SslContextBuilder.forClient().sslProvider(provider);
+  /**
+   * The maximum number of TLS sessions kept around for resumption per context.
+   */
+  static final long SESSION_CACHE_SIZE = 1024;
 
-    if (config.trustManagerFactory() != null) {
-      context.trustManager(config.trustManagerFactory());
-    } else if (config.trustCertificates() != null && !config.trustCertificates().isEmpty()) {
-      context.trustManager(config.trustCertificates().toArray(new X509Certificate[0]));
-    }
+  /**
+   * The time in seconds after which a cached TLS session cannot be resumed anymore.
+   */
+  static final long SESSION_TIMEOUT_SECONDS = 300;
 
-    endpointContext.authenticator().applyTlsProperties(context);
+  /**
+   * Holds the built contexts, weakly keyed by the security config and authenticator they have been built from.
+   */
+  private static final Map<SecurityConfig, Map<Authenticator, CompletableFuture<SslContext>>> CONTEXTS =
+    new WeakHashMap<>();
 
-    final SslHandler sslHandler = context.build().newHandler(
+  public static SslHandler get(final ByteBufAllocator allocator, final SecurityConfig config,
+                               final EndpointContext endpointContext) throws Exception {
+    final SslHandler sslHandler = context(config, endpointContext.authenticator()).newHandler(
       allocator,
       endpointContext.remoteSocket().hostname(),
       endpointContext.remoteSocket().port()
@@ -72,4 +89,76 @@ public class SslHandlerFactory {
     return sslHandler;
   }
 
+  /**
+   * Returns the shared {@link SslContext} for the given config and authenticator, building it on first use.
+   *
+   * <p>The global lock is only held to look up or register the future of a context, the context itself is built
+   * outside of it so that building it for one config does not block connects using another one.</p>
+   *
+   * @param config the security config to build the context from.
+   * @param authenticator the authenticator which can apply its own properties (i.e. a client certificate).
+   * @return the shared context.
+   * @throws Exception if the context could not be built.
+   */
+  static SslContext context(final SecurityConfig config, final Authenticator authenticator) throws Exception {
+    if (!authenticator.tlsPropertiesCacheable()) {
+      return buildContext(config, authenticator);
+    }
+
+    CompletableFuture<SslContext> future;
+    boolean build = false;
+    synchronized (CONTEXTS) {
+      Map<Authenticator, CompletableFuture<SslContext>> contexts =
+        CONTEXTS.computeIfAbsent(config, c -> new WeakHashMap<>());
+      future = contexts.get(authenticator);
+      if (future == null) {
+        future = new CompletableFuture<>();
+        contexts.put(authenticator, future);
+        build = true;
+      }
+    }
+
+    if (build) {
+      try {
+        future.complete(buildContext(config, authenticator));
+      } catch (Exception ex) {
+        synchronized (CONTEXTS) {
+          Map<Authenticator, CompletableFuture<SslContext>> contexts = CONTEXTS.get(config);
+          if (contexts != null) {
+            contexts.remove(authenticator, future);
+          }
+        }
+        future.completeExceptionally(ex);
+        throw ex;
+      }
+    }
+
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      throw cause instanceof Exception ? (Exception) cause : ex;
+    }
+  }
+
+  private static SslContext buildContext(final SecurityConfig config, final Authenticator authenticator)
+    throws Exception {
+    SslProvider provider =  OPENSSL_AVAILABLE && config.nativeTlsEnabled() ? SslProvider.OPENSSL : SslProvider.JDK;
+
+    SslContextBuilder context = SslContextBuilder
+      .forClient()
+      .sslProvider(provider)
+      .sessionCacheSize(SESSION_CACHE_SIZE)
+      .sessionTimeout(SESSION_TIMEOUT_SECONDS);
+
+    if (config.trustManagerFactory() != null) {
+      context.trustManager(config.trustManagerFactory());
+    } else if (config.trustCertificates() != null && !config.trustCertificates().isEmpty()) {
+      context.trustManager(config.trustCertificates().toArray(new X509Certificate[0]));
+    }
+
+    authenticator.applyTlsProperties(context);
+    return context.build();
+  }
+
 }
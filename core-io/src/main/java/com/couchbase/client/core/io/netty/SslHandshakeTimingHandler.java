@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import com.couchbase.client.core.io.netty.kv.ConnectTimings;
+
+/**
+ * Records the duration of the TLS handshake in the {@link ConnectTimings} of the channel.
+ *
+ * <p>This handler needs to be placed right after the {@link SslHandler}, which starts the handshake once the
+ * channel becomes active. After the handshake completed (successfully or not), the handler removes itself from
+ * the pipeline.</p>
+ *
+ * @since 2.0.0
+ */
+public class SslHandshakeTimingHandler extends ChannelInboundHandlerAdapter {
+
+  @Override
+  public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+    ConnectTimings.start(ctx.channel(), SslHandler.class);
+    super.channelActive(ctx);
+  }
+
+  @Override
+  public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+    if (evt instanceof SslHandshakeCompletionEvent) {
+      ConnectTimings.stop(ctx.channel(), SslHandler.class, false);
+      ctx.pipeline().remove(this);
+    }
+    super.userEventTriggered(ctx, evt);
+  }
+
+}
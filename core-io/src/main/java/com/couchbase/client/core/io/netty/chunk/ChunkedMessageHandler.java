@@ -231,7 +231,11 @@ public abstract class ChunkedMessageHandler
   }
 
   private void handleHttpResponse(final ChannelHandlerContext ctx, final HttpResponse msg) {
-    currentRequest.context().dispatchLatency(System.nanoTime() - dispatchTimingStart);
+    long dispatchLatency = System.nanoTime() - dispatchTimingStart;
+    currentRequest.context().dispatchLatency(dispatchLatency);
+    if (endpoint != null) {
+      endpoint.recordDispatchLatency(dispatchLatency);
+    }
     if (currentDispatchSpan != null) {
       currentDispatchSpan.end();
     }
@@ -34,6 +34,11 @@ import java.util.TreeMap;
  */
 public class ConnectTimings {
 
+  /**
+   * The name under which the wall clock time of all steps is exported, see {@link #total(Channel)}.
+   */
+  public static final String TOTAL = "Total";
+
   private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
 
   private ConnectTimings() {
@@ -84,6 +89,31 @@ public class ConnectTimings {
     stop(channel, clazz, false);
   }
 
+  /**
+   * Returns the wall clock time spent in the bootstrap steps recorded so far.
+   *
+   * <p>Since the bootstrap steps are pipelined, their individual timings overlap. The total is measured from the
+   * start of the first step until the end of the last completed one, so comparing it against the sum of the
+   * individual timings shows how much time the pipelining saved.</p>
+   *
+   * @param channel the channel to compute the total for.
+   * @return the total duration, or empty if no step has completed yet.
+   */
+  public static Optional<Duration> total(final Channel channel) {
+    long start = Long.MAX_VALUE;
+    long end = 0;
+    List<Timing> timings = timings(channel);
+    synchronized (timings) {
+      for (Timing timing : timings) {
+        if (timing.isComplete()) {
+          start = Math.min(start, timing.start);
+          end = Math.max(end, timing.end);
+        }
+      }
+    }
+    return end == 0 ? Optional.empty() : Optional.of(Duration.ofNanos(end - start));
+  }
+
   /**
    * Exports the timings into a string.
    *
@@ -116,6 +146,7 @@ public class ConnectTimings {
         .append(")\n");
     }
 
+    total(channel).ifPresent(total -> sb.append(" = ").append(TOTAL).append(": ~").append(total.toMillis()).append("ms\n"));
     return sb.toString();
   }
 
@@ -128,6 +159,7 @@ public class ConnectTimings {
     for (ConnectTimings.Timing timing : timings(channel)) {
       timings.put(timing.clazz.getSimpleName(), timing.latency());
     }
+    total(channel).ifPresent(total -> timings.put(TOTAL, total));
     return timings;
   }
 
@@ -72,6 +72,11 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
    */
   private final EndpointContext endpointContext;
 
+  /**
+   * Shares the parsed error map with the other channels to the same node.
+   */
+  private final KeyValueBootstrapCache bootstrapCache;
+
   /**
    * Holds the timeout for the full error map loading phase.
    */
@@ -95,7 +100,18 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
    * @param endpointContext the core context used to refer to values like the core id.
    */
   public ErrorMapLoadingHandler(final EndpointContext endpointContext) {
+    this(endpointContext, new KeyValueBootstrapCache());
+  }
+
+  /**
+   * Creates a new {@link ErrorMapLoadingHandler} which only parses the error map if it is not cached already.
+   *
+   * @param endpointContext the core context used to refer to values like the core id.
+   * @param bootstrapCache the cache shared by all channels to the same node.
+   */
+  public ErrorMapLoadingHandler(final EndpointContext endpointContext, final KeyValueBootstrapCache bootstrapCache) {
     this.endpointContext = endpointContext;
+    this.bootstrapCache = bootstrapCache;
     this.timeout = endpointContext.environment().timeoutConfig().connectTimeout();
   }
 
@@ -141,12 +157,14 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
       }
     }, timeout.toNanos(), TimeUnit.NANOSECONDS);
     ConnectTimings.start(ctx.channel(), this.getClass());
-    ctx.writeAndFlush(buildErrorMapRequest(ctx));
+    ctx.write(buildErrorMapRequest(ctx));
 
     // Fire the channel active immediately so the upper handler in the pipeline gets a chance to
     // pipeline its request before the response of this one arrives. This helps speeding up the
-    // bootstrap sequence.
+    // bootstrap sequence. The flush is only issued afterwards, so that all requests written by
+    // the upper handlers go out together with this one in a single write to the socket.
     ctx.fireChannelActive();
+    ctx.flush();
   }
 
   @Override
@@ -190,7 +208,7 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
       byte[] input = new byte[body.get().readableBytes()];
       body.get().readBytes(input);
       try {
-        return Optional.of(ErrorMap.fromJson(input));
+        return Optional.of(bootstrapCache.errorMap(input));
       } catch (IOException e) {
         endpointContext.environment().eventBus().publish(new ErrorMapUndecodableEvent(
           ioContext, e.getMessage(), new String(input, UTF_8)
@@ -78,6 +78,11 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
    */
   private final EndpointContext endpointContext;
 
+  /**
+   * Shares the negotiated features with the other channels to the same node.
+   */
+  private final KeyValueBootstrapCache bootstrapCache;
+
   /**
    * Once connected, holds the io context for more debug information.
    */
@@ -98,9 +103,22 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
    */
   public FeatureNegotiatingHandler(final EndpointContext endpointContext,
                             final Set<ServerFeature> features) {
+    this(endpointContext, features, new KeyValueBootstrapCache());
+  }
+
+  /**
+   * Creates a new {@link FeatureNegotiatingHandler} which shares the negotiated features through the cache.
+   *
+   * @param endpointContext the core context used to refer to values like the core id.
+   * @param features    the list of features that should be negotiated from the client side.
+   * @param bootstrapCache the cache shared by all channels to the same node.
+   */
+  public FeatureNegotiatingHandler(final EndpointContext endpointContext,
+                            final Set<ServerFeature> features, final KeyValueBootstrapCache bootstrapCache) {
     this.endpointContext = endpointContext;
     this.timeout = endpointContext.environment().timeoutConfig().connectTimeout();
     this.features = features;
+    this.bootstrapCache = bootstrapCache;
   }
 
   /**
@@ -159,12 +177,14 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
       }
     }, timeout.toNanos(), TimeUnit.NANOSECONDS);
     ConnectTimings.start(ctx.channel(), this.getClass());
-    ctx.writeAndFlush(buildHelloRequest(ctx));
+    ctx.write(buildHelloRequest(ctx));
 
     // Fire the channel active immediately so the upper handler in the pipeline gets a chance to
     // pipeline its request before the response of this one arrives. This helps speeding up the
-    // bootstrap sequence.
+    // bootstrap sequence. The flush is only issued afterwards, so that all requests written by
+    // the upper handlers go out together with this one in a single write to the socket.
     ctx.fireChannelActive();
+    ctx.flush();
   }
 
   /**
@@ -187,7 +207,7 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
           new FeaturesNegotiationFailedEvent(ioContext, status((ByteBuf) msg))
         );
       }
-      List<ServerFeature> negotiated = extractFeaturesFromBody((ByteBuf) msg);
+      List<ServerFeature> negotiated = bootstrapCache.serverFeatures(extractFeaturesFromBody((ByteBuf) msg));
       ctx.channel().attr(ChannelAttributes.SERVER_FEATURE_KEY).set(negotiated);
       endpointContext.environment().eventBus().publish(
         new FeaturesNegotiatedEvent(ioContext, latency.orElse(Duration.ZERO), negotiated)
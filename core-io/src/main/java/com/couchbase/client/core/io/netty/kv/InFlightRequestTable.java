@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * Tracks the requests written to a KV channel until their response arrives, keyed by their opaque.
+ *
+ * <p>Next to the request itself, every slot holds the dispatch start timestamp and the optional dispatch span,
+ * so that all of them are stored and removed with a single lookup. The table uses open addressing with linear
+ * probing over primitive arrays, and only allocates when it needs to grow.</p>
+ *
+ * <p>This class is not thread safe, it is meant to be only used from the event loop of its channel.</p>
+ */
+@Stability.Internal
+public final class InFlightRequestTable {
+
+  /**
+   * The default number of slots, which needs to be a power of two.
+   */
+  static final int DEFAULT_CAPACITY = 64;
+
+  /**
+   * Multiplier used to spread the (mostly sequential) opaques across the table.
+   */
+  private static final int SPREAD = 0x9E3779B9;
+
+  private int[] opaques;
+  private KeyValueRequest<Response>[] requests;
+  private long[] dispatchStarts;
+  private RequestSpan[] dispatchSpans;
+  private int mask;
+  private int size;
+
+  public InFlightRequestTable() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new table with the given initial capacity.
+   *
+   * @param capacity the initial number of slots, rounded up to the next power of two.
+   */
+  public InFlightRequestTable(final int capacity) {
+    allocate(Integer.highestOneBit(Math.max(2, capacity - 1)) << 1);
+  }
+
+  /**
+   * Stores a written request.
+   *
+   * @param opaque the opaque the request has been written with.
+   * @param request the request itself.
+   * @param dispatchStart the {@link System#nanoTime()} when the request has been written.
+   * @param dispatchSpan the dispatch span, if tracing is enabled for the request.
+   */
+  public void put(final int opaque, final KeyValueRequest<Response> request, final long dispatchStart,
+                  final RequestSpan dispatchSpan) {
+    if (size + 1 > (mask + 1) >> 1) {
+      resize((mask + 1) << 1);
+    }
+
+    int slot = slot(opaque);
+    while (requests[slot] != null && opaques[slot] != opaque) {
+      slot = (slot + 1) & mask;
+    }
+    if (requests[slot] == null) {
+      size++;
+    }
+    opaques[slot] = opaque;
+    requests[slot] = request;
+    dispatchStarts[slot] = dispatchStart;
+    dispatchSpans[slot] = dispatchSpan;
+  }
+
+  /**
+   * Looks up the slot for the given opaque.
+   *
+   * @param opaque the opaque to look up.
+   * @return the slot of the request, or a negative number if no request with this opaque is in-flight.
+   */
+  public int indexOf(final int opaque) {
+    int slot = slot(opaque);
+    while (requests[slot] != null) {
+      if (opaques[slot] == opaque) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the request stored in the given slot.
+   */
+  public KeyValueRequest<Response> request(final int slot) {
+    return requests[slot];
+  }
+
+  /**
+   * Returns the dispatch start timestamp stored in the given slot.
+   */
+  public long dispatchStart(final int slot) {
+    return dispatchStarts[slot];
+  }
+
+  /**
+   * Returns the dispatch span stored in the given slot, null if none has been stored.
+   */
+  public RequestSpan dispatchSpan(final int slot) {
+    return dispatchSpans[slot];
+  }
+
+  /**
+   * Removes the request with the given opaque if present.
+   *
+   * @param opaque the opaque of the request to remove.
+   * @return the removed request, or null if not present.
+   */
+  public KeyValueRequest<Response> remove(final int opaque) {
+    int slot = indexOf(opaque);
+    if (slot < 0) {
+      return null;
+    }
+    KeyValueRequest<Response> request = requests[slot];
+    removeAt(slot);
+    return request;
+  }
+
+  /**
+   * Clears the given slot and shifts back the entries which probed past it, so lookups never need tombstones.
+   *
+   * @param slot the slot to clear, as returned by {@link #indexOf(int)}.
+   */
+  public void removeAt(int slot) {
+    size--;
+    int next = (slot + 1) & mask;
+    while (requests[next] != null) {
+      int ideal = slot(opaques[next]);
+      boolean movable = slot <= next
+        ? (ideal <= slot || ideal > next)
+        : (ideal <= slot && ideal > next);
+      if (movable) {
+        opaques[slot] = opaques[next];
+        requests[slot] = requests[next];
+        dispatchStarts[slot] = dispatchStarts[next];
+        dispatchSpans[slot] = dispatchSpans[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    requests[slot] = null;
+    dispatchSpans[slot] = null;
+  }
+
+  /**
+   * Calls the consumer for every in-flight request.
+   */
+  public void forEachRequest(final Consumer<KeyValueRequest<Response>> consumer) {
+    for (KeyValueRequest<Response> request : requests) {
+      if (request != null) {
+        consumer.accept(request);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of in-flight requests.
+   */
+  public int size() {
+    return size;
+  }
+
+  private int slot(final int opaque) {
+    return (opaque * SPREAD) & mask;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(final int capacity) {
+    opaques = new int[capacity];
+    requests = new KeyValueRequest[capacity];
+    dispatchStarts = new long[capacity];
+    dispatchSpans = new RequestSpan[capacity];
+    mask = capacity - 1;
+  }
+
+  private void resize(final int capacity) {
+    int[] oldOpaques = opaques;
+    KeyValueRequest<Response>[] oldRequests = requests;
+    long[] oldDispatchStarts = dispatchStarts;
+    RequestSpan[] oldDispatchSpans = dispatchSpans;
+
+    allocate(capacity);
+    size = 0;
+    for (int i = 0; i < oldRequests.length; i++) {
+      if (oldRequests[i] != null) {
+        put(oldOpaques[i], oldRequests[i], oldDispatchStarts[i], oldDispatchSpans[i]);
+      }
+    }
+  }
+
+}
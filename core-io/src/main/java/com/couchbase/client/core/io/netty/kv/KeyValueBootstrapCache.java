@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the results of the KV bootstrap steps which are identical for all channels connected to the same node,
+ * so that they are parsed and kept on the heap only once.
+ *
+ * <p>The error map and the negotiated server features are still requested on every channel: the HELLO
+ * negotiation is state on the server side connection, and only the fetched error map tells if the node has been
+ * upgraded (and therefore ships a different version or revision of it) in the meantime. Since both requests are
+ * pipelined with the other bootstrap steps, they do not add a round trip to the connect latency.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public class KeyValueBootstrapCache {
+
+  private volatile CachedErrorMap errorMap;
+  private volatile List<ServerFeature> serverFeatures;
+
+  /**
+   * Returns the error map for the given payload, only parsing it if it differs from the cached one.
+   *
+   * <p>The whole payload is compared, so a changed version or revision always leads to the new map being parsed
+   * and cached for the next channels.</p>
+   *
+   * @param raw the raw JSON error map as returned from the server.
+   * @return the (possibly shared) parsed error map.
+   * @throws IOException if the payload could not be parsed.
+   */
+  public ErrorMap errorMap(final byte[] raw) throws IOException {
+    CachedErrorMap cached = errorMap;
+    if (cached != null && Arrays.equals(cached.raw, raw)) {
+      return cached.errorMap;
+    }
+
+    ErrorMap parsed = ErrorMap.fromJson(raw);
+    errorMap = new CachedErrorMap(raw, parsed);
+    return parsed;
+  }
+
+  /**
+   * Returns the shared instance of the negotiated server features if they are equal to the cached ones.
+   *
+   * @param negotiated the features negotiated on a channel.
+   * @return the (possibly shared) unmodifiable list of negotiated features.
+   */
+  public List<ServerFeature> serverFeatures(final List<ServerFeature> negotiated) {
+    List<ServerFeature> cached = serverFeatures;
+    if (cached != null && cached.equals(negotiated)) {
+      return cached;
+    }
+
+    List<ServerFeature> copy = Collections.unmodifiableList(new ArrayList<>(negotiated));
+    serverFeatures = copy;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    CachedErrorMap cached = errorMap;
+    return "KeyValueBootstrapCache{" +
+      "errorMap=" + (cached == null ? "none" : cached.errorMap.version() + "." + cached.errorMap.revision()) +
+      ", serverFeatures=" + serverFeatures +
+      '}';
+  }
+
+  /**
+   * Holds a parsed error map together with the payload it has been parsed from.
+   */
+  private static final class CachedErrorMap {
+
+    private final byte[] raw;
+    private final ErrorMap errorMap;
+
+    CachedErrorMap(final byte[] raw, final ErrorMap errorMap) {
+      this.raw = raw;
+      this.errorMap = errorMap;
+    }
+  }
+
+}
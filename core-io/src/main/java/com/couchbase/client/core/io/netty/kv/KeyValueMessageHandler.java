@@ -17,6 +17,7 @@
 package com.couchbase.client.core.io.netty.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.Event;
 import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.RequestTracer;
@@ -28,13 +29,12 @@ import com.couchbase.client.core.cnc.events.io.UnknownResponseReceivedEvent;
 import com.couchbase.client.core.cnc.events.io.UnknownResponseStatusReceivedEvent;
 import com.couchbase.client.core.cnc.events.io.UnsupportedResponseTypeReceivedEvent;
 import com.couchbase.client.core.config.ProposedBucketConfigContext;
+import com.couchbase.client.core.config.ProposedGlobalConfigContext;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectHashMap;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectMap;
 import com.couchbase.client.core.endpoint.BaseEndpoint;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.CompressionConfig;
@@ -77,19 +77,9 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
   private final EndpointContext endpointContext;
 
   /**
-   * Holds all outstanding requests based on their opaque.
+   * Holds all outstanding requests with their dispatch timings and spans based on their opaque.
    */
-  private final IntObjectMap<KeyValueRequest<Response>> writtenRequests;
-
-  /**
-   * Holds all outstanding requests based on their opaque.
-   */
-  private final IntObjectMap<RequestSpan> writtenRequestDispatchSpans;
-
-  /**
-   * Holds the start timestamps for the outstanding dispatched requests.
-   */
-  private final IntObjectMap<Long> writtenRequestDispatchTimings;
+  private final InFlightRequestTable writtenRequests;
 
   /**
    * The compression config used for this handler.
@@ -126,6 +116,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private ErrorMap errorMap;
 
+  /**
+   * Set if the server pushes cluster map changes for the bucket over this channel.
+   */
+  private boolean configPushEnabled;
+
   /**
    * Creates a new {@link KeyValueMessageHandler}.
    *
@@ -135,9 +130,7 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
                                 final Optional<String> bucketName) {
     this.endpoint = endpoint;
     this.endpointContext = endpointContext;
-    this.writtenRequests = new IntObjectHashMap<>();
-    this.writtenRequestDispatchTimings = new IntObjectHashMap<>();
-    this.writtenRequestDispatchSpans = new IntObjectHashMap<>();
+    this.writtenRequests = new InFlightRequestTable();
     this.compressionConfig = endpointContext.environment().compressionConfig();
     this.eventBus = endpointContext.environment().eventBus();
     this.bucketName = bucketName;
@@ -177,6 +170,14 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
         "must negotiate Alternate Requests. This is a bug! - please report.");
     }
 
+    configPushEnabled = bucketName.isPresent()
+      && features != null
+      && features.contains(ServerFeature.DUPLEX)
+      && features.contains(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
+    if (configPushEnabled) {
+      ioContext.core().configurationProvider().registerConfigPush(bucketName.get());
+    }
+
     channelContext = new KeyValueChannelContext(
       compression ? compressionConfig : null,
       collections,
@@ -200,27 +201,20 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       KeyValueRequest<Response> request = (KeyValueRequest<Response>) msg;
 
       int opaque = request.opaque();
-      writtenRequests.put(opaque, request);
       try {
         ctx.write(request.encode(ctx.alloc(), opaque, channelContext), promise);
-        writtenRequestDispatchTimings.put(opaque, (Long) System.nanoTime());
+        RequestSpan dispatchSpan = null;
         if (request.requestSpan() != null) {
-          RequestSpan dispatchSpan = endpointContext
+          dispatchSpan = endpointContext
             .environment()
             .requestTracer()
             .requestSpan(TracingIdentifiers.SPAN_DISPATCH, request.requestSpan());
-          writtenRequestDispatchSpans.put(opaque, dispatchSpan);
         }
-
+        writtenRequests.put(opaque, request, System.nanoTime(), dispatchSpan);
       } catch (Throwable err) {
-        writtenRequests.remove(opaque);
         if (err instanceof CollectionNotFoundException) {
           if (channelContext.collectionsEnabled()) {
-            if (ioContext.core().configurationProvider().collectionMapRefreshInProgress()) {
-              RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.COLLECTION_MAP_REFRESH_IN_PROGRESS);
-            } else {
-              handleOutdatedCollection(request, RetryReason.COLLECTION_NOT_FOUND);
-            }
+            ioContext.core().configurationProvider().resolveCollectionId(request);
             return;
           }
         }
@@ -237,6 +231,15 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+    if (msg instanceof ByteBuf && isServerRequest((ByteBuf) msg)) {
+      try {
+        handleServerRequest((ByteBuf) msg);
+      } finally {
+        ReferenceCountUtil.release(msg);
+      }
+      return;
+    }
+
     try {
       if (msg instanceof ByteBuf) {
         decode(ctx, (ByteBuf) msg);
@@ -256,9 +259,13 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelInactive(final ChannelHandlerContext ctx) {
-    for (KeyValueRequest<Response> request : writtenRequests.values()) {
-      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT);
+    if (configPushEnabled) {
+      configPushEnabled = false;
+      ioContext.core().configurationProvider().deregisterConfigPush(bucketName.get());
     }
+    writtenRequests.forEachRequest(request ->
+      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT)
+    );
     ctx.fireChannelInactive();
   }
 
@@ -269,21 +276,25 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    * @param response the response to decode and handle.
    */
   private void decode(final ChannelHandlerContext ctx, final ByteBuf response) {
-    int opaque = MemcacheProtocol.opaque(response);
-    KeyValueRequest<Response> request = writtenRequests.remove(opaque);
-
-    if (request == null) {
+    int slot = writtenRequests.indexOf(MemcacheProtocol.opaque(response));
+    if (slot < 0) {
       handleUnknownResponseReceived(ctx, response);
       return;
     }
 
+    KeyValueRequest<Response> request = writtenRequests.request(slot);
+    long start = writtenRequests.dispatchStart(slot);
+    RequestSpan dispatchSpan = writtenRequests.dispatchSpan(slot);
+    writtenRequests.removeAt(slot);
+
     long serverTime = MemcacheProtocol.parseServerDurationFromResponse(response);
     request.context().serverLatency(serverTime);
+    long dispatchLatency = System.nanoTime() - start;
+    request.context().dispatchLatency(dispatchLatency);
+    if (endpoint != null) {
+      endpoint.recordDispatchLatency(dispatchLatency);
+    }
 
-    long start = writtenRequestDispatchTimings.remove(opaque);
-    request.context().dispatchLatency(System.nanoTime() - start);
-
-    RequestSpan dispatchSpan = writtenRequestDispatchSpans.remove(opaque);
     if (dispatchSpan != null) {
       dispatchSpan.end();
     }
@@ -293,12 +304,14 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     ErrorMap.ErrorCode errorCode = status == ResponseStatus.UNKNOWN ? decodeErrorCode(statusCode) : null;
 
     if (errorCode != null) {
-      ioContext.environment().eventBus().publish(new KeyValueErrorMapCodeHandledEvent(ioContext, errorCode));
+      if (eventBus.accepts(Event.Severity.DEBUG, Event.Category.IO.path())) {
+        eventBus.publish(new KeyValueErrorMapCodeHandledEvent(ioContext, errorCode));
+      }
       status = handleErrorCode(ctx, errorCode);
     }
 
-    if (status == ResponseStatus.UNKNOWN) {
-      ioContext.environment().eventBus().publish(new UnknownResponseStatusReceivedEvent(ioContext, statusCode));
+    if (status == ResponseStatus.UNKNOWN && eventBus.accepts(Event.Severity.INFO, Event.Category.IO.path())) {
+      eventBus.publish(new UnknownResponseStatusReceivedEvent(ioContext, statusCode));
     }
 
     if (status == ResponseStatus.NOT_MY_VBUCKET) {
@@ -323,6 +336,47 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     }
   }
 
+  /**
+   * Checks if the message has been initiated by the server instead of being a response to one of our requests.
+   *
+   * @param message the message to check.
+   * @return true if it is a server request.
+   */
+  private static boolean isServerRequest(final ByteBuf message) {
+    return message.getByte(MemcacheProtocol.MAGIC_OFFSET) == MemcacheProtocol.Magic.SERVER_REQUEST.magic();
+  }
+
+  /**
+   * Handles a request initiated by the server, which is only sent once duplex mode has been negotiated.
+   *
+   * <p>Only cluster map change notifications are understood right now, which carry the bucket name as the key
+   * (or none for the global config) and the new config as the body. They do not expect a response, and other
+   * server requests are ignored.</p>
+   *
+   * @param request the server request to handle.
+   */
+  private void handleServerRequest(final ByteBuf request) {
+    if (request.getByte(MemcacheProtocol.OPCODE_OFFSET)
+      != MemcacheProtocol.ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION.opcode()) {
+      return;
+    }
+
+    final String origin = endpointContext.remoteSocket().hostname();
+    final Optional<String> bucket = MemcacheProtocol.key(request).map(k -> k.toString(UTF_8));
+    body(request)
+      .map(b -> b.toString(UTF_8).trim())
+      .filter(c -> c.startsWith("{"))
+      .ifPresent(c -> {
+        if (bucket.isPresent()) {
+          ioContext.core().configurationProvider().proposeBucketConfig(
+            new ProposedBucketConfigContext(bucket.get(), c, origin)
+          );
+        } else {
+          ioContext.core().configurationProvider().proposeGlobalConfig(new ProposedGlobalConfigContext(c, origin));
+        }
+      });
+  }
+
   /**
    * Tries to decode the response and succeed the request.
    * <p>
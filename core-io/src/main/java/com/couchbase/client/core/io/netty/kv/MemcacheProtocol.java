@@ -19,6 +19,8 @@ package com.couchbase.client.core.io.netty.kv;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.events.io.DurabilityTimeoutCoercedEvent;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.env.CompressionEngine;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.error.context.SubDocumentErrorContext;
@@ -28,6 +30,7 @@ import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.MutationToken;
 import com.couchbase.client.core.msg.kv.SubDocumentOpResponseStatus;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
@@ -106,6 +109,46 @@ public enum MemcacheProtocol {
    */
   public static final byte FRAMING_EXTRAS_TRACING = 0x00;
 
+  /**
+   * The number of bytes the sync replication flexible framing extras take up.
+   */
+  public static final int SYNC_REPLICATION_FRAMING_EXTRAS_SIZE = 4;
+
+  /**
+   * Allocates a single buffer which fits the complete request and writes the request header into it.
+   *
+   * <p>The caller must write the framing extras, extras, key and body right after the header, in this order and
+   * with exactly the sizes provided. If framing extras are present, the flexible request format is used. Compared to
+   * {@link #request} and {@link #flexibleRequest} this avoids allocating (and then copying) an intermediate buffer
+   * for each part of the request.</p>
+   */
+  public static ByteBuf requestHeader(final ByteBufAllocator alloc, final Opcode opcode, final byte datatype,
+                                      final short partition, final int opaque, final long cas,
+                                      final int framingExtrasSize, final int extrasSize, final int keySize,
+                                      final int bodySize) {
+    int totalBodySize = framingExtrasSize + extrasSize + keySize + bodySize;
+    ByteBuf request = alloc.buffer(HEADER_SIZE + totalBodySize);
+    if (framingExtrasSize > 0) {
+      request
+        .writeByte(Magic.FLEXIBLE_REQUEST.magic())
+        .writeByte(opcode.opcode())
+        .writeByte(framingExtrasSize)
+        .writeByte(keySize);
+    } else {
+      request
+        .writeByte(Magic.REQUEST.magic())
+        .writeByte(opcode.opcode())
+        .writeShort(keySize);
+    }
+    return request
+      .writeByte(extrasSize)
+      .writeByte(datatype)
+      .writeShort(partition)
+      .writeInt(totalBodySize)
+      .writeInt(opaque)
+      .writeLong(cas);
+  }
+
   /**
    * Create a flexible memcached protocol request with all fields necessary.
    */
@@ -275,6 +318,30 @@ public enum MemcacheProtocol {
     }
   }
 
+  /**
+   * Returns the key of the message if available.
+   *
+   * @param message the message to extract the key from.
+   * @return an optional either containing the key of the message or none.
+   */
+  public static Optional<ByteBuf> key(final ByteBuf message) {
+    if (message == null) {
+      return Optional.empty();
+    }
+    Magic magic = Magic.of(message.getByte(MAGIC_OFFSET));
+    boolean flexible = magic != null && magic.isFlexible();
+
+    int keyLength = flexible ? message.getUnsignedByte(3) : message.getUnsignedShort(2);
+    int flexibleExtrasLength = flexible ? message.getUnsignedByte(2) : 0;
+    int extrasLength = message.getUnsignedByte(4);
+
+    if (keyLength > 0) {
+      return Optional.of(message.slice(MemcacheProtocol.HEADER_SIZE + flexibleExtrasLength + extrasLength, keyLength));
+    } else {
+      return Optional.empty();
+    }
+  }
+
   public static byte[] bodyAsBytes(final ByteBuf message) {
     if (message == null) {
       return null;
@@ -390,7 +457,9 @@ public enum MemcacheProtocol {
     int bodyPlusHeader = response.getInt(TOTAL_LENGTH_OFFSET) + MemcacheProtocol.HEADER_SIZE;
 
     return
-      (magic == Magic.RESPONSE.magic() || magic == Magic.FLEXIBLE_RESPONSE.magic())
+      (magic == Magic.RESPONSE.magic()
+        || magic == Magic.FLEXIBLE_RESPONSE.magic()
+        || magic == Magic.SERVER_REQUEST.magic())
       && readableBytes == bodyPlusHeader;
   }
 
@@ -476,6 +545,20 @@ public enum MemcacheProtocol {
    */
   public static ByteBuf flexibleSyncReplication(final ByteBufAllocator alloc, final DurabilityLevel type,
                                                 final Duration timeout, final CoreContext ctx) {
+    return writeSyncReplication(alloc.buffer(SYNC_REPLICATION_FRAMING_EXTRAS_SIZE), type, timeout, ctx);
+  }
+
+  /**
+   * Writes the sync replication flexible framing extras into the given buffer.
+   *
+   * @param target the buffer to write the {@link #SYNC_REPLICATION_FRAMING_EXTRAS_SIZE} bytes into.
+   * @param type the type of sync replication.
+   * @param timeout the timeout to use.
+   * @param ctx the core context to use.
+   * @return the target buffer, for chaining purposes.
+   */
+  public static ByteBuf writeSyncReplication(final ByteBuf target, final DurabilityLevel type,
+                                             final Duration timeout, final CoreContext ctx) {
     long userTimeout = timeout.toMillis();
 
     int deadline;
@@ -493,8 +576,7 @@ public enum MemcacheProtocol {
       ctx.environment().eventBus().publish(new DurabilityTimeoutCoercedEvent(ctx, userTimeout, deadline));
     }
 
-    return alloc
-      .buffer(4)
+    return target
       .writeByte(SYNC_REPLICATION_FLEXIBLE_IDENT | (byte) 0x03)
       .writeByte(type.code())
       .writeShort(deadline);
@@ -747,6 +829,31 @@ public enum MemcacheProtocol {
     return input;
   }
 
+  /**
+   * Returns the body of the message as a byte array, decompressed if the datatype has the snappy flag set.
+   *
+   * <p>Compared to {@link #bodyAsBytes(ByteBuf)} followed by {@link #tryDecompression(byte[], byte)} the engine
+   * configured on the channel decompresses straight out of the message, without an intermediate copy of the
+   * compressed body.</p>
+   *
+   * @param message the message to extract the body from.
+   * @param ctx the channel context which holds the compression configuration, may be null.
+   * @return the (decompressed) body, or an empty array if there is none.
+   */
+  public static byte[] decompressedBodyAsBytes(final ByteBuf message, final KeyValueChannelContext ctx) {
+    Optional<ByteBuf> body = body(message);
+    if (!body.isPresent()) {
+      return Bytes.EMPTY_BYTE_ARRAY;
+    }
+    if ((datatype(message) & Datatype.SNAPPY.datatype()) != Datatype.SNAPPY.datatype()) {
+      return ByteBufUtil.getBytes(body.get());
+    }
+
+    CompressionConfig config = ctx == null ? null : ctx.compressionConfig();
+    CompressionEngine engine = config == null ? CompressionConfig.DEFAULT_ENGINE : config.engine();
+    return engine.decompress(body.get());
+  }
+
   /**
    * Helper method during development and debugging to dump the raw message as a
    * verbose string.
@@ -807,7 +914,15 @@ public enum MemcacheProtocol {
     REQUEST((byte) 0x80),
     RESPONSE((byte) 0x81),
     FLEXIBLE_REQUEST((byte) 0x08),
-    FLEXIBLE_RESPONSE((byte) 0x18);
+    FLEXIBLE_RESPONSE((byte) 0x18),
+    /**
+     * A request initiated by the server, only sent if duplex mode has been negotiated.
+     */
+    SERVER_REQUEST((byte) 0x82),
+    /**
+     * The response to a {@link #SERVER_REQUEST}.
+     */
+    SERVER_RESPONSE((byte) 0x83);
 
     private final byte magic;
 
@@ -834,6 +949,10 @@ public enum MemcacheProtocol {
           return Magic.FLEXIBLE_REQUEST;
         case 0x18:
           return Magic.FLEXIBLE_RESPONSE;
+        case (byte) 0x82:
+          return Magic.SERVER_REQUEST;
+        case (byte) 0x83:
+          return Magic.SERVER_RESPONSE;
       }
       return null;
     }
@@ -843,11 +962,36 @@ public enum MemcacheProtocol {
     }
 
     public boolean isRequest() {
-      return this == REQUEST || this == FLEXIBLE_REQUEST;
+      return this == REQUEST || this == FLEXIBLE_REQUEST || this == SERVER_REQUEST;
     }
 
   }
 
+  /**
+   * Contains all known/used opcodes of requests initiated by the server.
+   */
+  public enum ServerOpcode {
+    /**
+     * Pushes a new cluster map, sent if cluster map change notifications have been negotiated.
+     */
+    CLUSTERMAP_CHANGE_NOTIFICATION((byte) 0x01);
+
+    private final byte opcode;
+
+    ServerOpcode(byte opcode) {
+      this.opcode = opcode;
+    }
+
+    /**
+     * Returns the opcode for the given command.
+     *
+     * @return the opcode for the command.
+     */
+    public byte opcode() {
+      return opcode;
+    }
+  }
+
   /**
    * Contains all known/used kv protocol opcodes.
    */
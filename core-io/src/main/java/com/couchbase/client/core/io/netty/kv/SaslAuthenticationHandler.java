@@ -34,6 +34,7 @@ import com.couchbase.client.core.error.AuthenticationFailureException;
 import com.couchbase.client.core.error.context.KeyValueIoErrorContext;
 import com.couchbase.client.core.io.IoContext;
 import com.couchbase.client.core.io.netty.kv.sasl.CouchbaseSaslClientFactory;
+import com.couchbase.client.core.io.netty.kv.sasl.ScramKeyCache;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
 import com.couchbase.client.core.util.Bytes;
@@ -47,6 +48,7 @@ import javax.security.sasl.SaslClient;
 import javax.security.sasl.SaslException;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -101,6 +103,11 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
   private final Set<SaslMechanism> allowedMechanisms;
   private final EndpointContext endpointContext;
 
+  /**
+   * Caches the keys derived from the password across connections, null if not cached.
+   */
+  private final ScramKeyCache scramKeyCache;
+
   /**
    * Once connected, holds the io context for more debug information.
    */
@@ -125,6 +132,18 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
 
   public SaslAuthenticationHandler(final EndpointContext endpointContext, final String username,
                                    final String password, final Set<SaslMechanism> allowedSaslMechanisms) {
+    this(endpointContext, username, password, allowedSaslMechanisms, null);
+  }
+
+  /**
+   * Creates a new handler which reuses the keys derived for SCRAM authentication from the given cache.
+   *
+   * @param scramKeyCache the cache for the derived keys, may be null if they should not be cached.
+   */
+  public SaslAuthenticationHandler(final EndpointContext endpointContext, final String username,
+                                   final String password, final Set<SaslMechanism> allowedSaslMechanisms,
+                                   final ScramKeyCache scramKeyCache) {
+    this.scramKeyCache = scramKeyCache;
     this.endpointContext = endpointContext;
     this.username = username;
     this.password = password;
@@ -206,8 +225,9 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
         selectedMechanism
       ));
 
-      ctx.writeAndFlush(buildAuthRequest(ctx));
+      ctx.write(buildAuthRequest(ctx));
       maybePropagateChannelActive(ctx);
+      ctx.flush();
     } catch (SaslException e) {
       failConnect(ctx,
         "SASL Client could not be constructed",
@@ -221,6 +241,9 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
   /**
    * Check if the number of roundtrips allow propagating the channel active, enabling pipelining from higher
    * levels.
+   * <p>
+   * Callers only flush after this method returned, so the request of the last round trip is sent together with the
+   * ones written by higher levels (i.e. select bucket).
    *
    * @param ctx the channel handler context.
    */
@@ -353,7 +376,7 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
       null,
       "couchbase",
       ioContext.remoteSocket().toString(),
-      null,
+      scramKeyCache == null ? null : Collections.singletonMap(ScramKeyCache.SASL_PROPERTY, scramKeyCache),
       this
     );
   }
@@ -377,8 +400,9 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
     try {
       byte[] evaluatedBytes = saslClient.evaluateChallenge(payload);
       if (evaluatedBytes != null && evaluatedBytes.length > 0) {
-        ctx.writeAndFlush(buildStepRequest(ctx, evaluatedBytes));
+        ctx.write(buildStepRequest(ctx, evaluatedBytes));
         maybePropagateChannelActive(ctx);
+        ctx.flush();
       } else {
         throw new SaslException("Evaluation returned empty payload, this is unexpected!");
       }
@@ -145,12 +145,14 @@ public class SaslListMechanismsHandler extends ChannelDuplexHandler {
       }
     }, timeout.toNanos(), TimeUnit.NANOSECONDS);
     ConnectTimings.start(ctx.channel(), this.getClass());
-    ctx.writeAndFlush(buildListMechanismsRequest(ctx));
+    ctx.write(buildListMechanismsRequest(ctx));
 
     // Fire the channel active immediately so the upper handler in the pipeline gets a chance to
     // pipeline its request before the response of this one arrives. This helps speeding up the
-    // bootstrap sequence.
+    // bootstrap sequence. The flush is only issued afterwards, so that all requests written by
+    // the upper handlers go out together with this one in a single write to the socket.
     ctx.fireChannelActive();
+    ctx.flush();
   }
 
   /**
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.util.ConcurrentLruCache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Caches the keys a {@link ScramSaslClient} derives from the password, so that they are only computed once
+ * instead of on every connection that authenticates with the same credentials.
+ *
+ * <p>Deriving the salted password runs PBKDF2 with the iteration count sent by the server (usually in the
+ * thousands), which quickly adds up when many KV connections are opened at the same time. The entries are keyed
+ * by mechanism, username, a digest of the password, salt and iteration count, so a changed password or salt on
+ * the server side leads to a fresh derivation.</p>
+ *
+ * <p>The cache is handed to the {@link ScramSaslClientFactory} through the SASL properties under
+ * {@link #SASL_PROPERTY}.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public class ScramKeyCache {
+
+  /**
+   * The SASL property under which the cache is passed to the {@link ScramSaslClientFactory}.
+   */
+  public static final String SASL_PROPERTY = "com.couchbase.client.core.io.netty.kv.sasl.ScramKeyCache";
+
+  /**
+   * The maximum number of credentials for which derived keys are kept.
+   */
+  private static final int MAX_ENTRIES = 64;
+
+  private final ConcurrentLruCache<Key, Keys> keys = new ConcurrentLruCache<>(MAX_ENTRIES);
+
+  Keys get(final Key key) {
+    return keys.get(key);
+  }
+
+  void put(final Key key, final Keys value) {
+    keys.put(key, value);
+  }
+
+  /**
+   * Identifies the inputs the keys have been derived from.
+   */
+  static final class Key {
+
+    private final ScramSaslClientFactory.Mode mode;
+    private final String username;
+    private final byte[] passwordDigest;
+    private final byte[] salt;
+    private final int iterations;
+
+    Key(final ScramSaslClientFactory.Mode mode, final String username, final byte[] passwordDigest,
+        final byte[] salt, final int iterations) {
+      this.mode = mode;
+      this.username = username;
+      this.passwordDigest = passwordDigest;
+      this.salt = salt;
+      this.iterations = iterations;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return iterations == key.iterations
+        && mode == key.mode
+        && username.equals(key.username)
+        && Arrays.equals(passwordDigest, key.passwordDigest)
+        && Arrays.equals(salt, key.salt);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Objects.hash(mode, username, iterations);
+      result = 31 * result + Arrays.hashCode(passwordDigest);
+      result = 31 * result + Arrays.hashCode(salt);
+      return result;
+    }
+  }
+
+  /**
+   * The keys derived from the salted password which are needed to compute the proofs and signatures.
+   */
+  static final class Keys {
+
+    private final byte[] clientKey;
+    private final byte[] storedKey;
+    private final byte[] serverKey;
+
+    Keys(final byte[] clientKey, final byte[] storedKey, final byte[] serverKey) {
+      this.clientKey = clientKey;
+      this.storedKey = storedKey;
+      this.serverKey = serverKey;
+    }
+
+    /**
+     * Returns a copy of the client key, since it is used to compute the proof in place.
+     */
+    byte[] clientKey() {
+      return clientKey.clone();
+    }
+
+    byte[] storedKey() {
+      return storedKey;
+    }
+
+    byte[] serverKey() {
+      return serverKey;
+    }
+  }
+
+}
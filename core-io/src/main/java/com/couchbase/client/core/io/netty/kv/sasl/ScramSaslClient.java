@@ -46,14 +46,30 @@ class ScramSaslClient implements SaslClient  {
   private static final byte[] CLIENT_KEY = "Client Key".getBytes(UTF_8);
   private static final byte[] SERVER_KEY = "Server Key".getBytes(UTF_8);
 
+  /**
+   * Reusable {@link Mac} instances per thread, since looking them up through the security providers is expensive.
+   * They are initialized with the key on every use.
+   */
+  private static final ThreadLocal<Mac> HMAC_SHA512 = threadLocalMac("HmacSHA512");
+  private static final ThreadLocal<Mac> HMAC_SHA256 = threadLocalMac("HmacSHA256");
+  private static final ThreadLocal<Mac> HMAC_SHA1 = threadLocalMac("HmacSHA1");
+
+  private final ScramSaslClientFactory.Mode mode;
   private final String name;
   private final String hmacAlgorithm;
+  private final ThreadLocal<Mac> macs;
   private final CallbackHandler callbacks;
   private final MessageDigest digest;
 
-  private String clientNonce;
+  /**
+   * The cache for the keys derived from the password, null if they should not be cached.
+   */
+  private final ScramKeyCache keyCache;
+
+  private final String clientNonce;
+  private String username;
   private byte[] salt;
-  private byte[] saltedPassword;
+  private ScramKeyCache.Keys keys;
   private int iterationCount;
   private String clientFirstMessage;
   private String clientFirstMessageBare;
@@ -64,6 +80,24 @@ class ScramSaslClient implements SaslClient  {
 
   ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler)
     throws NoSuchAlgorithmException  {
+    this(mode, callbackHandler, null);
+  }
+
+  ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler,
+                  final ScramKeyCache keyCache)
+    throws NoSuchAlgorithmException  {
+    this(mode, callbackHandler, keyCache, randomNonce());
+  }
+
+  /**
+   * Creates a client with a given nonce, only visible so that tests can verify against known exchanges.
+   */
+  ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler,
+                  final ScramKeyCache keyCache, final String clientNonce)
+    throws NoSuchAlgorithmException  {
+    this.mode = mode;
+    this.keyCache = keyCache;
+    this.clientNonce = clientNonce;
     callbacks = callbackHandler;
 
     switch (mode) {
@@ -71,26 +105,30 @@ class ScramSaslClient implements SaslClient  {
         digest = MessageDigest.getInstance("SHA-512");
         name = ScramSaslClientFactory.Mode.SCRAM_SHA512.mech();
         hmacAlgorithm = "HmacSHA512";
+        macs = HMAC_SHA512;
         break;
       case SCRAM_SHA256:
         digest = MessageDigest.getInstance("SHA-256");
         name = ScramSaslClientFactory.Mode.SCRAM_SHA256.mech();
         hmacAlgorithm = "HmacSHA256";
+        macs = HMAC_SHA256;
         break;
       case SCRAM_SHA1:
         digest = MessageDigest.getInstance("SHA-1");
         name = ScramSaslClientFactory.Mode.SCRAM_SHA1.mech();
         hmacAlgorithm = "HmacSHA1";
+        macs = HMAC_SHA1;
         break;
       default:
         throw new RuntimeException("Unsupported SHA version specified");
     }
+  }
 
-
+  private static String randomNonce() {
     SecureRandom random = new SecureRandom();
     byte[] random_nonce = new byte[21];
     random.nextBytes(random_nonce);
-    clientNonce = Base64.getEncoder().encodeToString(random_nonce);
+    return Base64.getEncoder().encodeToString(random_nonce);
   }
 
   @Override
@@ -110,7 +148,8 @@ class ScramSaslClient implements SaslClient  {
         throw new SaslException("Initial challenge should be without input data");
       }
 
-      clientFirstMessage = "n,,n=" + getUserName() + ",r=" + clientNonce;
+      username = getUserName();
+      clientFirstMessage = "n,,n=" + username + ",r=" + clientNonce;
       clientFirstMessageBare = clientFirstMessage.substring(3);
       return clientFirstMessage.getBytes(UTF_8);
     } else if (serverFirstMessage == null) {
@@ -145,8 +184,8 @@ class ScramSaslClient implements SaslClient  {
         throw InvalidArgumentException.fromMessage("missing mandatory key in serverFirstMessage");
       }
 
-      // We have the salt, time to generate the salted password
-      generateSaltedPassword();
+      // We have the salt, time to derive the keys from the salted password
+      deriveKeys();
 
       clientFinalMessageNoProof = "c=biws,r=" + nonce;
       String client_final_message = clientFinalMessageNoProof + ",p=" + Base64.getEncoder().encodeToString(getClientProof());
@@ -225,7 +264,7 @@ class ScramSaslClient implements SaslClient  {
    */
   private byte[] hmac(byte[] key, byte[] data) {
     try {
-      final Mac mac = Mac.getInstance(hmacAlgorithm);
+      final Mac mac = macs.get();
       mac.init(new SecretKeySpec(key, mac.getAlgorithm()));
       return mac.doFinal(data);
     } catch (InvalidKeyException e) {
@@ -253,7 +292,7 @@ class ScramSaslClient implements SaslClient  {
    */
   private byte[] pbkdf2(final String password, final byte[] salt, int iterations) {
     try {
-      Mac mac = Mac.getInstance(hmacAlgorithm);
+      Mac mac = macs.get();
       Key key;
       if (password == null || password.isEmpty()) {
         key = new EmptySecretKey(hmacAlgorithm);
@@ -300,7 +339,29 @@ class ScramSaslClient implements SaslClient  {
     }
   }
 
-  private void generateSaltedPassword() throws SaslException {
+  /**
+   * Creates a {@link ThreadLocal} which holds a {@link Mac} for the given algorithm per thread.
+   */
+  private static ThreadLocal<Mac> threadLocalMac(final String algorithm) {
+    return ThreadLocal.withInitial(() -> {
+      try {
+        return Mac.getInstance(algorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("Selected algorithm not supported: " + algorithm, e);
+      }
+    });
+  }
+
+  /**
+   * Derives the client, stored and server key from the password (or reuses them from the cache if
+   * they have been derived from the same inputs before).
+   *
+   * <p>SaltedPassword  := Hi(Normalize(password), salt, i)
+   * ClientKey       := HMAC(SaltedPassword, "Client Key")
+   * StoredKey       := H(ClientKey)
+   * ServerKey       := HMAC(SaltedPassword, "Server Key")</p>
+   */
+  private void deriveKeys() throws SaslException {
     final PasswordCallback passwordCallback = new PasswordCallback("Password", false);
     try {
       callbacks.handle(new Callback[]{passwordCallback});
@@ -314,8 +375,23 @@ class ScramSaslClient implements SaslClient  {
     }
 
     String password = new String(pw);
-    saltedPassword = pbkdf2(password, salt, iterationCount);
     passwordCallback.clearPassword();
+
+    ScramKeyCache.Key cacheKey = null;
+    if (keyCache != null) {
+      cacheKey = new ScramKeyCache.Key(mode, username, digest.digest(password.getBytes(UTF_8)), salt, iterationCount);
+      keys = keyCache.get(cacheKey);
+      if (keys != null) {
+        return;
+      }
+    }
+
+    byte[] saltedPassword = pbkdf2(password, salt, iterationCount);
+    byte[] clientKey = hmac(saltedPassword, CLIENT_KEY);
+    keys = new ScramKeyCache.Keys(clientKey, digest.digest(clientKey), hmac(saltedPassword, SERVER_KEY));
+    if (cacheKey != null) {
+      keyCache.put(cacheKey, keys);
+    }
   }
 
   /**
@@ -326,8 +402,7 @@ class ScramSaslClient implements SaslClient  {
    * ServerSignature := HMAC(ServerKey, AuthMessage)</p>
    */
   private byte[] getServerSignature() {
-    byte[] serverKey = hmac(saltedPassword, SERVER_KEY);
-    return hmac(serverKey, getAuthMessage().getBytes(UTF_8));
+    return hmac(keys.serverKey(), getAuthMessage().getBytes(UTF_8));
   }
 
   /**
@@ -343,9 +418,8 @@ class ScramSaslClient implements SaslClient  {
    * ClientProof     := ClientKey XOR ClientSignature</p>
    */
   private byte[] getClientProof() {
-    byte[] clientKey = hmac(saltedPassword, CLIENT_KEY);
-    byte[] storedKey = digest.digest(clientKey);
-    byte[] clientSignature = hmac(storedKey, getAuthMessage().getBytes(UTF_8));
+    byte[] clientKey = keys.clientKey();
+    byte[] clientSignature = hmac(keys.storedKey(), getAuthMessage().getBytes(UTF_8));
 
     xor(clientKey, clientSignature);
     return clientKey;
@@ -52,9 +52,10 @@ public class JsonStreamParser implements Closeable {
   private final ByteArrayFeeder feeder;
 
   /**
-   * KLUDGE: An unpooled heap buffer used for feeding Jackson. As of Jackson 2.9.8,
-   * the non-blocking parser can only be fed from offset zero of a byte array.
-   * Input is copied to this buffer's backing array before being fed to Jackson.
+   * KLUDGE: An unpooled heap buffer used for feeding Jackson. As of Jackson 2.12,
+   * the non-blocking parser reports wrong token offsets unless it is fed from offset zero
+   * of a byte array. Input which cannot be fed directly is copied to this buffer's backing
+   * array before being fed to Jackson.
    */
   private final ByteBuf scratchBuffer;
 
@@ -146,6 +147,16 @@ public class JsonStreamParser implements Closeable {
   }
 
   private void feedJackson(ByteBuf input) throws IOException {
+    if (window.retainsInput() && input.hasArray() && input.arrayOffset() + input.readerIndex() == 0) {
+      // The window keeps the input alive until the parser advanced past it, so Jackson
+      // can read straight from the backing array without an intermediate copy.
+      final byte[] array = input.array();
+      final int end = input.readableBytes();
+      window.add(input);
+      feeder.feedInput(array, 0, end);
+      return;
+    }
+
     // Until a ByteBufferFeeder implementation arrives in Jackson 3, must copy input
     // to a heap buffer and feed from the backing array.
     input.markReaderIndex();
@@ -274,7 +285,7 @@ public class JsonStreamParser implements Closeable {
       frozen = true;
       return new JsonStreamParser(tree,
         defaultIfNull(scratchBuffer, Unpooled::buffer),
-        defaultIfNull(window, () -> new CopyingStreamWindow(UnpooledByteBufAllocator.DEFAULT)));
+        defaultIfNull(window, () -> new CompositeStreamWindow(UnpooledByteBufAllocator.DEFAULT)));
     }
 
     private void checkNotFrozen() {
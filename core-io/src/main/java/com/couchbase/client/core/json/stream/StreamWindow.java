@@ -32,6 +32,14 @@ public interface StreamWindow extends Closeable {
    */
   void add(ByteBuf buffer);
 
+  /**
+   * Returns true if the buffers passed to {@link #add(ByteBuf)} stay readable until the window advances
+   * past them, which allows callers to keep reading the input after handing it to the window.
+   */
+  default boolean retainsInput() {
+    return false;
+  }
+
   /**
    * Forgets any bytes with stream offsets lower then the given offset.
    *
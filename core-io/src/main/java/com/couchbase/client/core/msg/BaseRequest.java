@@ -17,8 +17,11 @@
 package com.couchbase.client.core.msg;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.tracing.ThresholdRequestSpan;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.error.AmbiguousTimeoutException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.RequestCanceledException;
@@ -102,6 +105,11 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
    */
   private volatile CancellationReason cancellationReason;
 
+  /**
+   * If registered with the {@link Timer}, holds the timeout registration which is cancelled on completion.
+   */
+  private volatile Timeout timeoutRegistration;
+
   public BaseRequest(final Duration timeout, final CoreContext ctx,
                      final RetryStrategy retryStrategy) {
     this(timeout, ctx, retryStrategy, null);
@@ -144,6 +152,7 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
   @Override
   public void succeed(R result) {
     if (STATE_UPDATER.compareAndSet(this, State.INCOMPLETE, State.SUCCEEDED)) {
+      cancelTimeoutRegistration();
       response.complete(result);
     }
   }
@@ -151,6 +160,7 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
   @Override
   public void fail(Throwable error) {
     if (STATE_UPDATER.compareAndSet(this, State.INCOMPLETE, State.FAILED)) {
+      cancelTimeoutRegistration();
       response.completeExceptionally(error);
     }
   }
@@ -159,6 +169,7 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
   public void cancel(final CancellationReason reason) {
     if (STATE_UPDATER.compareAndSet(this, State.INCOMPLETE, State.CANCELLED)) {
       cancellationReason = reason;
+      cancelTimeoutRegistration();
       final Exception exception;
 
       final String msg = this.getClass().getSimpleName() + ", Reason: " + reason;
@@ -173,6 +184,27 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
     }
   }
 
+  /**
+   * Stores the timeout registration of the {@link Timer}, so it can be cancelled as soon as this request
+   * completes without attaching a callback to the response future.
+   *
+   * @param registration the timeout registration.
+   */
+  @Stability.Internal
+  public void timeoutRegistration(final Timeout registration) {
+    timeoutRegistration = registration;
+    if (completed()) {
+      registration.cancel();
+    }
+  }
+
+  private void cancelTimeoutRegistration() {
+    Timeout registration = timeoutRegistration;
+    if (registration != null) {
+      registration.cancel();
+    }
+  }
+
   @Override
   public boolean completed() {
     return state != State.INCOMPLETE;
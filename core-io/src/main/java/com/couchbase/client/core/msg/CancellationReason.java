@@ -68,6 +68,13 @@ public class CancellationReason {
   public static final CancellationReason TOO_MANY_REQUESTS_IN_RETRY =
     new CancellationReason("TOO_MANY_REQUESTS_IN_RETRY", null);
 
+  /**
+   * If the adaptive concurrency limit of the target node is exhausted and too many requests are already queued
+   * in front of it. The node is likely overloaded, so the request fails fast instead of adding to it.
+   */
+  public static final CancellationReason TOO_MANY_REQUESTS_IN_FLIGHT =
+    new CancellationReason("TOO_MANY_REQUESTS_IN_FLIGHT", null);
+
   /**
    * When a {@link TargetedRequest} is dispatched but the list of nodes does not contain the target at all,
    * there is good chance that this request will not be able to make progress anymore so it will be cancelled.
@@ -18,6 +18,8 @@ package com.couchbase.client.core.msg;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.metrics.ResponseMetrics;
+import com.couchbase.client.core.node.AdaptiveConcurrencyLimiter;
 import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.util.HostAndPort;
@@ -30,6 +32,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static com.couchbase.client.core.logging.RedactableArgument.redactMeta;
 import static com.couchbase.client.core.logging.RedactableArgument.redactSystem;
@@ -42,6 +45,16 @@ import static com.couchbase.client.core.util.Validators.notNull;
  */
 public class RequestContext extends CoreContext {
 
+  /**
+   * Atomic updater for the {@link #concurrencyLimiter} field.
+   */
+  private static final AtomicReferenceFieldUpdater<RequestContext, AdaptiveConcurrencyLimiter> LIMITER_UPDATER =
+    AtomicReferenceFieldUpdater.newUpdater(
+      RequestContext.class,
+      AdaptiveConcurrencyLimiter.class,
+      "concurrencyLimiter"
+    );
+
   /**
    * Holds the dispatch latency if set already (or at all).
    */
@@ -92,6 +105,18 @@ public class RequestContext extends CoreContext {
    */
   private volatile HostAndPort lastDispatchedFrom;
 
+  /**
+   * The response metrics of the endpoint this request got last dispatched to.
+   */
+  private volatile ResponseMetrics lastDispatchedToMetrics;
+
+  /**
+   * The concurrency limiter which currently accounts this request as in-flight, if any.
+   *
+   * <p>Do not rename this field without updating the {@link #LIMITER_UPDATER}!</p>
+   */
+  private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+
   /**
    * Holds a set of retry reasons.
    */
@@ -185,7 +210,12 @@ public class RequestContext extends CoreContext {
       request.requestSpan().end();
     }
     if (lastDispatchedTo() != null) {
-      core().responseMetric(request).recordValue(logicalRequestLatency());
+      ResponseMetrics metrics = lastDispatchedToMetrics;
+      if (metrics != null) {
+        metrics.record(request, logicalRequestLatency());
+      } else {
+        core().responseMetric(request).recordValue(logicalRequestLatency());
+      }
     }
     return this;
   }
@@ -253,6 +283,50 @@ public class RequestContext extends CoreContext {
     return this;
   }
 
+  /**
+   * Stores the response metrics of the endpoint this request got dispatched to, so the latency can be
+   * recorded without looking up the value recorder on completion.
+   *
+   * @param lastDispatchedToMetrics the response metrics of the endpoint.
+   * @return this context for chaining purposes.
+   */
+  @Stability.Internal
+  public RequestContext lastDispatchedToMetrics(final ResponseMetrics lastDispatchedToMetrics) {
+    this.lastDispatchedToMetrics = lastDispatchedToMetrics;
+    return this;
+  }
+
+  /**
+   * Returns the concurrency limiter which currently accounts this request as in-flight, if any.
+   */
+  @Stability.Internal
+  public AdaptiveConcurrencyLimiter concurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
+  /**
+   * Atomically hands the permit of this request over to another concurrency limiter.
+   *
+   * @param expected the limiter which is expected to hold the permit right now (null if none).
+   * @param update the limiter which holds the permit afterwards (null to clear it).
+   * @return true if the expected limiter held the permit and has been replaced.
+   */
+  @Stability.Internal
+  public boolean compareAndSetConcurrencyLimiter(final AdaptiveConcurrencyLimiter expected,
+                                                 final AdaptiveConcurrencyLimiter update) {
+    return LIMITER_UPDATER.compareAndSet(this, expected, update);
+  }
+
+  /**
+   * Atomically clears the concurrency limiter which holds the permit of this request.
+   *
+   * @return the limiter which held the permit, or null if there was none.
+   */
+  @Stability.Internal
+  public AdaptiveConcurrencyLimiter clearConcurrencyLimiter() {
+    return LIMITER_UPDATER.getAndSet(this, null);
+  }
+
   @Stability.Internal
   public RequestContext lastDispatchedToNode(final NodeIdentifier lastDispatchedToNode) {
     this.lastDispatchedToNode = lastDispatchedToNode;
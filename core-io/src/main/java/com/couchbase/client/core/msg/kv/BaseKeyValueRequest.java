@@ -18,14 +18,15 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
-import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.error.CollectionNotFoundException;
+import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.msg.BaseRequest;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.retry.RetryStrategy;
@@ -34,6 +35,7 @@ import com.couchbase.client.core.util.Bytes;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -121,53 +123,64 @@ public abstract class BaseKeyValueRequest<R extends Response>
   }
 
   /**
-   * This method returns an encoded key with or without the collection prefix, depending on the
+   * Returns the encoded collection ID which needs to be written in front of the key, depending on the
    * context provided.
    *
-   * <p>Note that it uses the key set during construction, if you want to encode a different key use the
-   * {@link #encodedExternalKeyWithCollection(ByteBufAllocator, KeyValueChannelContext, byte[])} method instead.</p>
+   * <p>If collections are not enabled on the channel, an empty array is returned. Note that it uses the key set
+   * during construction to check the total key length, if you want to encode a different key use the
+   * {@link #encodedCollectionId(KeyValueChannelContext, byte[])} method instead.</p>
    *
-   * @param alloc the buffer allocator to use.
    * @param ctx the channel context.
-   * @return the encoded ID, maybe with the collection prefix in place.
+   * @return the encoded collection ID prefix, empty if not needed.
    */
-  protected ByteBuf encodedKeyWithCollection(final ByteBufAllocator alloc, final KeyValueChannelContext ctx) {
-    return encodedExternalKeyWithCollection(alloc, ctx, key);
+  protected byte[] encodedCollectionId(final KeyValueChannelContext ctx) {
+    return encodedCollectionId(ctx, key);
   }
 
   /**
-   * Encodes a given key with the collection prefix if needed.
+   * Returns the encoded collection ID which needs to be written in front of the given key.
    *
-   * @param alloc the buffer allocator to use.
    * @param ctx the channel context.
-   * @param key the key to encode with collection id.
-   * @return the encoded ID, maybe with the collection prefix in place.
+   * @param key the key which will be prefixed with the collection id.
+   * @return the encoded collection ID prefix, empty if not needed.
    */
-  protected ByteBuf encodedExternalKeyWithCollection(final ByteBufAllocator alloc, final KeyValueChannelContext ctx,
-                                                     final byte[] key) {
+  protected byte[] encodedCollectionId(final KeyValueChannelContext ctx, final byte[] key) {
     if (ctx.collectionsEnabled()) {
       byte[] collection = ctx.collectionMap().get(collectionIdentifier);
       if (collection == null) {
         throw CollectionNotFoundException.forCollection(collectionIdentifier.collection().orElse(""));
       }
 
-      int totalLength = key.length + collection.length;
-      checkKeyLength(totalLength);
-      return alloc
-        .buffer(totalLength)
-        .writeBytes(collection)
-        .writeBytes(key);
+      checkKeyLength(key.length + collection.length);
+      return collection;
     } else {
       if (collectionIdentifier.isDefault()) {
         checkKeyLength(key.length);
-        return alloc.buffer(key.length).writeBytes(key);
+        return Bytes.EMPTY_BYTE_ARRAY;
       } else {
         throw new FeatureNotAvailableException("Collections are not supported (or enabled) on the cluster");
       }
     }
   }
 
-
+  /**
+   * Returns the size of the sync replication framing extras this request needs to write.
+   *
+   * @param durabilityLevel the durability level of the request, if set.
+   * @param ctx the channel context.
+   * @return the size of the framing extras, 0 if there is no durability level set.
+   * @throws DurabilityLevelNotAvailableException if a level is set but not supported on the channel.
+   */
+  protected int syncReplicationFramingExtrasSize(final Optional<DurabilityLevel> durabilityLevel,
+                                                 final KeyValueChannelContext ctx) {
+    if (!durabilityLevel.isPresent()) {
+      return 0;
+    }
+    if (!ctx.syncReplicationEnabled()) {
+      throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
+    }
+    return MemcacheProtocol.SYNC_REPLICATION_FRAMING_EXTRAS_SIZE;
+  }
 
   /**
    * Checks the key length and throws if too long.
@@ -18,10 +18,7 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
 import com.couchbase.client.core.error.InvalidArgumentException;
-import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -57,42 +54,26 @@ public class DecrementRequest extends BaseKeyValueRequest<DecrementResponse> imp
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf extras = null;
-    ByteBuf flexibleExtras = null;
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    int framingExtrasSize = syncReplicationFramingExtrasSize(syncReplicationType, ctx);
 
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
-      extras = alloc.buffer((Long.BYTES * 2) + Integer.BYTES);
-      extras.writeLong(delta);
-      if (initial.isPresent()) {
-        extras.writeLong(initial.get());
-        extras.writeInt((int) expiry);
-      } else {
-        extras.writeLong(0); // no initial present, will lead to doc not found
-        extras.writeInt(IncrementRequest.COUNTER_NOT_EXISTS_EXPIRY);
-      }
-
-      ByteBuf request;
-      if (syncReplicationType.isPresent()) {
-        if (ctx.syncReplicationEnabled()) {
-          flexibleExtras = flexibleSyncReplication(alloc, syncReplicationType.get(), timeout(), context());
-          request = MemcacheProtocol.flexibleRequest(alloc, MemcacheProtocol.Opcode.DECREMENT, noDatatype(),
-            partition(), opaque, noCas(), flexibleExtras, extras, key, noBody());
-        }
-        else {
-          throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
-        }
-      } else {
-        request = MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.DECREMENT, noDatatype(),
-          partition(), opaque, noCas(), extras, key, noBody());
-      }
-      return request;
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(extras);
-      ReferenceCountUtil.release(flexibleExtras);
+    ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.DECREMENT, noDatatype(), partition(),
+      opaque, noCas(), framingExtrasSize, (Long.BYTES * 2) + Integer.BYTES, collection.length + key.length, 0);
+    if (framingExtrasSize > 0) {
+      MemcacheProtocol.writeSyncReplication(request, syncReplicationType.get(), timeout(), context());
+    }
+    request.writeLong(delta);
+    if (initial.isPresent()) {
+      request.writeLong(initial.get());
+      request.writeInt((int) expiry);
+    } else {
+      request.writeLong(0); // no initial present, will lead to doc not found
+      request.writeInt(IncrementRequest.COUNTER_NOT_EXISTS_EXPIRY);
     }
+    return request
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
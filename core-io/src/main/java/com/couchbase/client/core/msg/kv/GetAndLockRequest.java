@@ -18,7 +18,6 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -26,7 +25,6 @@ import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.util.Bytes;
 
 import java.time.Duration;
 
@@ -50,19 +48,13 @@ public class GetAndLockRequest extends BaseKeyValueRequest<GetAndLockResponse> {
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf extras = null;
-
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
-      extras = alloc.buffer(Integer.BYTES).writeInt((int) lockFor.getSeconds());
-
-      return MemcacheProtocol.request(alloc, Opcode.GET_AND_LOCK, noDatatype(),
-        partition(), opaque, noCas(), extras, key, noBody());
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(extras);
-    }
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    return MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.GET_AND_LOCK, noDatatype(), partition(), opaque,
+      noCas(), 0, Integer.BYTES, collection.length + key.length, 0)
+      .writeInt((int) lockFor.getSeconds())
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
@@ -71,8 +63,7 @@ public class GetAndLockRequest extends BaseKeyValueRequest<GetAndLockResponse> {
     long cas = cas(response);
 
     if (status.success()) {
-      byte[] bytes = bodyAsBytes(response);
-      byte[] content = bytes != null ? tryDecompression(bytes, datatype(response)) : Bytes.EMPTY_BYTE_ARRAY;
+      byte[] content = decompressedBodyAsBytes(response, ctx);
       int flags = extrasAsInt(response, 0, 0);
       return new GetAndLockResponse(status, content, cas, flags);
     } else {
@@ -51,7 +51,9 @@ public class GetCollectionIdRequest extends BaseKeyValueRequest<GetCollectionIdR
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
     ByteBuf key = null;
     try {
-      key = Unpooled.copiedBuffer(collectionIdentifier().scope() + "." + collectionIdentifier().collection(), UTF_8);
+      String path = collectionIdentifier().scope().orElse(CollectionIdentifier.DEFAULT_SCOPE)
+        + "." + collectionIdentifier().collection().orElse(CollectionIdentifier.DEFAULT_COLLECTION);
+      key = Unpooled.copiedBuffer(path, UTF_8);
       return request(alloc, MemcacheProtocol.Opcode.COLLECTIONS_GET_CID, noDatatype(),
         noPartition(), opaque, noCas(), noExtras(), key, noBody());
     } finally {
@@ -20,7 +20,6 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -31,7 +30,6 @@ import java.time.Duration;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.cas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.decodeStatus;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.extrasAsInt;
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
 
@@ -49,20 +47,13 @@ public class GetMetaRequest extends BaseKeyValueRequest<GetMetaResponse> {
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf extras = null;
-
-    try {
-      extras = alloc.buffer(Byte.BYTES);
-      extras.writeByte(2);
-
-      key = encodedKeyWithCollection(alloc, ctx);
-      return MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.GET_META, noDatatype(),
-        partition(), opaque, noCas(), extras, key, noBody());
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(extras);
-    }
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    return MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.GET_META, noDatatype(), partition(), opaque,
+      noCas(), 0, Byte.BYTES, collection.length + key.length, 0)
+      .writeByte(2)
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
@@ -19,7 +19,6 @@ package com.couchbase.client.core.msg.kv;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -30,7 +29,6 @@ import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.util.UnsignedLEB128;
 
 import java.time.Duration;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -40,8 +38,6 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.body;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.decodeStatus;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noKey;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.request;
 
 /**
@@ -67,25 +63,26 @@ public class MultiObserveViaCasRequest
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf content = null;
+    byte[][] collections = new byte[keys.size()][];
+    int bodySize = 0;
+    int i = 0;
+    for (byte[] key : keys.keySet()) {
+      collections[i] = encodedCollectionId(ctx, key);
+      bodySize += (Short.BYTES * 2) + collections[i].length + key.length;
+      i++;
+    }
 
-    try {
-      content = alloc.buffer(keys.size() * (Short.BYTES * 2));
-      for (Map.Entry<byte[], Short> key : keys.entrySet()) {
-        ByteBuf keyWithCollection = encodedExternalKeyWithCollection(alloc, ctx, key.getKey());
-        try {
-          content.writeShort(key.getValue());
-          content.writeShort(keyWithCollection.readableBytes());
-          content.writeBytes(keyWithCollection);
-        } finally {
-          ReferenceCountUtil.release(keyWithCollection);
-        }
-      }
-      return request(alloc, MemcacheProtocol.Opcode.OBSERVE_CAS, noDatatype(),
-        partition(), opaque, noCas(), noExtras(), noKey(), content);
-    } finally {
-      ReferenceCountUtil.release(content);
+    ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.OBSERVE_CAS, noDatatype(),
+      partition(), opaque, noCas(), 0, 0, 0, bodySize);
+    i = 0;
+    for (Map.Entry<byte[], Short> key : keys.entrySet()) {
+      request.writeShort(key.getValue());
+      request.writeShort(collections[i].length + key.getKey().length);
+      request.writeBytes(collections[i]);
+      request.writeBytes(key.getKey());
+      i++;
     }
+    return request;
   }
 
   @Override
@@ -17,7 +17,6 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -53,23 +52,15 @@ public class ObserveViaCasRequest extends BaseKeyValueRequest<ObserveViaCasRespo
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf content = null;
-
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
-      int keyLength = key.readableBytes();
-      content = alloc.buffer(keyLength + (Short.BYTES * 2));
-      content.writeShort(partition());
-      content.writeShort(keyLength);
-      content.writeBytes(key);
-
-      return request(alloc, MemcacheProtocol.Opcode.OBSERVE_CAS, noDatatype(),
-        partition(), opaque, noCas(), noExtras(), noKey(), content);
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(content);
-    }
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    int keyLength = collection.length + key.length;
+    return MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.OBSERVE_CAS, noDatatype(), partition(),
+      opaque, noCas(), 0, 0, 0, (Short.BYTES * 2) + keyLength)
+      .writeShort(partition())
+      .writeShort(keyLength)
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
@@ -20,8 +20,6 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.env.CompressionConfig;
-import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
-import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -52,17 +50,17 @@ public class PrependRequest extends BaseKeyValueRequest<PrependResponse> impleme
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
     ByteBuf content = null;
-    ByteBuf flexibleExtras = null;
 
     try {
-      key = encodedKeyWithCollection(alloc, ctx);
+      byte[] collection = encodedCollectionId(ctx);
+      byte[] key = key();
+      int framingExtrasSize = syncReplicationFramingExtrasSize(syncReplicationType, ctx);
 
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = config.engine().compress(alloc, this.content, config.minRatio());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
@@ -73,25 +71,17 @@ public class PrependRequest extends BaseKeyValueRequest<PrependResponse> impleme
         content = Unpooled.wrappedBuffer(this.content);
       }
 
-      ByteBuf request;
-      if (syncReplicationType.isPresent()) {
-        if (ctx.syncReplicationEnabled()) {
-          flexibleExtras = flexibleSyncReplication(alloc, syncReplicationType.get(), timeout(), context());
-          request = MemcacheProtocol.flexibleRequest(alloc, MemcacheProtocol.Opcode.PREPEND, datatype, partition(),
-            opaque, cas, flexibleExtras, noExtras(), key, content);
-        }
-        else {
-          throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
-        }
-      } else {
-        request = MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.PREPEND, datatype, partition(),
-          opaque, cas, noExtras(), key, content);
+      ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.PREPEND, datatype, partition(),
+        opaque, cas, framingExtrasSize, 0, collection.length + key.length, content.readableBytes());
+      if (framingExtrasSize > 0) {
+        MemcacheProtocol.writeSyncReplication(request, syncReplicationType.get(), timeout(), context());
       }
-      return request;
+      return request
+        .writeBytes(collection)
+        .writeBytes(key)
+        .writeBytes(content);
     } finally {
-      ReferenceCountUtil.release(key);
       ReferenceCountUtil.release(content);
-      ReferenceCountUtil.release(flexibleExtras);
     }
   }
 
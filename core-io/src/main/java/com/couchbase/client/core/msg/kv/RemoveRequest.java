@@ -18,9 +18,6 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
-import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -55,31 +52,18 @@ public class RemoveRequest extends BaseKeyValueRequest<RemoveResponse> implement
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf flexibleExtras = null;
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    int framingExtrasSize = syncReplicationFramingExtrasSize(syncReplicationType, ctx);
 
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
-      ByteBuf request;
-      if (syncReplicationType.isPresent()) {
-        if (ctx.syncReplicationEnabled()) {
-          flexibleExtras = flexibleSyncReplication(alloc, syncReplicationType.get(), timeout(), context());
-          request = MemcacheProtocol.flexibleRequest(alloc, MemcacheProtocol.Opcode.DELETE, noDatatype(),
-            partition(), opaque, cas, flexibleExtras, noExtras(), key, noBody());
-        }
-        else {
-          throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
-        }
-      } else {
-        request = MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.DELETE, noDatatype(),
-          partition(), opaque, cas, noExtras(), key, noBody());
-      }
-
-      return request;
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(flexibleExtras);
+    ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.DELETE, noDatatype(), partition(),
+      opaque, cas, framingExtrasSize, 0, collection.length + key.length, 0);
+    if (framingExtrasSize > 0) {
+      MemcacheProtocol.writeSyncReplication(request, syncReplicationType.get(), timeout(), context());
     }
+    return request
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
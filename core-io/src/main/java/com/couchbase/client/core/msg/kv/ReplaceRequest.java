@@ -20,8 +20,6 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.env.CompressionConfig;
-import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
-import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -36,7 +34,6 @@ import java.util.Optional;
 
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.cas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.extractToken;
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.flexibleSyncReplication;
 
 /**
  * Uses the KV replace command to replace a document if it exists.
@@ -66,17 +63,17 @@ public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> impleme
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
     ByteBuf content = null;
-    ByteBuf extras = null;
-    ByteBuf flexibleExtras = null;
 
     try {
-      key = encodedKeyWithCollection(alloc, ctx);
+      byte[] collection = encodedCollectionId(ctx);
+      byte[] key = key();
+      int framingExtrasSize = syncReplicationFramingExtrasSize(syncReplicationType, ctx);
+
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = config.engine().compress(alloc, this.content, config.minRatio());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
@@ -87,29 +84,18 @@ public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> impleme
         content = Unpooled.wrappedBuffer(this.content);
       }
 
-      extras = alloc.buffer(Integer.BYTES * 2);
-      extras.writeInt(flags);
-      extras.writeInt((int) expiration);
-
-      ByteBuf request;
-      if (syncReplicationType.isPresent()) {
-        if (ctx.syncReplicationEnabled()) {
-          flexibleExtras = flexibleSyncReplication(alloc, syncReplicationType.get(), timeout(), context());
-          request = MemcacheProtocol.flexibleRequest(alloc, MemcacheProtocol.Opcode.REPLACE, datatype, partition(),
-            opaque, cas, flexibleExtras, extras, key, content);
-        }
-        else {
-          throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
-        }
-      } else {
-        request = MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.REPLACE, datatype, partition(),
-          opaque, cas, extras, key, content);
+      ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.REPLACE, datatype, partition(),
+        opaque, cas, framingExtrasSize, Integer.BYTES * 2, collection.length + key.length, content.readableBytes());
+      if (framingExtrasSize > 0) {
+        MemcacheProtocol.writeSyncReplication(request, syncReplicationType.get(), timeout(), context());
       }
-      return request;
+      return request
+        .writeInt(flags)
+        .writeInt((int) expiration)
+        .writeBytes(collection)
+        .writeBytes(key)
+        .writeBytes(content);
     } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(extras);
-      ReferenceCountUtil.release(flexibleExtras);
       ReferenceCountUtil.release(content);
     }
   }
@@ -18,7 +18,6 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -29,10 +28,8 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import java.time.Duration;
 import java.util.Map;
 
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
-import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
 
 public class ReplicaGetRequest extends GetRequest {
 
@@ -51,14 +48,12 @@ public class ReplicaGetRequest extends GetRequest {
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
-      return MemcacheProtocol.request(alloc, MemcacheProtocol.Opcode.GET_REPLICA, noDatatype(),
-        partition(), opaque, noCas(), noExtras(), key, noBody());
-    } finally {
-      ReferenceCountUtil.release(key);
-    }
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    return MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.GET_REPLICA, noDatatype(), partition(), opaque,
+      noCas(), 0, 0, collection.length + key.length, 0)
+      .writeBytes(collection)
+      .writeBytes(key);
   }
 
   @Override
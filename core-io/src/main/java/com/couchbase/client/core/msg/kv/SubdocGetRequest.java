@@ -18,7 +18,6 @@ package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.context.KeyValueErrorContext;
 import com.couchbase.client.core.error.subdoc.DocumentNotJsonException;
@@ -32,7 +31,6 @@ import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -61,65 +59,41 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf extras = null;
-    ByteBuf body = null;
-
-    try {
-      if (!ctx.vattrEnabled()) {
-        // Server will not handle all vattrs perfectly: it will reject those it doesn't know by breaking the connection.
-        // Do a check to see if all vattr commands meet a whitelist of vattrs.
-        for (Command c: commands) {
-          if (c.xattr()
-                  && (c.path.length() > 0 && c.path.charAt(0) == '$')
-                  && !(c.path.startsWith("$document") || c.path.startsWith("$XTOC"))) {
-            throw mapSubDocumentError(this, SubDocumentOpResponseStatus.XATTR_UNKNOWN_VATTR, c.path, c.originalIndex());
-          }
+    if (!ctx.vattrEnabled()) {
+      // Server will not handle all vattrs perfectly: it will reject those it doesn't know by breaking the connection.
+      // Do a check to see if all vattr commands meet a whitelist of vattrs.
+      for (Command c: commands) {
+        if (c.xattr()
+                && (c.path.length() > 0 && c.path.charAt(0) == '$')
+                && !(c.path.startsWith("$document") || c.path.startsWith("$XTOC"))) {
+          throw mapSubDocumentError(this, SubDocumentOpResponseStatus.XATTR_UNKNOWN_VATTR, c.path, c.originalIndex());
         }
       }
+    }
 
-      key = encodedKeyWithCollection(alloc, ctx);
-
-      if (flags != 0) {
-        extras = alloc.buffer(Byte.BYTES).writeByte(flags);
-      }
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
 
-      if (commands.size() == 1) {
-        // Note currently the only subdoc error response handled is ERR_SUBDOC_MULTI_PATH_FAILURE.  Make sure to
-        // add the others if do the single lookup optimisation.
-        // Update: single subdoc optimization will not be supported.  It adds just 3 bytes to the package size and gives
-        // minimal performance gains, in return for additional client complexity.
-        body = commands.get(0).encode(alloc);
-      } else {
-        body = alloc.compositeBuffer(commands.size());
-        for (Command command : commands) {
-          ByteBuf commandBuffer = command.encode(alloc);
-          try {
-            ((CompositeByteBuf) body).addComponent(commandBuffer);
-            body.writerIndex(body.writerIndex() + commandBuffer.readableBytes());
-          } catch (Exception ex) {
-            ReferenceCountUtil.release(commandBuffer);
-            throw ex;
-          }
-        }
-      }
+    // Note currently the only subdoc error response handled is ERR_SUBDOC_MULTI_PATH_FAILURE.  Make sure to
+    // add the others if do the single lookup optimisation.
+    // Update: single subdoc optimization will not be supported.  It adds just 3 bytes to the package size and gives
+    // minimal performance gains, in return for additional client complexity.
+    int bodySize = 0;
+    for (Command command : commands) {
+      bodySize += command.encodedSize();
+    }
 
-      return request(
-        alloc,
-        MemcacheProtocol.Opcode.SUBDOC_MULTI_LOOKUP,
-        noDatatype(),
-        partition(),
-        opaque,
-        noCas(),
-        extras == null ? noExtras() : extras,
-        key,
-        body
-      );
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(body);
-      ReferenceCountUtil.release(extras);
+    ByteBuf request = MemcacheProtocol.requestHeader(alloc, MemcacheProtocol.Opcode.SUBDOC_MULTI_LOOKUP,
+      noDatatype(), partition(), opaque, noCas(), 0, flags != 0 ? Byte.BYTES : 0,
+      collection.length + key.length, bodySize);
+    if (flags != 0) {
+      request.writeByte(flags);
+    }
+    request.writeBytes(collection).writeBytes(key);
+    for (Command command : commands) {
+      command.encode(request);
     }
+    return request;
   }
 
   @Override
@@ -204,28 +178,43 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     private final String path;
     private final boolean xattr;
     private final int originalIndex;
+    private final byte[] encodedPath;
 
     public Command(SubdocCommandType type, String path, boolean xattr, int originalIndex) {
       this.type = type;
       this.path = path;
+      this.encodedPath = path.getBytes(UTF_8);
       this.xattr = xattr;
       this.originalIndex = originalIndex;
     }
 
     public ByteBuf encode(ByteBufAllocator alloc) {
-      byte[] path = this.path.getBytes(UTF_8);
-      int pathLength = path.length;
+      return encode(alloc.buffer(encodedSize()));
+    }
+
+    /**
+     * Returns the number of bytes this command occupies in the request body.
+     */
+    public int encodedSize() {
+      return 4 + encodedPath.length;
+    }
 
-      ByteBuf buffer = alloc.buffer(4 + pathLength);
-      buffer.writeByte(type.opcode());
+    /**
+     * Writes this command into the given target buffer and returns it.
+     *
+     * @param target the buffer to write into.
+     * @return the target buffer.
+     */
+    public ByteBuf encode(final ByteBuf target) {
+      target.writeByte(type.opcode());
       if (xattr) {
-        buffer.writeByte(SUBDOC_FLAG_XATTR_PATH);
+        target.writeByte(SUBDOC_FLAG_XATTR_PATH);
       } else {
-        buffer.writeByte(0);
+        target.writeByte(0);
       }
-      buffer.writeShort(pathLength);
-      buffer.writeBytes(path);
-      return buffer;
+      target.writeShort(encodedPath.length);
+      target.writeBytes(encodedPath);
+      return target;
     }
 
     public int originalIndex() {
@@ -20,9 +20,7 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.config.BucketCapabilities;
 import com.couchbase.client.core.config.BucketConfig;
-import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.error.CouchbaseException;
-import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.context.ErrorContext;
@@ -37,7 +35,6 @@ import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
 import com.couchbase.client.core.util.Bytes;
 
 import java.time.Duration;
@@ -114,11 +111,6 @@ public class SubdocMutateRequest extends BaseKeyValueRequest<SubdocMutateRespons
 
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, KeyValueChannelContext ctx) {
-    ByteBuf key = null;
-    ByteBuf extras = null;
-    ByteBuf content = null;
-    ByteBuf flexibleExtras = null;
-
     if (createAsDeleted && !ctx.createAsDeleted()) {
       // Memcached 6.5.0 and below will reset the connection if this flag is sent, hence checking the createAsDeleted HELO
       // This should never trigger, it should be preempted by the BucketCapabilities.CREATE_AS_DELETED check above.
@@ -126,54 +118,39 @@ public class SubdocMutateRequest extends BaseKeyValueRequest<SubdocMutateRespons
       throw new FeatureNotAvailableException("Cannot use createAsDeleted Sub-Document flag, as it is not supported by this version of the cluster");
     }
 
-    try {
-      key = encodedKeyWithCollection(alloc, ctx);
+    byte[] collection = encodedCollectionId(ctx);
+    byte[] key = key();
+    int framingExtrasSize = syncReplicationFramingExtrasSize(syncReplicationType, ctx);
 
-      extras = alloc.buffer();
-      if (expiration != 0) {
-        extras.writeInt((int) expiration);
-      }
-      if (flags != 0) {
-        extras.writeByte(flags);
-      }
+    int extrasSize = 0;
+    if (expiration != 0) {
+      extrasSize += Integer.BYTES;
+    }
+    if (flags != 0) {
+      extrasSize += Byte.BYTES;
+    }
 
-      if (commands.size() == 1) {
-        content = commands.get(0).encode(alloc);
-      } else {
-        content = alloc.compositeBuffer(commands.size());
-        for (Command command : commands) {
-          ByteBuf commandBuffer = command.encode(alloc);
-          try {
-            ((CompositeByteBuf) content).addComponent(commandBuffer);
-            content.writerIndex(content.writerIndex() + commandBuffer.readableBytes());
-          } catch (Exception ex) {
-            ReferenceCountUtil.release(commandBuffer);
-            throw ex;
-          }
-        }
-      }
+    int bodySize = 0;
+    for (Command command : commands) {
+      bodySize += command.encodedSize();
+    }
 
-      ByteBuf request;
-      if (syncReplicationType.isPresent()) {
-        if (ctx.syncReplicationEnabled()) {
-          flexibleExtras = flexibleSyncReplication(alloc, syncReplicationType.get(), timeout(), context());
-          request = flexibleRequest(alloc, Opcode.SUBDOC_MULTI_MUTATE, noDatatype(), partition(), opaque,
-            cas, flexibleExtras, extras, key, content);
-        }
-        else {
-          throw new DurabilityLevelNotAvailableException(KeyValueErrorContext.incompleteRequest(this));
-        }
-      } else {
-        request = request(alloc, Opcode.SUBDOC_MULTI_MUTATE, noDatatype(), partition(), opaque,
-          cas, extras, key, content);
-      }
-      return request;
-    } finally {
-      ReferenceCountUtil.release(key);
-      ReferenceCountUtil.release(extras);
-      ReferenceCountUtil.release(flexibleExtras);
-      ReferenceCountUtil.release(content);
+    ByteBuf request = requestHeader(alloc, Opcode.SUBDOC_MULTI_MUTATE, noDatatype(), partition(), opaque, cas,
+      framingExtrasSize, extrasSize, collection.length + key.length, bodySize);
+    if (framingExtrasSize > 0) {
+      writeSyncReplication(request, syncReplicationType.get(), timeout(), context());
+    }
+    if (expiration != 0) {
+      request.writeInt((int) expiration);
+    }
+    if (flags != 0) {
+      request.writeByte(flags);
+    }
+    request.writeBytes(collection).writeBytes(key);
+    for (Command command : commands) {
+      command.encode(request);
     }
+    return request;
   }
 
   @Override
@@ -288,11 +265,13 @@ public class SubdocMutateRequest extends BaseKeyValueRequest<SubdocMutateRespons
     private final boolean xattr;
     private final boolean expandMacro;
     private final int originalIndex;
+    private final byte[] encodedPath;
 
     public Command(SubdocCommandType type, String path, byte[] fragment,
                    boolean createParent, boolean xattr, boolean expandMacro, int originalIndex) {
       this.type = type;
       this.path = path;
+      this.encodedPath = path.getBytes(UTF_8);
       this.xattr = xattr;
       this.fragment = fragment;
       this.createParent = createParent;
@@ -301,11 +280,24 @@ public class SubdocMutateRequest extends BaseKeyValueRequest<SubdocMutateRespons
     }
 
     public ByteBuf encode(final ByteBufAllocator alloc) {
-      byte[] path = this.path.getBytes(UTF_8);
-      int pathLength = path.length;
+      return encode(alloc.buffer(encodedSize()));
+    }
+
+    /**
+     * Returns the number of bytes this command occupies in the request body.
+     */
+    public int encodedSize() {
+      return 8 + encodedPath.length + fragment.length;
+    }
 
-      ByteBuf buffer = alloc.buffer(4 + pathLength + fragment.length);
-      buffer.writeByte(type.opcode());
+    /**
+     * Writes this command into the given target buffer and returns it.
+     *
+     * @param target the buffer to write into.
+     * @return the target buffer.
+     */
+    public ByteBuf encode(final ByteBuf target) {
+      target.writeByte(type.opcode());
       byte flags = 0;
       if (xattr) {
         flags |= SUBDOC_FLAG_XATTR_PATH;
@@ -316,13 +308,12 @@ public class SubdocMutateRequest extends BaseKeyValueRequest<SubdocMutateRespons
       if(expandMacro) {
         flags |= SUBDOC_FLAG_EXPAND_MACRO;
       }
-      buffer.writeByte(flags);
-      buffer.writeShort(pathLength);
-      buffer.writeInt(fragment.length);
-      buffer.writeBytes(path);
-      buffer.writeBytes(fragment);
-
-      return buffer;
+      target.writeByte(flags);
+      target.writeShort(encodedPath.length);
+      target.writeInt(fragment.length);
+      target.writeBytes(encodedPath);
+      target.writeBytes(fragment);
+      return target;
     }
 
     public int originalIndex() {
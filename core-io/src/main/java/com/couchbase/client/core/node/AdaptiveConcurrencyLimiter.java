@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.Response;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Limits the number of requests in-flight towards one service of a node, adapting the limit to the observed
+ * dispatch latencies.
+ *
+ * <p>The limit follows an additive increase / multiplicative decrease scheme: as long as the short term average
+ * of the dispatch latencies stays within {@link #LATENCY_TOLERANCE} times the long term average and the limit is
+ * actually used, it grows by one per window of completed requests. Once the short term average rises above
+ * that (or a request times out), the limit shrinks by {@link #BACKOFF_RATIO}, at most once per long term
+ * latency so a burst of slow responses only counts once.</p>
+ *
+ * <p>Requests which do not get a permit are queued and dispatched as soon as in-flight requests complete. If
+ * the queue is as long as the current limit as well, new requests are cancelled right away with
+ * {@link CancellationReason#TOO_MANY_REQUESTS_IN_FLIGHT}, so an overloaded node sheds load instead of filling
+ * up the retry timer.</p>
+ *
+ * <p>A request keeps its permit until it completes, also while it waits for a retry. If it is retried against
+ * a different node, the permit is handed over to the limiter of that node.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public class AdaptiveConcurrencyLimiter {
+
+  static final int DEFAULT_INITIAL_LIMIT = 64;
+  static final int DEFAULT_MIN_LIMIT = 8;
+  static final int DEFAULT_MAX_LIMIT = 4096;
+
+  /**
+   * The factor the limit is multiplied with once congestion is detected.
+   */
+  static final double BACKOFF_RATIO = 0.9;
+
+  /**
+   * How much higher than the long term average the short term average latency may get before the limit backs off.
+   */
+  static final double LATENCY_TOLERANCE = 2.0;
+
+  /**
+   * The minimum time between two decreases if there is no long term latency yet.
+   */
+  private static final long MIN_DECREASE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Consumer<Request<? extends Response>> dispatcher;
+  private final int minLimit;
+  private final int maxLimit;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Queue<Request<? extends Response>> queue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The current limit, only written while holding the lock of this limiter.
+   */
+  private volatile double limit;
+
+  private long shortTermLatency;
+  private long longTermLatency;
+  private long lastDecrease;
+
+  /**
+   * Creates a new limiter with the default limits.
+   *
+   * @param dispatcher dispatches a queued request once it got a permit.
+   */
+  AdaptiveConcurrencyLimiter(final Consumer<Request<? extends Response>> dispatcher) {
+    this(dispatcher, DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+  }
+
+  AdaptiveConcurrencyLimiter(final Consumer<Request<? extends Response>> dispatcher, final int initialLimit,
+                             final int minLimit, final int maxLimit) {
+    this.dispatcher = dispatcher;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+  }
+
+  /**
+   * Tries to acquire a permit for the given request.
+   *
+   * <p>If this method returns false, the request has either been queued (and will be handed to the dispatcher
+   * later) or cancelled, so the caller must not dispatch it.</p>
+   *
+   * @param request the request to dispatch.
+   * @return true if the request can be dispatched right away.
+   */
+  public boolean tryAcquire(final Request<? extends Response> request) {
+    AdaptiveConcurrencyLimiter holder = request.context().concurrencyLimiter();
+    if (holder == this) {
+      return true;
+    }
+
+    if (acquirePermit()) {
+      if (assign(request, holder)) {
+        return true;
+      }
+      // The request completed or moved concurrently, so there is nothing left to dispatch but the permit
+      // given back might be needed by a queued request.
+      drain();
+      return false;
+    }
+
+    if (queued.incrementAndGet() > currentLimit() && purgeCompleted() > currentLimit()) {
+      queued.decrementAndGet();
+      request.cancel(CancellationReason.TOO_MANY_REQUESTS_IN_FLIGHT);
+      return false;
+    }
+    queue.offer(request);
+    // All in-flight requests might have completed before the request has been queued.
+    drain();
+    return false;
+  }
+
+  /**
+   * Returns the current limit of concurrent requests.
+   */
+  public int currentLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns the number of requests which currently hold a permit.
+   */
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Returns the number of requests waiting for a permit.
+   */
+  public int queued() {
+    return queued.get();
+  }
+
+  private boolean acquirePermit() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= currentLimit()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Marks this limiter as the holder of the permit of the request, which must have been acquired already.
+   *
+   * <p>The hand-over is atomic: only if the previous limiter still holds the permit it is replaced and released.
+   * If the request completed (or moved) in the meantime, the permit just acquired is given back instead, so
+   * every permit is released exactly once. If no limiter held it before, this is the first permit of the request,
+   * so the completion callback is registered which releases the permit of whichever limiter holds it by
+   * then.</p>
+   *
+   * @return true if this limiter holds the permit of the request now.
+   */
+  private boolean assign(final Request<? extends Response> request, final AdaptiveConcurrencyLimiter previous) {
+    RequestContext context = request.context();
+    if (!context.compareAndSetConcurrencyLimiter(previous, this)) {
+      inFlight.decrementAndGet();
+      return false;
+    }
+
+    if (previous != null) {
+      previous.release(null);
+    } else {
+      request.response().whenComplete((response, throwable) -> {
+        AdaptiveConcurrencyLimiter holder = context.clearConcurrencyLimiter();
+        if (holder != null) {
+          holder.release(request);
+        }
+      });
+    }
+    return true;
+  }
+
+  /**
+   * Releases a permit and dispatches queued requests if possible.
+   *
+   * @param completed the completed request to adapt the limit with, or null if it moved to another limiter.
+   */
+  private void release(final Request<? extends Response> completed) {
+    inFlight.decrementAndGet();
+    if (completed != null) {
+      adapt(completed);
+    }
+    drain();
+  }
+
+  private synchronized void adapt(final Request<? extends Response> completed) {
+    long latency = completed.context().dispatchLatency();
+    boolean timedOut = completed.cancelled() && completed.cancellationReason() == CancellationReason.TIMEOUT;
+    if (latency <= 0 && !timedOut) {
+      return;
+    }
+
+    if (latency > 0) {
+      shortTermLatency = shortTermLatency == 0 ? latency : shortTermLatency + (latency - shortTermLatency) / 8;
+      longTermLatency = longTermLatency == 0 ? latency : longTermLatency + (latency - longTermLatency) / 128;
+    }
+
+    if (timedOut || shortTermLatency > longTermLatency * LATENCY_TOLERANCE) {
+      long now = System.nanoTime();
+      if (now - lastDecrease > Math.max(longTermLatency, MIN_DECREASE_INTERVAL)) {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        lastDecrease = now;
+      }
+    } else if (inFlight.get() * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+  }
+
+  /**
+   * Dispatches queued requests as long as permits are available.
+   */
+  private void drain() {
+    while (!queue.isEmpty() && acquirePermit()) {
+      Request<? extends Response> request = queue.poll();
+      if (request == null) {
+        inFlight.decrementAndGet();
+        return;
+      }
+      queued.decrementAndGet();
+      if (request.completed()) {
+        inFlight.decrementAndGet();
+        continue;
+      }
+      if (assign(request, request.context().concurrencyLimiter())) {
+        dispatcher.accept(request);
+      }
+    }
+  }
+
+  /**
+   * Removes all queued requests and hands them to the given consumer.
+   *
+   * <p>This is used once the service or node goes away, so the queued requests are retried right away instead
+   * of waiting for permits which are never released by this limiter anymore.</p>
+   *
+   * @param consumer receives all queued requests which are not completed yet.
+   */
+  public void drainQueue(final Consumer<Request<? extends Response>> consumer) {
+    Request<? extends Response> request;
+    while ((request = queue.poll()) != null) {
+      queued.decrementAndGet();
+      if (!request.completed()) {
+        consumer.accept(request);
+      }
+    }
+  }
+
+  /**
+   * Removes queued requests which completed (i.e. timed out) while waiting.
+   *
+   * @return the number of queued requests afterwards.
+   */
+  private int purgeCompleted() {
+    Iterator<Request<? extends Response>> iterator = queue.iterator();
+    while (iterator.hasNext()) {
+      Request<? extends Response> request = iterator.next();
+      if (request.completed() && queue.remove(request)) {
+        queued.decrementAndGet();
+      }
+    }
+    return queued.get();
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveConcurrencyLimiter{" +
+      "limit=" + currentLimit() +
+      ", inFlight=" + inFlight.get() +
+      ", queued=" + queued.get() +
+      '}';
+  }
+
+}
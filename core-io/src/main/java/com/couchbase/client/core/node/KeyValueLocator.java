@@ -17,6 +17,7 @@
 package com.couchbase.client.core.node;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.events.node.NodePartitionLengthNotEqualEvent;
 import com.couchbase.client.core.config.BucketCapabilities;
 import com.couchbase.client.core.config.BucketConfig;
@@ -37,7 +38,10 @@ import com.couchbase.client.core.msg.kv.SyncDurabilityRequest;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.zip.CRC32;
 
@@ -48,10 +52,70 @@ import java.util.zip.CRC32;
  * <p>Coming from 1.0, this locator has not really changed - only minor details have been
  * modified in the refactoring process.</p>
  *
+ * <p>For couchbase buckets, the node for a partition is looked up in a {@link PartitionRoutingTable} which is
+ * built whenever a new config or node list is applied (see {@link #updateRoutingTables(ClusterConfig, List)}), so
+ * that dispatching a request does not need to scan all nodes. Only if the table is missing, has been built for a
+ * different config or does not know the node the regular lookup through the config is performed.</p>
+ *
  * @since 1.0.0
  */
 public class KeyValueLocator implements Locator {
 
+  /**
+   * Holds a reusable {@link CRC32} per thread, since the partition of every request needs to be calculated.
+   */
+  private static final ThreadLocal<CRC32> CRC32_INSTANCES = ThreadLocal.withInitial(CRC32::new);
+
+  /**
+   * Holds the current routing table for each couchbase bucket.
+   *
+   * <p>The map is never modified once published, but replaced as a whole so the dispatch path only needs a
+   * volatile read.</p>
+   */
+  private volatile Map<String, PartitionRoutingTable> routingTables = Collections.emptyMap();
+
+  /**
+   * Rebuilds the routing tables for the couchbase buckets of the given config and publishes them.
+   *
+   * <p>This needs to be called whenever a new config has been applied or the managed nodes changed. Tables
+   * which are still up to date are reused, and tables of buckets which are not part of the config anymore
+   * are dropped.</p>
+   *
+   * @param config the current cluster config.
+   * @param nodes the currently managed nodes.
+   */
+  @Stability.Internal
+  public synchronized void updateRoutingTables(final ClusterConfig config, final List<Node> nodes) {
+    Map<String, PartitionRoutingTable> current = routingTables;
+    Map<String, PartitionRoutingTable> updated = new HashMap<>();
+    for (Map.Entry<String, BucketConfig> entry : config.bucketConfigs().entrySet()) {
+      if (!(entry.getValue() instanceof CouchbaseBucketConfig)) {
+        continue;
+      }
+      CouchbaseBucketConfig bucketConfig = (CouchbaseBucketConfig) entry.getValue();
+      PartitionRoutingTable table = current.get(entry.getKey());
+      if (table == null || !table.builtFor(bucketConfig, nodes)) {
+        table = PartitionRoutingTable.build(bucketConfig, nodes);
+      }
+      updated.put(entry.getKey(), table);
+    }
+    routingTables = updated;
+  }
+
+  /**
+   * Drops the routing table of the given bucket, i.e. once the bucket has been closed.
+   *
+   * @param bucket the name of the bucket.
+   */
+  @Stability.Internal
+  public synchronized void removeRoutingTable(final String bucket) {
+    if (routingTables.containsKey(bucket)) {
+      Map<String, PartitionRoutingTable> updated = new HashMap<>(routingTables);
+      updated.remove(bucket);
+      routingTables = updated;
+    }
+  }
+
   @Override
   public void dispatch(final Request<? extends Response> request, final List<Node> nodes,
                        final ClusterConfig config, final CoreContext ctx) {
@@ -122,8 +186,8 @@ public class KeyValueLocator implements Locator {
     ((Request<?>) request).cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
-  private static void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
-                                      final CouchbaseBucketConfig config, CoreContext ctx) {
+  private void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
+                               final CouchbaseBucketConfig config, CoreContext ctx) {
     if(!precheckCouchbaseBucket(request, config)) {
       return;
     }
@@ -131,6 +195,12 @@ public class KeyValueLocator implements Locator {
     int partitionId = partitionForKey(request.key(), config.numberOfPartitions());
     request.partition((short) partitionId);
 
+    Node target = locateInRoutingTable(partitionId, request, config);
+    if (target != null) {
+      target.send(request);
+      return;
+    }
+
     int nodeId = calculateNodeId(partitionId, request, config);
     if (nodeId < 0) {
       RetryOrchestrator.maybeRetry(ctx, request, RetryReason.NODE_NOT_AVAILABLE);
@@ -170,6 +240,32 @@ public class KeyValueLocator implements Locator {
     return true;
   }
 
+  /**
+   * Looks up the target node in the published routing table of the bucket.
+   *
+   * @param partitionId the partition id.
+   * @param request the request used.
+   * @param config the current bucket configuration.
+   * @return the target node, or null if the regular lookup needs to be performed.
+   */
+  private Node locateInRoutingTable(int partitionId, final KeyValueRequest<?> request,
+                                    final CouchbaseBucketConfig config) {
+    PartitionRoutingTable table = routingTables.get(request.bucket());
+    if (table == null || !table.builtFor(config)) {
+      return null;
+    }
+
+    boolean useFastForward = config.hasFastForwardMap() && request.context().retryAttempts() % 2 == 1;
+
+    if (request instanceof ReplicaGetRequest) {
+      return table.replica(partitionId, ((ReplicaGetRequest) request).replica() - 1, useFastForward);
+    } else if (request instanceof ObserveViaSeqnoRequest && ((ObserveViaSeqnoRequest) request).replica() > 0) {
+      return table.replica(partitionId, ((ObserveViaSeqnoRequest) request).replica() - 1, useFastForward);
+    } else {
+      return table.active(partitionId, useFastForward);
+    }
+  }
+
   /**
    * Helper method to calculate the node if for the given partition and request type.
    *
@@ -266,7 +362,8 @@ public class KeyValueLocator implements Locator {
    * @return the calculated partition.
    */
   public static int partitionForKey(final byte[] id, final int numPartitions) {
-    CRC32 crc32 = new CRC32();
+    CRC32 crc32 = CRC32_INSTANCES.get();
+    crc32.reset();
     crc32.update(id, 0, id.length);
     long rv = (crc32.getValue() >> 16) & 0x7fff;
     return (int) rv &numPartitions - 1;
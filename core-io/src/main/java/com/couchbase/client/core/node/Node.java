@@ -30,9 +30,11 @@ import com.couchbase.client.core.diagnostics.EndpointDiagnostics;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.netty.kv.KeyValueBootstrapCache;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.ScopedRequest;
+import com.couchbase.client.core.msg.TargetedRequest;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.service.AnalyticsService;
@@ -99,6 +101,16 @@ public class Node implements Stateful<NodeState> {
    */
   private final AtomicInteger enabledServices = new AtomicInteger(0);
 
+  /**
+   * The concurrency limiters indexed by service type ordinal, null if the limit is disabled.
+   */
+  private final AdaptiveConcurrencyLimiter[] concurrencyLimiters;
+
+  /**
+   * Shares the KV bootstrap results (error map, negotiated features) across all KV channels to this node.
+   */
+  private final KeyValueBootstrapCache kvBootstrapCache = new KeyValueBootstrapCache();
+
   public static Node create(final CoreContext ctx, final NodeIdentifier identifier,
                             final Optional<String> alternateAddress) {
     return new Node(ctx, identifier, alternateAddress);
@@ -111,6 +123,9 @@ public class Node implements Stateful<NodeState> {
     this.services = new ConcurrentHashMap<>();
     this.disconnect = new AtomicBoolean(false);
     this.alternateAddress = alternateAddress;
+    this.concurrencyLimiters = ctx.environment().ioConfig().adaptiveConcurrencyLimitEnabled()
+      ? createConcurrencyLimiters()
+      : null;
     this.serviceStates = CompositeStateful.create(NodeState.DISCONNECTED, serviceStates -> {
       if (serviceStates.isEmpty()) {
         return NodeState.DISCONNECTED;
@@ -298,6 +313,7 @@ public class Node implements Stateful<NodeState> {
       }
       // todo: only return once the service is disconnected?
       service.disconnect();
+      retryQueuedRequests(service.type());
       long end = System.nanoTime();
       ctx.environment().eventBus().publish(
         new ServiceRemovedEvent(Duration.ofNanos(end - start), service.context())
@@ -379,10 +395,51 @@ public class Node implements Stateful<NodeState> {
       return;
     }
 
+    if (concurrencyLimiters != null && !(request instanceof TargetedRequest)) {
+      AdaptiveConcurrencyLimiter limiter = concurrencyLimiters[request.serviceType().ordinal()];
+      if (limiter != null && !limiter.tryAcquire(request)) {
+        return;
+      }
+    }
+
     request.context().lastDispatchedToNode(identifier);
     service.send(request);
   }
 
+  /**
+   * Creates a concurrency limiter for every service but the manager.
+   *
+   * <p>Manager requests are rare and mostly issued by the SDK itself, and targeted requests (like config loading)
+   * bypass the limiters as well so an overloaded node does not lock the SDK out from fetching new configs.</p>
+   */
+  private AdaptiveConcurrencyLimiter[] createConcurrencyLimiters() {
+    AdaptiveConcurrencyLimiter[] limiters = new AdaptiveConcurrencyLimiter[ServiceType.values().length];
+    for (ServiceType serviceType : ServiceType.values()) {
+      if (serviceType != ServiceType.MANAGER) {
+        limiters[serviceType.ordinal()] = new AdaptiveConcurrencyLimiter(this::send);
+      }
+    }
+    return limiters;
+  }
+
+  /**
+   * Sends the requests waiting in the concurrency limiter of the given service into retry.
+   *
+   * <p>Called once a service is removed (which also happens for all of them on disconnect), since the permits
+   * the queued requests are waiting for might never be released otherwise.</p>
+   *
+   * @param serviceType the type of the removed service.
+   */
+  private void retryQueuedRequests(final ServiceType serviceType) {
+    if (concurrencyLimiters == null) {
+      return;
+    }
+    AdaptiveConcurrencyLimiter limiter = concurrencyLimiters[serviceType.ordinal()];
+    if (limiter != null) {
+      limiter.drainQueue(this::sendIntoRetry);
+    }
+  }
+
   /**
    * Retries the request.
    *
@@ -401,6 +458,13 @@ public class Node implements Stateful<NodeState> {
     return identifier;
   }
 
+  /**
+   * Returns the address the services of this node connect to, which is the alternate address if one is used.
+   */
+  public String address() {
+    return alternateAddress.orElseGet(identifier::address);
+  }
+
   /**
    * If a given {@link ServiceType} is enabled on this node.
    *
@@ -426,12 +490,13 @@ public class Node implements Stateful<NodeState> {
   protected Service createService(final ServiceType serviceType, final int port,
                                   final Optional<String> bucket) {
     CoreEnvironment env = ctx.environment();
-    String address = alternateAddress.orElseGet(identifier::address);
+    String address = address();
 
     switch (serviceType) {
       case KV:
         return new KeyValueService(
-          KeyValueServiceConfig.endpoints(env.ioConfig().numKvConnections()).build(), ctx, address, port, bucket, authenticator);
+          KeyValueServiceConfig.endpoints(env.ioConfig().numKvConnections()).build(), ctx, address, port, bucket, authenticator,
+          kvBootstrapCache);
       case MANAGER:
         return new ManagerService(ctx, address, port);
       case QUERY:
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable lookup table from a partition to the {@link Node} serving it, built for one specific
+ * {@link CouchbaseBucketConfig} and the list of nodes which are managed at the time.
+ *
+ * <p>Every slot holds the node for the active or a replica of the partition (and the same for the fast forward
+ * map if present), so locating a node does not need to compare node identifiers anymore. A slot is null if the
+ * partition has no node assigned or the node is not (yet) part of the managed nodes, in which case the caller
+ * needs to fall back to the regular lookup.</p>
+ *
+ * @since 2.1.2
+ */
+final class PartitionRoutingTable {
+
+  private final CouchbaseBucketConfig config;
+
+  /**
+   * Snapshot of the managed nodes the table has been built from, used to detect changes in the node list.
+   */
+  private final Node[] nodes;
+
+  /**
+   * Holds the active node in the first row and the replica nodes in the following rows, indexed by partition.
+   */
+  private final Node[][] regular;
+
+  /**
+   * Same layout as {@link #regular}, but for the fast forward map (null if the config has none).
+   */
+  private final Node[][] forward;
+
+  private PartitionRoutingTable(final CouchbaseBucketConfig config, final List<Node> nodes) {
+    this.config = config;
+    this.nodes = nodes.toArray(new Node[0]);
+
+    Map<Short, Node> resolved = new HashMap<>();
+    this.regular = buildRows(config, this.nodes, resolved, false);
+    this.forward = config.hasFastForwardMap() ? buildRows(config, this.nodes, resolved, true) : null;
+  }
+
+  /**
+   * Builds a new table for the given config and managed nodes.
+   *
+   * @param config the bucket config to build the table from.
+   * @param nodes the currently managed nodes.
+   * @return the built table.
+   */
+  static PartitionRoutingTable build(final CouchbaseBucketConfig config, final List<Node> nodes) {
+    return new PartitionRoutingTable(config, nodes);
+  }
+
+  /**
+   * Checks if this table has been built for the given config, regardless of the managed nodes.
+   *
+   * <p>This is cheap enough to be performed on every dispatch, since the table is rebuilt by the
+   * {@link KeyValueLocator} whenever the managed nodes change.</p>
+   *
+   * @param config the bucket config to check.
+   * @return true if the table has been built for the very same config instance.
+   */
+  boolean builtFor(final CouchbaseBucketConfig config) {
+    return this.config == config;
+  }
+
+  /**
+   * Checks if this table has been built for the given config and the current state of the managed nodes.
+   *
+   * <p>The managed nodes are compared element by element against the snapshot taken when building the table,
+   * since the caller usually passes the same (mutable) list every time.</p>
+   *
+   * @param config the bucket config to check.
+   * @param nodes the currently managed nodes.
+   * @return true if the table can be used as is, false if it needs to be rebuilt.
+   */
+  boolean builtFor(final CouchbaseBucketConfig config, final List<Node> nodes) {
+    if (this.config != config || this.nodes.length != nodes.size()) {
+      return false;
+    }
+    int i = 0;
+    for (Node node : nodes) {
+      if (i >= this.nodes.length || this.nodes[i++] != node) {
+        return false;
+      }
+    }
+    return i == this.nodes.length;
+  }
+
+  /**
+   * Returns the node which serves the active copy of the partition.
+   *
+   * @param partition the partition index.
+   * @param useFastForward if the fast forward map should be used.
+   * @return the node or null if unknown.
+   */
+  Node active(final int partition, final boolean useFastForward) {
+    return lookup(0, partition, useFastForward);
+  }
+
+  /**
+   * Returns the node which serves the given replica of the partition.
+   *
+   * @param partition the partition index.
+   * @param replica the replica index, starting at 0 for the first replica.
+   * @param useFastForward if the fast forward map should be used.
+   * @return the node or null if unknown.
+   */
+  Node replica(final int partition, final int replica, final boolean useFastForward) {
+    return replica < 0 ? null : lookup(replica + 1, partition, useFastForward);
+  }
+
+  private Node lookup(final int row, final int partition, final boolean useFastForward) {
+    Node[][] rows = useFastForward ? forward : regular;
+    if (rows == null || row >= rows.length) {
+      return null;
+    }
+    Node[] partitions = rows[row];
+    return partition >= 0 && partition < partitions.length ? partitions[partition] : null;
+  }
+
+  private static Node[][] buildRows(final CouchbaseBucketConfig config, final Node[] nodes,
+                                    final Map<Short, Node> resolved, final boolean useFastForward) {
+    int numPartitions = config.numberOfPartitions();
+    int numReplicas = Math.max(0, config.numberOfReplicas());
+
+    Node[][] rows = new Node[numReplicas + 1][numPartitions];
+    for (int partition = 0; partition < numPartitions; partition++) {
+      rows[0][partition] = resolve(config, nodes, resolved, config.nodeIndexForActive(partition, useFastForward));
+      for (int replica = 0; replica < numReplicas; replica++) {
+        rows[replica + 1][partition] = resolve(
+          config,
+          nodes,
+          resolved,
+          config.nodeIndexForReplica(partition, replica, useFastForward)
+        );
+      }
+    }
+    return rows;
+  }
+
+  private static Node resolve(final CouchbaseBucketConfig config, final Node[] nodes,
+                              final Map<Short, Node> resolved, final short nodeIndex) {
+    if (nodeIndex < 0) {
+      return null;
+    }
+    if (resolved.containsKey(nodeIndex)) {
+      return resolved.get(nodeIndex);
+    }
+
+    Node found = null;
+    NodeInfo nodeInfo;
+    try {
+      nodeInfo = config.nodeAtIndex(nodeIndex);
+    } catch (IndexOutOfBoundsException ex) {
+      nodeInfo = null;
+    }
+    if (nodeInfo != null) {
+      for (Node node : nodes) {
+        if (node.identifier().equals(nodeInfo.identifier())) {
+          found = node;
+          break;
+        }
+      }
+    }
+    resolved.put(nodeIndex, found);
+    return found;
+  }
+
+}
@@ -19,6 +19,7 @@ package com.couchbase.client.core.retry;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.Event;
+import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.request.RequestNotRetriedEvent;
 import com.couchbase.client.core.cnc.events.request.RequestRetryScheduledEvent;
 import com.couchbase.client.core.msg.CancellationReason;
@@ -61,9 +62,12 @@ public class RetryOrchestrator {
 
     request.retryStrategy().shouldRetry(request, reason).whenComplete((retryAction, throwable) -> {
       if (throwable != null) {
-        ctx.environment().eventBus().publish(
-          new RequestNotRetriedEvent(Event.Severity.INFO, request.getClass(), request.context(), reason, throwable)
-        );
+        EventBus eventBus = ctx.environment().eventBus();
+        if (eventBus.accepts(Event.Severity.INFO, Event.Category.REQUEST.path())) {
+          eventBus.publish(
+            new RequestNotRetriedEvent(Event.Severity.INFO, request.getClass(), request.context(), reason, throwable)
+          );
+        }
       }
 
       Optional<Duration> duration = retryAction.duration();
@@ -73,9 +77,10 @@ public class RetryOrchestrator {
       } else {
         // unmonitored request's severity is downgraded to debug to not spam the info-level logs
         Event.Severity severity = request instanceof UnmonitoredRequest ? Event.Severity.DEBUG : Event.Severity.INFO;
-        ctx.environment().eventBus().publish(
-          new RequestNotRetriedEvent(severity, request.getClass(), request.context(), reason, null)
-        );
+        EventBus eventBus = ctx.environment().eventBus();
+        if (eventBus.accepts(severity, Event.Category.REQUEST.path())) {
+          eventBus.publish(new RequestNotRetriedEvent(severity, request.getClass(), request.context(), reason, null));
+        }
         request.cancel(CancellationReason.noMoreRetries(reason));
       }
     });
@@ -139,9 +144,10 @@ public class RetryOrchestrator {
    */
   private static void retryWithDuration(final CoreContext ctx, final Request<? extends Response> request,
                                         final Duration duration, final RetryReason reason) {
-    ctx.environment().eventBus().publish(
-      new RequestRetryScheduledEvent(duration, request.context(), request.getClass(), reason)
-    );
+    EventBus eventBus = ctx.environment().eventBus();
+    if (eventBus.accepts(Event.Severity.DEBUG, Event.Category.REQUEST.path())) {
+      eventBus.publish(new RequestRetryScheduledEvent(duration, request.context(), request.getClass(), reason));
+    }
     request.context().incrementRetryAttempts(duration, reason);
     ctx.environment().timer().scheduleForRetry(ctx.core(), request, duration);
   }
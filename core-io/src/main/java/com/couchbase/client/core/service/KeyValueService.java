@@ -20,6 +20,7 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.KeyValueEndpoint;
 import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.io.netty.kv.KeyValueBootstrapCache;
 import com.couchbase.client.core.service.strategy.PartitionSelectionStrategy;
 
 import java.util.Optional;
@@ -35,20 +36,28 @@ public class KeyValueService extends PooledService {
   private final int port;
   private final Optional<String> bucketname;
   private final Authenticator authenticator;
+  private final KeyValueBootstrapCache bootstrapCache;
 
   public KeyValueService(final ServiceConfig serviceConfig, final CoreContext coreContext,
                          final String hostname, final int port, final Optional<String> bucketname,
                          final Authenticator authenticator) {
+    this(serviceConfig, coreContext, hostname, port, bucketname, authenticator, new KeyValueBootstrapCache());
+  }
+
+  public KeyValueService(final ServiceConfig serviceConfig, final CoreContext coreContext,
+                         final String hostname, final int port, final Optional<String> bucketname,
+                         final Authenticator authenticator, final KeyValueBootstrapCache bootstrapCache) {
     super(serviceConfig, new ServiceContext(coreContext, hostname, port, ServiceType.KV, bucketname));
     this.hostname = hostname;
     this.port = port;
     this.bucketname = bucketname;
     this.authenticator = authenticator;
+    this.bootstrapCache = bootstrapCache;
   }
 
   @Override
   protected Endpoint createEndpoint() {
-    return new KeyValueEndpoint(serviceContext(), hostname, port, bucketname, authenticator);
+    return new KeyValueEndpoint(serviceContext(), hostname, port, bucketname, authenticator, bootstrapCache);
   }
 
   @Override
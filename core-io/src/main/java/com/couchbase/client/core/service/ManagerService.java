@@ -28,11 +28,13 @@ public class ManagerService extends PooledService {
 
   private final String hostname;
   private final int port;
+  private final EndpointSelectionStrategy selectionStrategy;
 
   public ManagerService(CoreContext coreContext, final String hostname, final int port) {
     super(new ManagerServiceConfig(), new ServiceContext(coreContext, hostname, port, ServiceType.MANAGER, Optional.empty()));
     this.hostname = hostname;
     this.port = port;
+    this.selectionStrategy = configuredSelectionStrategy(coreContext, ServiceType.MANAGER, new RoundRobinSelectionStrategy());
   }
 
   @Override
@@ -42,7 +44,7 @@ public class ManagerService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return new RoundRobinSelectionStrategy();
+    return selectionStrategy;
   }
 
   static class ManagerServiceConfig implements ServiceConfig {
@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.service;
 
+import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.events.service.IdleEndpointRemovedEvent;
 import com.couchbase.client.core.cnc.events.service.ServiceConnectInitiatedEvent;
 import com.couchbase.client.core.cnc.events.service.ServiceDisconnectInitiatedEvent;
@@ -24,10 +25,13 @@ import com.couchbase.client.core.diagnostics.EndpointDiagnostics;
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.env.EndpointSelection;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
+import com.couchbase.client.core.service.strategy.PowerOfTwoChoicesSelectionStrategy;
 import com.couchbase.client.core.util.CompositeStateful;
 import reactor.core.publisher.Flux;
 
@@ -170,7 +174,12 @@ abstract class PooledService implements Service {
   private void scheduleCleanIdleConnections() {
     final Duration idleTime = serviceConfig.idleTime();
     if (idleTime != null && !idleTime.isZero()) {
-      serviceContext.environment().timer().schedule(this::cleanIdleConnections, idleTimeCheckInterval());
+      serviceContext.environment().timer().schedule(() -> {
+        if (!disconnected.get()) {
+          cleanIdleConnections();
+          scheduleCleanIdleConnections();
+        }
+      }, idleTimeCheckInterval());
     }
   }
 
@@ -187,8 +196,11 @@ abstract class PooledService implements Service {
    * Note that we explicitly do not make any clean up attempts on the {@link #reservedEndpoints}. They will either come
    * into our endpoint pool when connected, or fall out of the pool when they are disconnected immediately. We only need
    * to take them into account when checking how many endpoints we have flying around to clean up at max.
+   * <p>
+   * This method performs a single check only, it is called periodically through
+   * {@link #scheduleCleanIdleConnections()} (and directly from unit tests).
    */
-  private synchronized void cleanIdleConnections() {
+  synchronized void cleanIdleConnections() {
     if (disconnected.get()) {
       return;
     }
@@ -230,8 +242,6 @@ abstract class PooledService implements Service {
         publishIdleEndpointRemovedEvent(endpoint, actualIdleTime);
       }
     }
-
-    scheduleCleanIdleConnections();
   }
 
   /**
@@ -273,6 +283,23 @@ abstract class PooledService implements Service {
    */
   protected abstract EndpointSelectionStrategy selectionStrategy();
 
+  /**
+   * Creates the selection strategy configured for the given service type in the {@link IoConfig}.
+   *
+   * @param context the core context holding the environment.
+   * @param serviceType the type of the service.
+   * @param defaultStrategy the strategy of the service if {@link EndpointSelection#DEFAULT} is configured.
+   * @return the selection strategy to use.
+   */
+  static EndpointSelectionStrategy configuredSelectionStrategy(final CoreContext context,
+                                                               final ServiceType serviceType,
+                                                               final EndpointSelectionStrategy defaultStrategy) {
+    EndpointSelection selection = context.environment().ioConfig().endpointSelection(serviceType);
+    return selection == EndpointSelection.POWER_OF_TWO_CHOICES
+      ? new PowerOfTwoChoicesSelectionStrategy()
+      : defaultStrategy;
+  }
+
   @Override
   public <R extends Request<? extends Response>> void send(final R request) {
     if (request.completed()) {
@@ -27,12 +27,14 @@ public class QueryService extends PooledService {
 
   private final String hostname;
   private final int port;
+  private final EndpointSelectionStrategy selectionStrategy;
 
   public QueryService(final QueryServiceConfig config, final CoreContext context,
                       final String hostname, final int port) {
     super(config, new ServiceContext(context, hostname, port, ServiceType.QUERY, Optional.empty()));
     this.hostname = hostname;
     this.port = port;
+    this.selectionStrategy = configuredSelectionStrategy(context, ServiceType.QUERY, new RoundRobinSelectionStrategy());
   }
 
   @Override
@@ -42,7 +44,7 @@ public class QueryService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return new RoundRobinSelectionStrategy();
+    return selectionStrategy;
   }
 
   @Override
@@ -27,12 +27,14 @@ public class SearchService extends PooledService {
 
   private final String hostname;
   private final int port;
+  private final EndpointSelectionStrategy selectionStrategy;
 
   public SearchService(final SearchServiceConfig config, final CoreContext context,
                        final String hostname, final int port) {
     super(config, new ServiceContext(context, hostname, port, ServiceType.SEARCH, Optional.empty()));
     this.hostname = hostname;
     this.port = port;
+    this.selectionStrategy = configuredSelectionStrategy(context, ServiceType.SEARCH, new RoundRobinSelectionStrategy());
   }
 
   @Override
@@ -42,7 +44,7 @@ public class SearchService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return new RoundRobinSelectionStrategy();
+    return selectionStrategy;
   }
 
   @Override
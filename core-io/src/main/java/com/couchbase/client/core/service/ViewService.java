@@ -27,12 +27,14 @@ public class ViewService extends PooledService {
 
   private final String hostname;
   private final int port;
+  private final EndpointSelectionStrategy selectionStrategy;
 
   public ViewService(final ViewServiceConfig config, final CoreContext context,
                      final String hostname, final int port) {
     super(config, new ServiceContext(context, hostname, port, ServiceType.VIEWS, Optional.empty()));
     this.hostname = hostname;
     this.port = port;
+    this.selectionStrategy = configuredSelectionStrategy(context, ServiceType.VIEWS, new RoundRobinSelectionStrategy());
   }
 
   @Override
@@ -42,7 +44,7 @@ public class ViewService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return new RoundRobinSelectionStrategy();
+    return selectionStrategy;
   }
 
   @Override
@@ -16,16 +16,12 @@
 
 package com.couchbase.client.core.service.kv;
 
-import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.cnc.RequestSpan;
-import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.CouchbaseBucketConfig;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.ReplicaNotConfiguredException;
 import com.couchbase.client.core.msg.kv.MutationToken;
-import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
-import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.retry.reactor.Repeat;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -66,46 +62,37 @@ public class Observe {
     return maybeRetry(observed, ctx).timeout(ctx.timeout(), ctx.environment().scheduler()).doFinally(t -> parentSpan.end());
   }
 
+  /**
+   * Polls the active and/or replicas for the partition of the mutation token.
+   *
+   * <p>The polls go through the {@link ObserveCoordinator}, so concurrent observe operations on the same partition
+   * share their requests.</p>
+   */
   private static Flux<ObserveItem> viaMutationToken(final int bucketReplicas, final ObserveContext ctx,
                                                     final RequestSpan parent) {
     if (!ctx.mutationToken().isPresent()) {
       throw new IllegalStateException("MutationToken is not present, this is a bug!");
     }
 
-    Duration timeout = ctx.timeout();
-    RetryStrategy retryStrategy = ctx.retryStrategy();
     MutationToken mutationToken = ctx.mutationToken().get();
-    String id = ctx.key();
 
-    List<ObserveViaSeqnoRequest> requests = new ArrayList<>();
+    List<Integer> replicas = new ArrayList<>();
     if (ctx.persistTo() != ObservePersistTo.NONE) {
-      final RequestSpan span = ctx.environment().requestTracer()
-        .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
-      requests.add(new ObserveViaSeqnoRequest(timeout, ctx, ctx.collectionIdentifier(), retryStrategy, 0, true,
-        mutationToken.partitionUUID(), id, span));
+      replicas.add(0);
     }
 
     if (ctx.persistTo().touchesReplica() || ctx.replicateTo().touchesReplica()) {
-      for (short i = 1; i <= bucketReplicas; i++) {
-        final RequestSpan span = ctx.environment().requestTracer()
-          .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
-        requests.add(new ObserveViaSeqnoRequest(timeout, ctx, ctx.collectionIdentifier(), retryStrategy, i, false,
-          mutationToken.partitionUUID(), id, span));
+      for (int i = 1; i <= bucketReplicas; i++) {
+        replicas.add(i);
       }
     }
 
-    return Flux.fromIterable(requests)
-      .flatMap(request -> {
-        ctx.core().send(request);
-        return Reactor
-          .wrap(request, request.response(), true)
-          .onErrorResume(t-> Mono.empty())
-          .doFinally(signalType -> request.context().logicallyComplete());
-      })
+    ObserveCoordinator coordinator = ctx.core().observeCoordinator();
+    return Flux.fromIterable(replicas)
+      .flatMap(replica -> coordinator.observe(ctx, mutationToken, replica, parent))
       .map(response -> ObserveItem.fromMutationToken(mutationToken, response));
   }
 
-
   private static Mono<Void> maybeRetry(Flux<ObserveItem> observedItems, final ObserveContext ctx) {
     return observedItems
       .scan(ObserveItem.empty(), ObserveItem::add)
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces the seqno based observe polls of concurrent {@link Observe} operations.
+ *
+ * <p>The OBSERVE_SEQ command reports the sequence numbers of a whole partition, so its response covers every
+ * mutation token of that partition and not just the one of the document which triggered it. If another poll for the
+ * same partition and replica is in flight already, the caller gets the response of that request instead of sending
+ * its own. This way observe traffic scales with the number of partitions (and replicas) being observed and not with
+ * the number of documents waiting for their durability requirements.</p>
+ *
+ * <p>A shared response might have been requested before the mutation of a later waiter has been applied. Since every
+ * waiter compares the returned sequence numbers against its own token, it then simply keeps polling.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public class ObserveCoordinator {
+
+  private final Map<Target, CompletableFuture<ObserveViaSeqnoResponse>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Observes the partition of the given mutation token on the active (replica 0) or the given replica.
+   *
+   * <p>Failed polls complete empty, like every individual poll did before.</p>
+   *
+   * @param ctx the context of the observe operation.
+   * @param token the mutation token to observe.
+   * @param replica 0 for the active, otherwise the index of the replica.
+   * @param parent the parent span of the observe operation.
+   * @return a mono completing with the (possibly shared) response.
+   */
+  public Mono<ObserveViaSeqnoResponse> observe(final ObserveContext ctx, final MutationToken token, final int replica,
+                                               final RequestSpan parent) {
+    // a dependent future is handed out so that a cancelled subscriber does not cancel the shared poll.
+    return Mono
+      .defer(() -> Mono.fromFuture(poll(ctx, token, replica, parent).thenApply(Function.identity())))
+      .onErrorResume(t -> Mono.empty());
+  }
+
+  /**
+   * Returns the number of polls currently in flight.
+   */
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private CompletableFuture<ObserveViaSeqnoResponse> poll(final ObserveContext ctx, final MutationToken token,
+                                                          final int replica, final RequestSpan parent) {
+    Target target = new Target(ctx.collectionIdentifier(), token.partitionID(), token.partitionUUID(), replica);
+    CompletableFuture<ObserveViaSeqnoResponse> existing = inFlight.get(target);
+    if (existing != null) {
+      return existing;
+    }
+
+    CompletableFuture<ObserveViaSeqnoResponse> shared = new CompletableFuture<>();
+    existing = inFlight.putIfAbsent(target, shared);
+    if (existing != null) {
+      return existing;
+    }
+
+    RequestSpan span = ctx.environment().requestTracer().requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
+    ObserveViaSeqnoRequest request = new ObserveViaSeqnoRequest(ctx.timeout(), ctx, ctx.collectionIdentifier(),
+      ctx.retryStrategy(), replica, replica == 0, token.partitionUUID(), ctx.key(), span);
+    request.response().whenComplete((response, error) -> {
+      inFlight.remove(target, shared);
+      request.context().logicallyComplete();
+      if (error != null) {
+        shared.completeExceptionally(error);
+      } else {
+        shared.complete(response);
+      }
+    });
+    ctx.core().send(request);
+    return shared;
+  }
+
+  /**
+   * Identifies the partition on a specific node which is polled.
+   */
+  private static final class Target {
+
+    private final CollectionIdentifier collectionIdentifier;
+    private final short partition;
+    private final long partitionUUID;
+    private final int replica;
+
+    Target(final CollectionIdentifier collectionIdentifier, final short partition, final long partitionUUID,
+           final int replica) {
+      this.collectionIdentifier = collectionIdentifier;
+      this.partition = partition;
+      this.partitionUUID = partitionUUID;
+      this.replica = replica;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Target target = (Target) o;
+      return partition == target.partition
+        && partitionUUID == target.partitionUUID
+        && replica == target.replica
+        && Objects.equals(collectionIdentifier, target.collectionIdentifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(collectionIdentifier, partition, partitionUUID, replica);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two random endpoints and selects the less loaded one of them ("power of two choices").
+ *
+ * <p>An endpoint is eligible if it is connected, free to write and its channel is writable. Between two eligible
+ * candidates the one with fewer outstanding requests wins, and if those are equal the one with the lower recent
+ * dispatch latency. Comparing only two random candidates keeps the selection cheap and avoids that all callers
+ * pile onto the same "best" endpoint, while a single slow socket is still picked much less often than the
+ * others.</p>
+ *
+ * <p>If neither candidate is eligible, the remaining endpoints are scanned so that a request is only sent back
+ * to retry if no endpoint at all can take it.</p>
+ *
+ * @since 2.1.2
+ */
+public class PowerOfTwoChoicesSelectionStrategy implements EndpointSelectionStrategy {
+
+  @Override
+  public <R extends Request<? extends Response>> Endpoint select(final R request, final List<Endpoint> endpoints) {
+    int size = endpoints.size();
+    if (size == 0) {
+      return null;
+    }
+    if (size == 1) {
+      Endpoint endpoint = endpoints.get(0);
+      return eligible(endpoint) ? endpoint : null;
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    Endpoint firstEndpoint = endpoints.get(first);
+    Endpoint secondEndpoint = endpoints.get(second);
+    boolean firstEligible = eligible(firstEndpoint);
+    boolean secondEligible = eligible(secondEndpoint);
+    if (firstEligible && secondEligible) {
+      return lessLoaded(firstEndpoint, secondEndpoint);
+    } else if (firstEligible) {
+      return firstEndpoint;
+    } else if (secondEligible) {
+      return secondEndpoint;
+    }
+
+    Endpoint selected = null;
+    for (int i = 1; i < size; i++) {
+      Endpoint endpoint = endpoints.get((first + i) % size);
+      if (endpoint != secondEndpoint && eligible(endpoint)) {
+        selected = selected == null ? endpoint : lessLoaded(selected, endpoint);
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Checks if the given endpoint can take a request right now.
+   */
+  private static boolean eligible(final Endpoint endpoint) {
+    return endpoint != null
+      && endpoint.state() == EndpointState.CONNECTED
+      && endpoint.freeToWrite()
+      && endpoint.channelWritable();
+  }
+
+  /**
+   * Returns the endpoint with fewer outstanding requests, or with the lower recent latency if those are equal.
+   */
+  private static Endpoint lessLoaded(final Endpoint first, final Endpoint second) {
+    long firstOutstanding = first.outstandingRequests();
+    long secondOutstanding = second.outstandingRequests();
+    if (firstOutstanding != secondOutstanding) {
+      return firstOutstanding < secondOutstanding ? first : second;
+    }
+    return first.recentLatency() <= second.recentLatency() ? first : second;
+  }
+
+}
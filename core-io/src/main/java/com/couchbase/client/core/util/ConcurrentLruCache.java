@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A size bounded cache which can be used concurrently without any locking on reads.
+ *
+ * <p>Compared to a synchronized {@link LRUCache}, where every read reorders the entries under a global lock, the
+ * least recently used order is approximated through the CLOCK (second chance) algorithm: a read only marks its
+ * entry as referenced, and once the cache is over its capacity the writer evicts the first entry in insertion
+ * order which has not been referenced since it has been looked at the last time.</p>
+ *
+ * <p>Hits, misses and evictions are reported through counters named "cb.cache.hits", "cb.cache.misses" and
+ * "cb.cache.evictions" on the provided {@link Meter}, tagged with the name of the cache.</p>
+ *
+ * @since 2.1.2
+ */
+@Stability.Internal
+public class ConcurrentLruCache<K, V> {
+
+  private final int maxCapacity;
+  private final Map<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+  private final Queue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger removedInClock = new AtomicInteger();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  /**
+   * Creates a new cache without reporting any metrics.
+   *
+   * @param maxCapacity the maximum number of entries kept.
+   */
+  public ConcurrentLruCache(final int maxCapacity) {
+    this(maxCapacity, new NoopMeter(), "unnamed");
+  }
+
+  /**
+   * Creates a new cache which reports its hits, misses and evictions to the given meter.
+   *
+   * @param maxCapacity the maximum number of entries kept.
+   * @param meter the meter to create the counters from.
+   * @param name the name of the cache, used as the "cb.cache" tag of the counters.
+   */
+  public ConcurrentLruCache(final int maxCapacity, final Meter meter, final String name) {
+    this.maxCapacity = maxCapacity;
+    Map<String, String> tags = Collections.singletonMap("cb.cache", name);
+    this.hits = meter.counter("cb.cache.hits", tags);
+    this.misses = meter.counter("cb.cache.misses", tags);
+    this.evictions = meter.counter("cb.cache.evictions", tags);
+  }
+
+  /**
+   * Returns the value for the given key and marks it as recently used.
+   *
+   * @param key the key to look up.
+   * @return the value if present, null otherwise.
+   */
+  public V get(final K key) {
+    Node<K, V> node = entries.get(key);
+    if (node == null) {
+      misses.incrementBy(1);
+      return null;
+    }
+    if (!node.referenced) {
+      node.referenced = true;
+    }
+    hits.incrementBy(1);
+    return node.value;
+  }
+
+  /**
+   * Stores the value for the given key, evicting other entries if the cache is over its capacity afterwards.
+   *
+   * @param key the key to store.
+   * @param value the value to store.
+   */
+  public void put(final K key, final V value) {
+    while (true) {
+      Node<K, V> existing = entries.get(key);
+      if (existing != null) {
+        existing.value = value;
+        existing.referenced = true;
+        return;
+      }
+
+      Node<K, V> node = new Node<>(key, value);
+      if (entries.putIfAbsent(key, node) == null) {
+        clock.offer(node);
+        if (size.incrementAndGet() > maxCapacity) {
+          evict();
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes the entry for the given key.
+   *
+   * <p>The entry is only marked as removed in the clock queue, since unlinking it right away would need a linear
+   * scan. Removed entries are dropped by the eviction sweep, or all at once if they pile up without one.</p>
+   *
+   * @param key the key to remove.
+   * @return the removed value if present, null otherwise.
+   */
+  public V remove(final K key) {
+    Node<K, V> node = entries.remove(key);
+    if (node == null) {
+      return null;
+    }
+    node.removed = true;
+    node.referenced = false;
+    size.decrementAndGet();
+    if (removedInClock.incrementAndGet() > maxCapacity) {
+      purgeRemoved();
+    }
+    return node.value;
+  }
+
+  /**
+   * Returns the number of entries currently stored.
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the number of nodes in the clock queue, including the removed ones not unlinked yet.
+   */
+  int clockSize() {
+    return clock.size();
+  }
+
+  /**
+   * Returns the number of removed nodes which are accounted for as still being in the clock queue.
+   */
+  int removedInClock() {
+    return removedInClock.get();
+  }
+
+  /**
+   * Evicts entries until the cache is back within its capacity.
+   *
+   * <p>Referenced entries get a second chance: they are only unmarked and moved to the back of the queue.</p>
+   */
+  private void evict() {
+    while (size.get() > maxCapacity) {
+      Node<K, V> candidate = clock.poll();
+      if (candidate == null) {
+        return;
+      }
+      if (candidate.removed) {
+        if (candidate.claimUnlinked()) {
+          removedInClock.decrementAndGet();
+        }
+      } else if (candidate.referenced) {
+        candidate.referenced = false;
+        clock.offer(candidate);
+      } else if (entries.remove(candidate.key, candidate)) {
+        size.decrementAndGet();
+        evictions.incrementBy(1);
+      } else if (candidate.claimUnlinked()) {
+        // Removed concurrently after it has been polled, so the sweep will not come across it anymore.
+        removedInClock.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Unlinks all removed entries from the clock queue, which keeps it bounded if entries are removed far more
+   * often than evicted.
+   *
+   * <p>A node might be polled by a concurrent eviction at the same time, so only the side which claims it
+   * accounts for it in the {@link #removedInClock} counter.</p>
+   */
+  private void purgeRemoved() {
+    clock.removeIf(node -> {
+      if (node.removed && node.claimUnlinked()) {
+        removedInClock.decrementAndGet();
+        return true;
+      }
+      return false;
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "ConcurrentLruCache{" +
+      "maxCapacity=" + maxCapacity +
+      ", size=" + size.get() +
+      '}';
+  }
+
+  /**
+   * Holds a cached value together with its reference and removal bits.
+   */
+  private static final class Node<K, V> {
+
+    /**
+     * Atomic updater for the {@link #unlinked} field.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Node> UNLINKED_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(Node.class, "unlinked");
+
+    private final K key;
+    private volatile V value;
+    private volatile boolean referenced;
+    private volatile boolean removed;
+
+    /**
+     * Set to 1 once the node has been unlinked from the clock queue and accounted for.
+     *
+     * <p>Do not rename this field without updating the {@link #UNLINKED_UPDATER}!</p>
+     */
+    private volatile int unlinked;
+
+    Node(final K key, final V value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    /**
+     * Claims the node as unlinked from the clock queue.
+     *
+     * @return true if this call claimed it, false if it has been claimed already.
+     */
+    boolean claimUnlinked() {
+      return UNLINKED_UPDATER.compareAndSet(this, 0, 1);
+    }
+  }
+
+}
@@ -18,6 +18,7 @@ package com.couchbase.client.core;
 
 import com.couchbase.client.core.cnc.Event;
 import com.couchbase.client.core.cnc.events.core.InitGlobalConfigFailedEvent;
+import com.couchbase.client.core.cnc.metrics.ResponseMetrics;
 import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.BucketConfigParser;
 import com.couchbase.client.core.config.ClusterConfig;
@@ -45,6 +46,8 @@ import java.util.Optional;
 
 import static com.couchbase.client.test.Util.readResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -369,26 +372,30 @@ class CoreTest {
 
     Node mock101 = mock(Node.class);
     when(mock101.identifier()).thenReturn(new NodeIdentifier("10.143.190.101", 8091));
+    when(mock101.address()).thenReturn("10.143.190.101");
     when(mock101.addService(any(ServiceType.class), anyInt(), any(Optional.class)))
       .thenReturn(Mono.empty());
     when(mock101.removeService(any(ServiceType.class), any(Optional.class)))
       .thenReturn(Mono.empty());
     when(mock101.serviceEnabled(any(ServiceType.class))).thenReturn(true);
+    when(mock101.hasServicesEnabled()).thenReturn(true);
     when(mock101.disconnect()).thenReturn(Mono.empty());
 
     Node mock102 = mock(Node.class);
     when(mock102.identifier()).thenReturn(new NodeIdentifier("10.143.190.102", 8091));
+    when(mock102.address()).thenReturn("10.143.190.102");
     when(mock102.addService(any(ServiceType.class), anyInt(), any(Optional.class)))
       .thenReturn(Mono.empty());
     when(mock102.removeService(any(ServiceType.class), any(Optional.class)))
       .thenReturn(Mono.empty());
     when(mock102.serviceEnabled(any(ServiceType.class))).thenReturn(true);
+    when(mock102.hasServicesEnabled()).thenReturn(true);
     when(mock102.disconnect()).thenReturn(Mono.empty());
 
     final Map<String, Node> mocks = new HashMap<>();
     mocks.put("10.143.190.101", mock101);
     mocks.put("10.143.190.102", mock102);
-    new Core(ENV, AUTHENTICATOR, SeedNode.LOCALHOST) {
+    Core core = new Core(ENV, AUTHENTICATOR, SeedNode.LOCALHOST) {
       @Override
       public ConfigurationProvider createConfigurationProvider() {
         return configProvider;
@@ -429,6 +436,9 @@ class CoreTest {
     verify(mock102, times(1))
       .addService(ServiceType.SEARCH, 8094, Optional.empty());
 
+    ResponseMetrics metrics101 = core.responseMetrics(ServiceType.KV, "10.143.190.101");
+    ResponseMetrics metrics102 = core.responseMetrics(ServiceType.KV, "10.143.190.102");
+
     BucketConfig twoNodesLessServices = BucketConfigParser.parse(
       readResource("one_node_config.json", CoreTest.class),
       ENV,
@@ -437,7 +447,11 @@ class CoreTest {
     clusterConfig.setBucketConfig(twoNodesLessServices);
     configs.onNext(clusterConfig);
 
+    verify(mock101, never()).disconnect();
     verify(mock102, times(1)).disconnect();
+
+    assertSame(metrics101, core.responseMetrics(ServiceType.KV, "10.143.190.101"));
+    assertNotSame(metrics102, core.responseMetrics(ServiceType.KV, "10.143.190.102"));
   }
 
   /**
@@ -28,16 +28,22 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.Disposable;
 import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 import static com.couchbase.client.test.Util.waitUntilCondition;
@@ -218,4 +224,30 @@ class ReactorTest {
     verifier.verify();
     assertEquals(0, droppedErrors.get());
   }
-}
\ No newline at end of file
+
+  @Test
+  void parallelMapOrderedKeepsOrderAndBackpressure() {
+    Scheduler scheduler = Schedulers.newParallel("parallel-map-test", 4);
+    try {
+      AtomicLong requested = new AtomicLong();
+      Flux<Integer> source = Flux.range(0, 100).doOnRequest(requested::addAndGet);
+
+      StepVerifier
+        .create(Reactor.parallelMapOrdered(source, i -> {
+          // later elements finish first, so the order has to be restored
+          LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100 - i));
+          return i * 2;
+        }, scheduler, 4), 0)
+        .thenAwait(Duration.ofMillis(50))
+        .then(() -> assertEquals(4, requested.get()))
+        .thenRequest(2)
+        .expectNext(0, 2)
+        .thenRequest(Long.MAX_VALUE)
+        .expectNextCount(98)
+        .verifyComplete();
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+}
@@ -16,18 +16,36 @@
 
 package com.couchbase.client.core;
 
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.NoopRequest;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class TimerTest {
 
@@ -67,4 +85,67 @@ class TimerTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  @SuppressWarnings("unchecked")
+  void timesOutRequestsFromAllShards() throws Exception {
+    Timer timer = new Timer(10, new NoopMeter(), 4, Duration.ofMillis(1));
+    timer.start();
+    try {
+      CoreContext ctx = new CoreContext(mock(Core.class), 1, mock(CoreEnvironment.class), mock(Authenticator.class));
+      List<NoopRequest> requests = new ArrayList<>();
+      List<Thread> threads = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        NoopRequest request = new NoopRequest(Duration.ofMillis(10), ctx, BestEffortRetryStrategy.INSTANCE, null);
+        requests.add(request);
+        Thread thread = new Thread(() -> timer.register((Request<Response>) (Request<?>) request));
+        threads.add(thread);
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      waitUntilCondition(() -> requests.stream().allMatch(Request::completed));
+      for (NoopRequest request : requests) {
+        assertEquals(CancellationReason.TIMEOUT, request.cancellationReason());
+      }
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void cancelsRegistrationOnCompletion() {
+    CoreContext ctx = new CoreContext(mock(Core.class), 1, mock(CoreEnvironment.class), mock(Authenticator.class));
+
+    NoopRequest request = new NoopRequest(Duration.ofSeconds(1), ctx, BestEffortRetryStrategy.INSTANCE, null);
+    Timeout registration = mock(Timeout.class);
+    request.timeoutRegistration(registration);
+    verify(registration, never()).cancel();
+    request.fail(new RuntimeException());
+    verify(registration, times(1)).cancel();
+
+    Timeout lateRegistration = mock(Timeout.class);
+    request.timeoutRegistration(lateRegistration);
+    verify(lateRegistration, times(1)).cancel();
+  }
+
+  @Test
+  void recordsLagForEachShard() throws Exception {
+    Meter meter = mock(Meter.class);
+    CountDownLatch latch = new CountDownLatch(2);
+    ValueRecorder recorder = value -> latch.countDown();
+    when(meter.valueRecorder(eq("cb.timer.lag"), anyMap())).thenReturn(recorder);
+
+    Timer timer = new Timer(10, meter, 2, Duration.ofMillis(1));
+    timer.start();
+    try {
+      verify(meter, times(1)).valueRecorder("cb.timer.lag", Collections.singletonMap("cb.timer.shard", "0"));
+      verify(meter, times(1)).valueRecorder("cb.timer.lag", Collections.singletonMap("cb.timer.shard", "1"));
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } finally {
+      timer.stop();
+    }
+  }
+
+}
@@ -106,4 +106,49 @@ class DefaultEventBusTest {
     assertEquals(eventsReceived.get(), eventsSent);
   }
 
+  @Test
+  void onlySuppliesEventsSomeoneAccepts() {
+    DefaultEventBus eventBus = DefaultEventBus.create(Schedulers.parallel());
+    eventBus.start().block();
+
+    AtomicInteger eventsReceived = new AtomicInteger();
+    AtomicInteger eventsSupplied = new AtomicInteger();
+    eventBus.subscribe(new SelectiveEventConsumer() {
+      @Override
+      public boolean accepts(final Event.Severity severity, final String category) {
+        return severity == Event.Severity.WARN;
+      }
+
+      @Override
+      public void accept(final Event event) {
+        eventsReceived.incrementAndGet();
+      }
+    });
+
+    String category = Event.Category.REQUEST.path();
+    assertFalse(eventBus.accepts(Event.Severity.DEBUG, category));
+    assertEquals(EventBus.PublishResult.SUCCESS, eventBus.publish(Event.Severity.DEBUG, category, () -> {
+      eventsSupplied.incrementAndGet();
+      return mock(Event.class);
+    }));
+    assertEquals(0, eventsSupplied.get());
+
+    assertTrue(eventBus.accepts(Event.Severity.WARN, category));
+    assertEquals(EventBus.PublishResult.SUCCESS, eventBus.publish(Event.Severity.WARN, category, () -> {
+      eventsSupplied.incrementAndGet();
+      return mock(Event.class);
+    }));
+    assertEquals(1, eventsSupplied.get());
+    waitUntilCondition(() -> eventsReceived.get() == 1);
+
+    EventSubscription subscription = eventBus.subscribe(event -> eventsReceived.incrementAndGet());
+    assertTrue(eventBus.accepts(Event.Severity.DEBUG, category));
+
+    subscription.unsubscribe();
+    assertFalse(eventBus.accepts(Event.Severity.DEBUG, category));
+    assertTrue(eventBus.accepts(Event.Severity.WARN, category));
+
+    eventBus.stop(Duration.ofSeconds(5)).block();
+  }
+
 }
@@ -16,6 +16,8 @@
 
 package com.couchbase.client.core.cnc;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -120,6 +122,16 @@ class LoggingEventConsumerTest {
     verify(logger, never()).attachContext(userContext);
   }
 
+  @Test
+  void acceptsOnlyEnabledSeverities() {
+    when(logger.isInfoEnabled()).thenReturn(true);
+    String category = Event.Category.REQUEST.path();
+
+    assertTrue(loggingEventConsumer.accepts(Event.Severity.INFO, category));
+    assertFalse(loggingEventConsumer.accepts(Event.Severity.DEBUG, category));
+    assertFalse(loggingEventConsumer.accepts(Event.Severity.TRACING, category));
+  }
+
   @Test
   void convertsDurationsAtExpectedBoundaries() {
     Event event = new MyEvent(Event.Severity.INFO, Event.Category.IO, Duration.ofMillis(1), null);
@@ -16,13 +16,29 @@
 
 package com.couchbase.client.core.cnc;
 
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.events.tracing.OrphanReporterFailureDetectedEvent;
+import com.couchbase.client.core.cnc.events.tracing.OrphansRecordedEvent;
 import com.couchbase.client.core.env.OrphanReporterConfig;
 
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.retry.RetryStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 import static com.couchbase.client.core.cnc.OrphanReporter.ORPHAN_TREAD_PREFIX;
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
 
 /**
  * Verifies basic functionality of the {@link OrphanReporter}.
@@ -79,4 +95,38 @@ class OrphanReporterTest {
     reporter.stop().block();
     assertTrue(orphansAfter <= orphansBefore);
   }
+  /**
+   * With a sample size of 0 no orphan is kept, but they are still counted and reported.
+   */
+  @Test
+  void reportsCountWithoutSamples() {
+    SimpleEventBus eventBus = new SimpleEventBus(false);
+    OrphanReporter reporter = new OrphanReporter(
+      eventBus,
+      OrphanReporterConfig.sampleSize(0).emitInterval(Duration.ofMillis(10)).build()
+    );
+    reporter.start().block();
+
+    try {
+      for (int i = 0; i < 2; i++) {
+        reporter.report(new UpsertRequest("key", new byte[0], 0, 0, Duration.ofSeconds(1),
+          mock(CoreContext.class), CollectionIdentifier.fromDefault("bucket"), mock(RetryStrategy.class),
+          Optional.empty(), null));
+      }
+
+      waitUntilCondition(() -> reported(eventBus).stream().mapToLong(kv -> (Long) kv.get("count")).sum() == 2);
+      assertTrue(reported(eventBus).stream().allMatch(kv -> ((List<?>) kv.get("top")).isEmpty()));
+      assertFalse(eventBus.publishedEvents().stream().anyMatch(e -> e instanceof OrphanReporterFailureDetectedEvent));
+    } finally {
+      reporter.stop().block();
+    }
+  }
+
+  private static List<Map<String, Object>> reported(final SimpleEventBus eventBus) {
+    return eventBus.publishedEvents().stream()
+      .filter(e -> e instanceof OrphansRecordedEvent)
+      .flatMap(e -> ((OrphansRecordedEvent) e).orphans().stream())
+      .collect(Collectors.toList());
+  }
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link RequestSnapshot}.
+ */
+class RequestSnapshotTest {
+
+  @Test
+  void capturesRequestState() {
+    UpsertRequest request = new UpsertRequest("key", new byte[1024], 0, 0, Duration.ofMillis(2500),
+      mock(CoreContext.class), CollectionIdentifier.fromDefault("bucket"), mock(RetryStrategy.class),
+      Optional.empty(), null);
+    HostAndPort local = new HostAndPort("127.0.0.1", 54321);
+    HostAndPort remote = new HostAndPort("10.0.0.1", 11210);
+    request.context()
+      .logicallyComplete()
+      .lastChannelId("abcd")
+      .lastDispatchedFrom(local)
+      .lastDispatchedTo(remote)
+      .encodeLatency(10)
+      .dispatchLatency(20)
+      .serverLatency(30);
+
+    RequestSnapshot snapshot = RequestSnapshot.of(request);
+
+    assertEquals(ServiceType.KV, snapshot.serviceType());
+    assertSame(UpsertRequest.class, snapshot.requestClass());
+    assertEquals(request.name(), snapshot.name());
+    assertEquals(request.operationId(), snapshot.operationId());
+    assertEquals("bucket", snapshot.bucket());
+    assertEquals("abcd", snapshot.lastChannelId());
+    assertEquals(local, snapshot.lastDispatchedFrom());
+    assertEquals(remote, snapshot.lastDispatchedTo());
+    assertEquals(10, snapshot.encodeLatency());
+    assertEquals(20, snapshot.dispatchLatency());
+    assertEquals(30, snapshot.serverLatency());
+    assertTrue(snapshot.logicalRequestLatency() > 0);
+    assertEquals(2500, snapshot.timeoutMillis());
+  }
+
+}
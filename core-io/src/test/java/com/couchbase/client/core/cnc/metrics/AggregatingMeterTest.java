@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Event;
+import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.cnc.events.metrics.LatencyMetricsAggregatedEvent;
+import com.couchbase.client.core.env.AggregatingMeterConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link AggregatingMeter}.
+ */
+class AggregatingMeterTest {
+
+  @Test
+  void reusesCountersAndRecorders() {
+    AggregatingMeter meter = AggregatingMeter.create(new SimpleEventBus(true), AggregatingMeterConfig.create());
+
+    Map<String, String> tags = new HashMap<>();
+    tags.put("cb.service", "kv");
+    assertSame(meter.counter("cb.requests", tags), meter.counter("cb.requests", new HashMap<>(tags)));
+    assertSame(meter.valueRecorder("cb.responses", tags), meter.valueRecorder("cb.responses", new HashMap<>(tags)));
+  }
+
+  @Test
+  void emitsCountersWithRates() {
+    SimpleEventBus eventBus = new SimpleEventBus(true);
+    AggregatingMeter meter = AggregatingMeter.create(
+      eventBus,
+      AggregatingMeterConfig.emitInterval(Duration.ofMillis(100)).build()
+    );
+
+    Map<String, String> tags = new HashMap<>();
+    tags.put("cb.service", "kv");
+    tags.put("cb.remote_hostname", "127.0.0.1");
+    tags.put("cb.request_type", "get");
+    Counter counter = meter.counter("cb.requests", tags);
+    counter.incrementBy(5);
+    meter.counter("cb.cache.hits", new HashMap<>()).incrementBy(1);
+
+    meter.start().block();
+    try {
+      waitUntilCondition(() -> eventBus.publishedEvents().stream().anyMatch(e -> e instanceof LatencyMetricsAggregatedEvent));
+      Event event = eventBus
+        .publishedEvents()
+        .stream()
+        .filter(e -> e instanceof LatencyMetricsAggregatedEvent)
+        .findFirst()
+        .get();
+
+      String description = event.description();
+      assertTrue(description.contains("\"cb.requests:get\":{\"total_count\":5,\"rate_per_s\":50.0}"), description);
+      assertTrue(description.contains("\"_\":{\"_\":{\"counters\":{\"cb.cache.hits\""), description);
+    } finally {
+      meter.stop(Duration.ofSeconds(1)).block();
+    }
+  }
+
+  @Test
+  void groupsRecordersWithoutServiceAndHost() {
+    SimpleEventBus eventBus = new SimpleEventBus(true);
+    AggregatingMeter meter = AggregatingMeter.create(
+      eventBus,
+      AggregatingMeterConfig.emitInterval(Duration.ofMillis(100)).build()
+    );
+
+    meter.valueRecorder("cb.timer.lag", Collections.singletonMap("cb.timer.shard", "0")).recordValue(1000);
+    meter.valueRecorder("cb.timer.lag", Collections.singletonMap("cb.timer.shard", "1")).recordValue(2000);
+    meter.valueRecorder("cb.timer.lag", Collections.singletonMap("cb.timer.shard", "1")).recordValue(3000);
+
+    meter.start().block();
+    try {
+      waitUntilCondition(() -> eventBus.publishedEvents().stream().anyMatch(e -> e instanceof LatencyMetricsAggregatedEvent));
+      Event event = eventBus
+        .publishedEvents()
+        .stream()
+        .filter(e -> e instanceof LatencyMetricsAggregatedEvent)
+        .findFirst()
+        .get();
+
+      String description = event.description();
+      assertTrue(description.contains("\"cb.timer.lag:0\":{\"total_count\":1,"), description);
+      assertTrue(description.contains("\"cb.timer.lag:1\":{\"total_count\":2,"), description);
+    } finally {
+      meter.stop(Duration.ofSeconds(1)).block();
+    }
+  }
+
+}
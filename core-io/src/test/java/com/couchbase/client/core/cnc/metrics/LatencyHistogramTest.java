@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+  @Test
+  void bucketsCoverValuesWithinBounds() {
+    long previousUpperBound = 0;
+    for (long micros = 0; micros < 100_000; micros++) {
+      int bucket = LatencyHistogram.bucketFor(micros);
+      long upperBound = LatencyHistogram.upperBound(bucket);
+      assertTrue(micros < upperBound, "value " + micros + " not below bound " + upperBound);
+      assertTrue(upperBound <= Math.max(micros + 1, (long) (micros * 1.25) + 1));
+      assertTrue(upperBound >= previousUpperBound);
+      previousUpperBound = upperBound;
+    }
+  }
+
+  @Test
+  void reportsNothingWithoutEnoughSamples() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < LatencyHistogram.MIN_SAMPLES - 1; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertEquals(0, histogram.percentile(0.95));
+  }
+
+  @Test
+  void reportsPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 90; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    long p50 = TimeUnit.NANOSECONDS.toMicros(histogram.percentile(0.5));
+    assertTrue(p50 > 100 && p50 <= 125, "p50 was " + p50);
+    long p95 = TimeUnit.NANOSECONDS.toMicros(histogram.percentile(0.95));
+    assertTrue(p95 > 10_000 && p95 <= 12_500, "p95 was " + p95);
+  }
+
+  @Test
+  void olderSamplesFadeOut() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < LatencyHistogram.DECAY_THRESHOLD; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+    for (int i = 0; i < LatencyHistogram.DECAY_THRESHOLD * 4; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+
+    long p95 = TimeUnit.NANOSECONDS.toMicros(histogram.percentile(0.95));
+    assertTrue(p95 <= 125, "p95 was " + p95);
+  }
+
+}
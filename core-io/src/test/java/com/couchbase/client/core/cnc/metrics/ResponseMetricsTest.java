@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.service.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link ResponseMetrics}.
+ */
+class ResponseMetricsTest {
+
+  @Test
+  void createsOneRecorderPerRequestType() {
+    Meter meter = mock(Meter.class);
+    when(meter.valueRecorder(eq("cb.responses"), anyMap())).thenAnswer(i -> mock(ValueRecorder.class));
+    ResponseMetrics metrics = new ResponseMetrics(meter, ServiceType.KV, "127.0.0.1");
+
+    GetRequest get = mock(GetRequest.class);
+    when(get.name()).thenReturn("get");
+    UpsertRequest upsert = mock(UpsertRequest.class);
+    when(upsert.name()).thenReturn("upsert");
+
+    ValueRecorder getRecorder = metrics.recorder(get);
+    assertSame(getRecorder, metrics.recorder(get));
+    assertSame(getRecorder, metrics.recorder(mock(GetRequest.class)));
+    assertNotSame(getRecorder, metrics.recorder(upsert));
+
+    Map<String, String> tags = new HashMap<>();
+    tags.put("cb.service", "kv");
+    tags.put("cb.remote_hostname", "127.0.0.1");
+    tags.put("cb.request_type", "get");
+    verify(meter, times(1)).valueRecorder("cb.responses", tags);
+    verify(meter, times(2)).valueRecorder(eq("cb.responses"), anyMap());
+  }
+
+  @Test
+  void tracksLatencyPercentilesPerRequestType() {
+    Meter meter = mock(Meter.class);
+    when(meter.valueRecorder(eq("cb.responses"), anyMap())).thenAnswer(i -> mock(ValueRecorder.class));
+    ResponseMetrics metrics = new ResponseMetrics(meter, ServiceType.KV, "127.0.0.1");
+
+    GetRequest get = mock(GetRequest.class);
+    assertEquals(0, metrics.latencyPercentile(get.getClass(), 0.95));
+    for (int i = 0; i < 100; i++) {
+      metrics.record(get, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    long p95 = metrics.latencyPercentile(get.getClass(), 0.95);
+    assertTrue(p95 >= TimeUnit.MILLISECONDS.toNanos(1) && p95 <= TimeUnit.MICROSECONDS.toNanos(1250));
+    assertEquals(0, metrics.latencyPercentile(UpsertRequest.class, 0.95));
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.cnc.tracing;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.cnc.events.tracing.OverThresholdRequestsRecordedEvent;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.retry.RetryStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link ThresholdRequestTracer}.
+ */
+class ThresholdRequestTracerTest {
+
+  /**
+   * With a sample size of 0 no request is kept, but they are still counted and reported.
+   */
+  @Test
+  void reportsCountWithoutSamples() {
+    SimpleEventBus eventBus = new SimpleEventBus(false);
+    ThresholdRequestTracer tracer = ThresholdRequestTracer
+      .builder(eventBus)
+      .sampleSize(0)
+      .kvThreshold(Duration.ofNanos(1))
+      .emitInterval(Duration.ofMillis(10))
+      .build();
+    tracer.start().block();
+
+    try {
+      for (int i = 0; i < 2; i++) {
+        UpsertRequest request = new UpsertRequest("key", new byte[0], 0, 0, Duration.ofSeconds(1),
+          mock(CoreContext.class), CollectionIdentifier.fromDefault("bucket"), mock(RetryStrategy.class),
+          Optional.empty(), tracer.requestSpan("upsert", null));
+        request.context().logicallyComplete();
+      }
+
+      waitUntilCondition(() -> reported(eventBus).stream().mapToLong(kv -> (Long) kv.get("count")).sum() == 2);
+      assertTrue(reported(eventBus).stream().allMatch(kv -> ((List<?>) kv.get("top")).isEmpty()));
+    } finally {
+      tracer.stop(Duration.ofSeconds(1)).block();
+    }
+  }
+
+  private static List<Map<String, Object>> reported(final SimpleEventBus eventBus) {
+    return eventBus.publishedEvents().stream()
+      .filter(e -> e instanceof OverThresholdRequestsRecordedEvent)
+      .flatMap(e -> ((OverThresholdRequestsRecordedEvent) e).overThreshold().stream())
+      .collect(Collectors.toList());
+  }
+
+}
@@ -24,11 +24,20 @@ import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.env.NetworkResolution;
 import com.couchbase.client.core.env.PasswordAuthenticator;
 import com.couchbase.client.core.env.SeedNode;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetCollectionIdRequest;
+import com.couchbase.client.core.msg.kv.GetCollectionIdResponse;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.util.UnsignedLEB128;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
@@ -44,11 +53,16 @@ import java.util.function.Consumer;
 
 import static com.couchbase.client.test.Util.readResource;
 import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -355,6 +369,43 @@ class DefaultConfigurationProviderTest {
     latch.await(5, TimeUnit.SECONDS);
   }
 
+  /**
+   * Requests which miss the same collection ID must share a single lookup and are dispatched again as soon
+   * as it completes.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void parksRequestsOnSingleCollectionIdLookup() {
+    Core core = mock(Core.class);
+    when(core.context()).thenReturn(new CoreContext(core, 1, ENVIRONMENT, mock(Authenticator.class)));
+    DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core, SeedNode.LOCALHOST);
+
+    CollectionIdentifier identifier = new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("coll"));
+    KeyValueRequest<Response> first = mock(KeyValueRequest.class);
+    KeyValueRequest<Response> second = mock(KeyValueRequest.class);
+    when(first.collectionIdentifier()).thenReturn(identifier);
+    when(second.collectionIdentifier()).thenReturn(identifier);
+
+    provider.resolveCollectionId(first);
+    provider.resolveCollectionId(second);
+
+    ArgumentCaptor<Request<?>> lookups = ArgumentCaptor.forClass(Request.class);
+    verify(core, times(1)).send(lookups.capture());
+    GetCollectionIdRequest lookup = (GetCollectionIdRequest) lookups.getValue();
+    assertEquals(identifier, lookup.collectionIdentifier());
+    verify(core, never()).send(first, false);
+
+    lookup.succeed(new GetCollectionIdResponse(ResponseStatus.SUCCESS, Optional.of(9L)));
+
+    verify(core, times(1)).send(first, false);
+    verify(core, times(1)).send(second, false);
+    assertArrayEquals(UnsignedLEB128.encode(9), provider.collectionMap().get(identifier));
+
+    // once resolved, a new miss triggers a new lookup
+    provider.resolveCollectionId(first);
+    verify(core, times(2)).send(any(GetCollectionIdRequest.class));
+  }
+
   private static Set<SeedNode> getSeedNodesFromConfig(ConfigurationProvider provider) {
     return provider.seedNodes().blockFirst(Duration.ZERO);
   }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the different {@link CompressionEngine CompressionEngines}.
+ */
+class CompressionEngineTest {
+
+  private static final byte[] JSON = json(64 * 1024);
+
+  @ParameterizedTest
+  @EnumSource(CompressionEngine.class)
+  void compressesAndDecompresses(final CompressionEngine engine) {
+    ByteBuf compressed = engine.compress(PooledByteBufAllocator.DEFAULT, JSON, CompressionConfig.DEFAULT_MIN_RATIO);
+    try {
+      assertTrue(compressed.readableBytes() < JSON.length);
+      assertArrayEquals(JSON, engine.decompress(compressed));
+      assertEquals(0, compressed.readerIndex());
+    } finally {
+      compressed.release();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CompressionEngine.class)
+  void decompressesFromDirectBuffer(final CompressionEngine engine) {
+    byte[] compressed = Snappy.compress(JSON);
+    ByteBuf direct = PooledByteBufAllocator.DEFAULT.directBuffer().writeByte(0).writeBytes(compressed);
+    try {
+      direct.skipBytes(1);
+      assertArrayEquals(JSON, engine.decompress(direct));
+    } finally {
+      direct.release();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CompressionEngine.class)
+  void decompressesFromArrayOffset(final CompressionEngine engine) {
+    byte[] compressed = Snappy.compress(JSON);
+    byte[] padded = new byte[compressed.length + 3];
+    System.arraycopy(compressed, 0, padded, 3, compressed.length);
+    assertArrayEquals(JSON, engine.decompress(Unpooled.wrappedBuffer(padded).slice(3, compressed.length)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CompressionEngine.class)
+  void doesNotCompressBelowMinRatio(final CompressionEngine engine) {
+    assertNull(engine.compress(PooledByteBufAllocator.DEFAULT, "short".getBytes(UTF_8), 0.1));
+  }
+
+  @Test
+  void skipsHighEntropyInput() {
+    byte[] random = new byte[64 * 1024];
+    new Random(42).nextBytes(random);
+    assertFalse(CompressionEngine.compressible(random));
+    assertNull(CompressionEngine.POOLED.compress(PooledByteBufAllocator.DEFAULT, random, 1.0));
+  }
+
+  @Test
+  void samplesLowEntropyInput() {
+    assertTrue(CompressionEngine.compressible(JSON));
+  }
+
+  @Test
+  void alwaysCompressesSmallInput() {
+    byte[] random = new byte[CompressionEngine.SAMPLE_MIN_SIZE - 1];
+    new Random(42).nextBytes(random);
+    assertTrue(CompressionEngine.compressible(random));
+  }
+
+  private static byte[] json(final int size) {
+    StringBuilder json = new StringBuilder("[");
+    while (json.length() < size) {
+      json.append("{\"name\":\"Air Caledonie\",\"type\":\"airline\",\"id\":").append(json.length()).append("},");
+    }
+    return json.append("{}]").toString().getBytes(UTF_8);
+  }
+
+}
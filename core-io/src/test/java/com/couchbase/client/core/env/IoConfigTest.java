@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.service.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the validation of the {@link IoConfig}.
+ */
+class IoConfigTest {
+
+  @Test
+  void rejectsNonPositiveQueryCacheSize() {
+    assertThrows(InvalidArgumentException.class, () -> IoConfig.builder().queryCacheSize(0));
+    assertThrows(InvalidArgumentException.class, () -> IoConfig.builder().queryCacheSize(-1));
+    assertEquals(10, IoConfig.builder().queryCacheSize(10).build().queryCacheSize());
+  }
+
+  @Test
+  void rejectsPowerOfTwoChoicesForKeyValue() {
+    assertThrows(
+      InvalidArgumentException.class,
+      () -> IoConfig.builder().endpointSelection(ServiceType.KV, EndpointSelection.POWER_OF_TWO_CHOICES)
+    );
+    assertEquals(
+      EndpointSelection.POWER_OF_TWO_CHOICES,
+      IoConfig.endpointSelection(ServiceType.QUERY, EndpointSelection.POWER_OF_TWO_CHOICES)
+        .build()
+        .endpointSelection(ServiceType.QUERY)
+    );
+  }
+
+}
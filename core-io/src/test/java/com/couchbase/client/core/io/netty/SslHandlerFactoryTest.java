@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CertificateAuthenticator;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.env.SecurityConfig;
+import com.couchbase.client.core.io.netty.kv.ConnectTimings;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import java.security.KeyStore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link SslHandlerFactory} and the {@link SslHandshakeTimingHandler}.
+ */
+class SslHandlerFactoryTest {
+
+  @Test
+  void sharesContextPerConfigAndAuthenticator() throws Exception {
+    SecurityConfig config = tlsConfig();
+    Authenticator authenticator = PasswordAuthenticator.create("user", "pass");
+
+    assertSame(
+      SslHandlerFactory.context(config, authenticator),
+      SslHandlerFactory.context(config, authenticator)
+    );
+    assertNotSame(
+      SslHandlerFactory.context(config, authenticator),
+      SslHandlerFactory.context(config, PasswordAuthenticator.create("user", "pass"))
+    );
+    assertNotSame(
+      SslHandlerFactory.context(config, authenticator),
+      SslHandlerFactory.context(tlsConfig(), authenticator)
+    );
+  }
+
+  @Test
+  void rebuildsContextForSuppliedKeyManagerFactory() throws Exception {
+    SecurityConfig config = tlsConfig();
+    KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+    keyStore.load(null, null);
+    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(keyStore, null);
+
+    AtomicInteger supplied = new AtomicInteger();
+    Authenticator authenticator = CertificateAuthenticator.fromKeyManagerFactory(() -> {
+      supplied.incrementAndGet();
+      return kmf;
+    });
+
+    assertNotSame(
+      SslHandlerFactory.context(config, authenticator),
+      SslHandlerFactory.context(config, authenticator)
+    );
+    assertEquals(2, supplied.get());
+
+    Authenticator fromKeyStore = CertificateAuthenticator.fromKeyStore(keyStore, null);
+    assertSame(
+      SslHandlerFactory.context(config, fromKeyStore),
+      SslHandlerFactory.context(config, fromKeyStore)
+    );
+  }
+
+  @Test
+  void recordsHandshakeTiming() {
+    EmbeddedChannel channel = new EmbeddedChannel(new SslHandshakeTimingHandler());
+    try {
+      channel.pipeline().fireUserEventTriggered(SslHandshakeCompletionEvent.SUCCESS);
+
+      assertTrue(ConnectTimings.toMap(channel).containsKey("SslHandler"));
+      assertNull(channel.pipeline().get(SslHandshakeTimingHandler.class));
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private static SecurityConfig tlsConfig() {
+    return SecurityConfig
+      .enableTls(true)
+      .trustManagerFactory(InsecureTrustManagerFactory.INSTANCE)
+      .build();
+  }
+
+}
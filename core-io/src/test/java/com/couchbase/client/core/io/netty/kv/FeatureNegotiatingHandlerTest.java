@@ -44,6 +44,7 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelFuture;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOutboundHandlerAdapter;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,6 +55,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -405,4 +407,46 @@ class FeatureNegotiatingHandlerTest extends AbstractKeyValueEmbeddedChannelTest
     waitUntilCondition(channelActiveFired::get);
   }
 
+  /**
+   * Makes sure that the requests of the pipelined bootstrap handlers are not flushed one by one, but
+   * sent to the server together in a single batch.
+   */
+  @Test
+  void flushesPipelinedRequestsOnce() {
+    final List<Integer> flushedBatches = new ArrayList<>();
+    channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+      private int pending;
+
+      @Override
+      public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        pending++;
+        ctx.write(msg, promise);
+      }
+
+      @Override
+      public void flush(ChannelHandlerContext ctx) {
+        if (pending > 0) {
+          flushedBatches.add(pending);
+          pending = 0;
+        }
+        ctx.flush();
+      }
+    });
+    channel.pipeline()
+      .addLast(new FeatureNegotiatingHandler(endpointContext, Collections.singleton(ServerFeature.SELECT_BUCKET)))
+      .addLast(new ErrorMapLoadingHandler(endpointContext));
+
+    channel.connect(new InetSocketAddress("1.2.3.4", 1234));
+    channel.pipeline().fireChannelActive();
+    channel.runPendingTasks();
+
+    assertEquals(Collections.singletonList(2), flushedBatches);
+    ByteBuf hello = channel.readOutbound();
+    verifyRequest(hello, MemcacheProtocol.Opcode.HELLO.opcode(), true, false, true);
+    ByteBuf errorMap = channel.readOutbound();
+    verifyRequest(errorMap, MemcacheProtocol.Opcode.ERROR_MAP.opcode(), false, false, true);
+    ReferenceCountUtil.release(hello);
+    ReferenceCountUtil.release(errorMap);
+  }
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link InFlightRequestTable}.
+ */
+class InFlightRequestTableTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void storesAndRemovesRequests() {
+    InFlightRequestTable table = new InFlightRequestTable();
+    KeyValueRequest<Response> request = mock(KeyValueRequest.class);
+    RequestSpan span = mock(RequestSpan.class);
+
+    table.put(5, request, 1234, span);
+    assertEquals(1, table.size());
+
+    int slot = table.indexOf(5);
+    assertTrue(slot >= 0);
+    assertSame(request, table.request(slot));
+    assertEquals(1234, table.dispatchStart(slot));
+    assertSame(span, table.dispatchSpan(slot));
+
+    table.removeAt(slot);
+    assertEquals(0, table.size());
+    assertTrue(table.indexOf(5) < 0);
+    assertNull(table.remove(5));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void growsAndKeepsEntries() {
+    InFlightRequestTable table = new InFlightRequestTable(4);
+    List<KeyValueRequest<Response>> requests = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      KeyValueRequest<Response> request = mock(KeyValueRequest.class);
+      requests.add(request);
+      table.put(Integer.MAX_VALUE - 500 + i, request, i, null);
+    }
+
+    assertEquals(1000, table.size());
+    for (int i = 0; i < 1000; i++) {
+      int slot = table.indexOf(Integer.MAX_VALUE - 500 + i);
+      assertSame(requests.get(i), table.request(slot));
+      assertEquals(i, table.dispatchStart(slot));
+    }
+
+    Set<KeyValueRequest<Response>> visited = new HashSet<>();
+    table.forEachRequest(visited::add);
+    assertEquals(new HashSet<>(requests), visited);
+  }
+
+  /**
+   * Inserts and removes random opaques (which collide far more often than sequential ones) and verifies that
+   * the table always agrees with a regular map, which exercises the backward shifting on removal.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void matchesMapUnderRandomChurn() {
+    Random random = new Random(1);
+    InFlightRequestTable table = new InFlightRequestTable(8);
+    Map<Integer, KeyValueRequest<Response>> expected = new HashMap<>();
+    List<KeyValueRequest<Response>> requests = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      requests.add(mock(KeyValueRequest.class));
+    }
+
+    for (int i = 0; i < 100_000; i++) {
+      int opaque = random.nextInt(256);
+      if (random.nextBoolean()) {
+        KeyValueRequest<Response> request = requests.get(random.nextInt(requests.size()));
+        table.put(opaque, request, opaque, null);
+        expected.put(opaque, request);
+      } else {
+        assertSame(expected.remove(opaque), table.remove(opaque));
+      }
+      assertEquals(expected.size(), table.size());
+    }
+
+    for (int opaque = 0; opaque < 256; opaque++) {
+      int slot = table.indexOf(opaque);
+      if (expected.containsKey(opaque)) {
+        assertSame(expected.get(opaque), table.request(slot));
+        assertEquals(opaque, table.dispatchStart(slot));
+      } else {
+        assertTrue(slot < 0);
+      }
+    }
+  }
+
+}
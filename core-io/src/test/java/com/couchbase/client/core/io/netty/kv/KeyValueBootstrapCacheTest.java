@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.io.netty.kv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link KeyValueBootstrapCache}.
+ */
+class KeyValueBootstrapCacheTest {
+
+  @Test
+  void sharesErrorMapUntilPayloadChanges() throws Exception {
+    KeyValueBootstrapCache cache = new KeyValueBootstrapCache();
+
+    ErrorMap first = cache.errorMap(errorMap(1));
+    assertSame(first, cache.errorMap(errorMap(1)));
+
+    ErrorMap upgraded = cache.errorMap(errorMap(2));
+    assertNotSame(first, upgraded);
+    assertEquals(2, upgraded.revision());
+    assertSame(upgraded, cache.errorMap(errorMap(2)));
+  }
+
+  @Test
+  void sharesEqualServerFeatures() {
+    KeyValueBootstrapCache cache = new KeyValueBootstrapCache();
+
+    List<ServerFeature> first = cache.serverFeatures(new ArrayList<>(
+      Arrays.asList(ServerFeature.SELECT_BUCKET, ServerFeature.XERROR)
+    ));
+    assertSame(first, cache.serverFeatures(new ArrayList<>(
+      Arrays.asList(ServerFeature.SELECT_BUCKET, ServerFeature.XERROR)
+    )));
+    assertThrows(UnsupportedOperationException.class, () -> first.add(ServerFeature.SNAPPY));
+
+    List<ServerFeature> changed = cache.serverFeatures(new ArrayList<>(
+      Arrays.asList(ServerFeature.SELECT_BUCKET)
+    ));
+    assertNotSame(first, changed);
+    assertEquals(Arrays.asList(ServerFeature.SELECT_BUCKET), changed);
+  }
+
+  private static byte[] errorMap(final int revision) {
+    return ("{\"version\":1,\"revision\":" + revision + ",\"errors\":{\"0\":{\"name\":\"SUCCESS\","
+      + "\"desc\":\"Success\",\"attrs\":[\"success\"]}}}").getBytes(UTF_8);
+  }
+
+}
@@ -19,6 +19,7 @@ package com.couchbase.client.core.io.netty.kv;
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.config.ProposedBucketConfigContext;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
@@ -52,11 +53,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
+import static com.couchbase.client.core.io.netty.kv.ProtocolVerifier.decodeHexDump;
+import static com.couchbase.client.test.Util.readResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -263,4 +267,43 @@ class KeyValueMessageHandlerTest {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Cluster map change notifications pushed by the server do not belong to any written request, so they must
+   * be proposed to the config provider instead of closing the channel. Also, the provider needs to know for how
+   * long the channel receives pushed configs.
+   */
+  @Test
+  void proposesPushedClusterMapChanges() {
+    Core core = mock(Core.class);
+    CoreContext coreContext = new CoreContext(core, 1, ENV, PasswordAuthenticator.create("foo", "bar"));
+    ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
+    when(configurationProvider.collectionMap()).thenReturn(new CollectionMap());
+    when(core.configurationProvider()).thenReturn(configurationProvider);
+    EndpointContext ctx = new EndpointContext(coreContext, new HostAndPort("127.0.0.1", 1234),
+      null, ServiceType.KV, Optional.empty(), Optional.empty(), Optional.empty());
+
+    EmbeddedChannel channel = new EmbeddedChannel(new KeyValueMessageHandler(null, ctx, Optional.of("travel-sample")));
+    channel.attr(ChannelAttributes.SERVER_FEATURE_KEY).set(
+      Arrays.asList(ServerFeature.DUPLEX, ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION)
+    );
+    channel.pipeline().fireChannelActive();
+    verify(configurationProvider).registerConfigPush("travel-sample");
+
+    try {
+      ByteBuf notification = decodeHexDump(readResource("clustermap_change_notification.txt", KeyValueMessageHandlerTest.class));
+      channel.writeInbound(notification);
+
+      verify(configurationProvider).proposeBucketConfig(
+        new ProposedBucketConfigContext("travel-sample", "{\"rev\":1073}", "127.0.0.1")
+      );
+      assertTrue(channel.isOpen());
+      assertEquals(0, notification.refCnt());
+
+      channel.close();
+      verify(configurationProvider).deregisterConfigPush("travel-sample");
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+}
@@ -74,7 +74,9 @@ class MemcacheProtocolVerificationHandlerTest {
       "response_extras_and_value",
       "success_hello_response",
       "success_errormap_response",
-      "error_hello_response"
+      "error_hello_response",
+      // server initiated requests are only sent once duplex has been negotiated
+      "clustermap_change_notification"
     );
   }
 
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import org.junit.jupiter.api.Test;
+
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.sasl.SaslException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link ScramSaslClient} against the SCRAM-SHA-256 exchange from RFC 7677.
+ */
+class ScramSaslClientTest {
+
+  private static final String CLIENT_NONCE = "rOprNGfwEbeRWgbNEkqO";
+  private static final String SERVER_FIRST = "r=rOprNGfwEbeRWgbNEkqO%hvYDpWUa2RaTCAfuxFIlj)hNlF$k0,"
+    + "s=W22ZaJ0SNY7soEsUEjb6gQ==,i=4096";
+  private static final String CLIENT_FINAL = "c=biws,r=rOprNGfwEbeRWgbNEkqO%hvYDpWUa2RaTCAfuxFIlj)hNlF$k0,"
+    + "p=dHzbZapWIk4jUhN+Ute9ytag9zjfMHgsqmmiz7AndVQ=";
+  private static final String SERVER_FINAL = "v=6rriTRBi23WpRR/wtup+mMhUZUn/dB5nLTJRsjl95G4=";
+
+  @Test
+  void completesExchangeWithoutCache() throws Exception {
+    ScramSaslClient client = client("pencil", null);
+    assertEquals(CLIENT_FINAL, exchange(client));
+    assertTrue(client.isComplete());
+  }
+
+  @Test
+  void reusesDerivedKeysFromCache() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache();
+
+    assertEquals(CLIENT_FINAL, exchange(client("pencil", cache)));
+    ScramSaslClient second = client("pencil", cache);
+    assertEquals(CLIENT_FINAL, exchange(second));
+    assertTrue(second.isComplete());
+  }
+
+  @Test
+  void doesNotReuseKeysForDifferentPassword() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache();
+
+    assertEquals(CLIENT_FINAL, exchange(client("pencil", cache)));
+    ScramSaslClient other = client("crayon", cache);
+    assertNotEquals(CLIENT_FINAL, exchange(other));
+    assertThrows(SaslException.class, () -> other.evaluateChallenge(SERVER_FINAL.getBytes(UTF_8)));
+  }
+
+  /**
+   * Runs the exchange up to the client final message, and completes it if the proof is the expected one.
+   */
+  private static String exchange(final ScramSaslClient client) throws SaslException {
+    assertEquals("n,,n=user,r=" + CLIENT_NONCE, new String(client.evaluateChallenge(new byte[0]), UTF_8));
+    String clientFinal = new String(client.evaluateChallenge(SERVER_FIRST.getBytes(UTF_8)), UTF_8);
+    if (clientFinal.equals(CLIENT_FINAL)) {
+      assertEquals(0, client.evaluateChallenge(SERVER_FINAL.getBytes(UTF_8)).length);
+    }
+    return clientFinal;
+  }
+
+  private static ScramSaslClient client(final String password, final ScramKeyCache cache) throws Exception {
+    CallbackHandler callbacks = (Callback[] cbs) -> {
+      for (Callback cb : cbs) {
+        if (cb instanceof NameCallback) {
+          ((NameCallback) cb).setName("user");
+        } else if (cb instanceof PasswordCallback) {
+          ((PasswordCallback) cb).setPassword(password.toCharArray());
+        }
+      }
+    };
+    return new ScramSaslClient(ScramSaslClientFactory.Mode.SCRAM_SHA256, callbacks, cache, CLIENT_NONCE);
+  }
+
+}
@@ -18,6 +18,7 @@ package com.couchbase.client.core.json.stream;
 
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +26,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static java.lang.Math.min;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -273,25 +275,38 @@ class JsonStreamParserTest {
     }
 
     void check() throws IOException {
-      checkWithChunkSizeAndStreamWindow(Integer.MAX_VALUE);
+      check(() -> new CopyingStreamWindow(UnpooledByteBufAllocator.DEFAULT), false, false);
+      check(() -> new CompositeStreamWindow(UnpooledByteBufAllocator.DEFAULT), false, false);
+      check(() -> new CompositeStreamWindow(UnpooledByteBufAllocator.DEFAULT), false, true);
+      check(() -> new CompositeStreamWindow(UnpooledByteBufAllocator.DEFAULT), true, false);
+    }
+
+    private void check(final Supplier<StreamWindow> window, final boolean direct, final boolean shifted)
+      throws IOException {
+      checkWithChunkSizeAndStreamWindow(Integer.MAX_VALUE, window.get(), direct, shifted);
 
       for (int i = 1; i <= min(32, json.length); i++) {
-        checkWithChunkSizeAndStreamWindow(i);
+        checkWithChunkSizeAndStreamWindow(i, window.get(), direct, shifted);
       }
     }
 
-    void checkWithChunkSizeAndStreamWindow(final int chunkSize) throws IOException {
+    void checkWithChunkSizeAndStreamWindow(final int chunkSize, final StreamWindow window, final boolean direct,
+                                           final boolean shifted) throws IOException {
       //System.out.println("testing with chunk size " + chunkSize);
       checks.forEach(c -> c.actual.clear()); // reset
 
-      try (JsonStreamParser parser = builder.build()) {
+      try (JsonStreamParser parser = builder.build(null, window)) {
         ByteBuf buf = Unpooled.wrappedBuffer(json);
 
         parser.feed(Unpooled.buffer()); // make sure empty chunk doesn't break anything
 
         int offset = 0;
         while (buf.isReadable()) {
-          ByteBuf chunk = Unpooled.buffer();
+          ByteBuf chunk = direct ? Unpooled.directBuffer() : Unpooled.buffer();
+          if (shifted) {
+            // skipped leading byte, so the readable bytes don't start at the beginning of the backing array
+            chunk.writeByte('x').skipBytes(1);
+          }
           chunk.writeBytes(buf, min(chunkSize, buf.readableBytes()));
 //          System.out.println("feeding (offset " + offset + ") : `" + chunk.toString(UTF_8) + "`");
           offset += chunkSize;
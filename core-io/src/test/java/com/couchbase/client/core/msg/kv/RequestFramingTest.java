@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.msg.kv;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.core.util.UnsignedLEB128;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies that requests encoded into a single, exactly sized buffer are byte for byte identical to
+ * the ones assembled from individual parts.
+ */
+class RequestFramingTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(2);
+  private static final CoreContext CTX = mock(CoreContext.class);
+  private static final ByteBufAllocator ALLOC = UnpooledByteBufAllocator.DEFAULT;
+  private static final CollectionIdentifier CID =
+    new CollectionIdentifier("b", Optional.of("inventory"), Optional.of("airline"));
+  private static final byte[] CID_PREFIX = UnsignedLEB128.encode(8);
+  private static final byte[] CONTENT = "{\"foo\":\"bar\"}".getBytes(UTF_8);
+
+  @Test
+  void encodesUpsertWithCollectionAndDurability() {
+    UpsertRequest request = new UpsertRequest("key", CONTENT, 10, 0xCAFE, TIMEOUT, CTX, CID,
+      BestEffortRetryStrategy.INSTANCE, Optional.of(DurabilityLevel.MAJORITY), null);
+
+    ByteBuf extras = ALLOC.buffer().writeInt(0xCAFE).writeInt(10);
+    ByteBuf expected = MemcacheProtocol.flexibleRequest(ALLOC, MemcacheProtocol.Opcode.SET, noDatatype(),
+      request.partition(), 1, noCas(), MemcacheProtocol.flexibleSyncReplication(ALLOC, DurabilityLevel.MAJORITY,
+        TIMEOUT, CTX), extras, prefixedKey("key"), Unpooled.wrappedBuffer(CONTENT));
+
+    assertFraming(expected, request.encode(ALLOC, 1, ctx()));
+  }
+
+  @Test
+  void encodesMultiPathMutation() {
+    List<SubdocMutateRequest.Command> commands = Arrays.asList(
+      new SubdocMutateRequest.Command(SubdocCommandType.DICT_UPSERT, "a", CONTENT, false, false, false, 0),
+      new SubdocMutateRequest.Command(SubdocCommandType.DICT_ADD, "b.c", CONTENT, true, true, false, 1)
+    );
+    SubdocMutateRequest request = new SubdocMutateRequest(TIMEOUT, CTX, CID, null,
+      BestEffortRetryStrategy.INSTANCE, "key", false, false, false, false, commands, 0, 0,
+      Optional.empty(), null);
+
+    ByteBuf body = Unpooled.wrappedBuffer(commands.get(0).encode(ALLOC), commands.get(1).encode(ALLOC));
+    ByteBuf expected = MemcacheProtocol.request(ALLOC, MemcacheProtocol.Opcode.SUBDOC_MULTI_MUTATE,
+      noDatatype(), request.partition(), 1, noCas(), noExtras(), prefixedKey("key"), body);
+
+    assertFraming(expected, request.encode(ALLOC, 1, ctx()));
+  }
+
+  @Test
+  void encodesObserveWithCollection() {
+    ObserveViaCasRequest request = new ObserveViaCasRequest(TIMEOUT, CTX, CID,
+      BestEffortRetryStrategy.INSTANCE, "key", false, 0);
+
+    ByteBuf key = prefixedKey("key");
+    ByteBuf body = ALLOC.buffer()
+      .writeShort(request.partition())
+      .writeShort(key.readableBytes())
+      .writeBytes(key);
+    ByteBuf expected = MemcacheProtocol.request(ALLOC, MemcacheProtocol.Opcode.OBSERVE_CAS, noDatatype(),
+      request.partition(), 1, noCas(), noExtras(), MemcacheProtocol.noKey(), body);
+
+    assertFraming(expected, request.encode(ALLOC, 1, ctx()));
+  }
+
+  private static void assertFraming(final ByteBuf expected, final ByteBuf encoded) {
+    try {
+      assertEquals(expected, encoded);
+      assertEquals(encoded.capacity(), encoded.writerIndex());
+    } finally {
+      ReferenceCountUtil.release(expected);
+      ReferenceCountUtil.release(encoded);
+    }
+  }
+
+  private static ByteBuf prefixedKey(final String key) {
+    return Unpooled.wrappedBuffer(CID_PREFIX, key.getBytes(UTF_8));
+  }
+
+  private static KeyValueChannelContext ctx() {
+    CollectionMap collectionMap = new CollectionMap();
+    collectionMap.put(CID, CID_PREFIX);
+    return new KeyValueChannelContext(CompressionConfig.builder().enable(false).build(), true, false,
+      Optional.of(CID.bucket()), true, false, false, collectionMap, null, false);
+  }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.NoopRequest;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link AdaptiveConcurrencyLimiter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+  private final CoreContext ctx = new CoreContext(mock(Core.class), 1, mock(CoreEnvironment.class),
+    mock(Authenticator.class));
+  private final List<Request<? extends Response>> dispatched = new ArrayList<>();
+
+  @Test
+  void queuesOverLimitAndDispatchesOnCompletion() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+    NoopRequest first = request();
+    NoopRequest second = request();
+    NoopRequest third = request();
+
+    assertTrue(limiter.tryAcquire(first));
+    assertTrue(limiter.tryAcquire(second));
+    assertFalse(limiter.tryAcquire(third));
+    assertEquals(2, limiter.inFlight());
+    assertEquals(1, limiter.queued());
+
+    complete(first, 1000);
+    assertEquals(1, dispatched.size());
+    assertSame(third, dispatched.get(0));
+    assertSame(limiter, third.context().concurrencyLimiter());
+    assertEquals(2, limiter.inFlight());
+    assertEquals(0, limiter.queued());
+
+    // the dispatched request must pass when it comes back through the node
+    assertTrue(limiter.tryAcquire(third));
+    assertEquals(2, limiter.inFlight());
+
+    complete(second, 1000);
+    complete(third, 1000);
+    assertEquals(0, limiter.inFlight());
+  }
+
+  @Test
+  void failsFastIfQueueIsFull() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(request());
+    }
+
+    NoopRequest rejected = request();
+    assertFalse(limiter.tryAcquire(rejected));
+    assertTrue(rejected.cancelled());
+    assertEquals(CancellationReason.TOO_MANY_REQUESTS_IN_FLIGHT, rejected.cancellationReason());
+    assertEquals(2, limiter.queued());
+  }
+
+  @Test
+  void skipsQueuedRequestsWhichCompletedWhileWaiting() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 1, 1, 10);
+    NoopRequest first = request();
+    NoopRequest timedOut = request();
+    NoopRequest waiting = request();
+
+    assertTrue(limiter.tryAcquire(first));
+    assertFalse(limiter.tryAcquire(timedOut));
+    timedOut.cancel(CancellationReason.TIMEOUT);
+    assertFalse(limiter.tryAcquire(waiting));
+    assertFalse(waiting.completed());
+
+    complete(first, 1000);
+    assertEquals(1, dispatched.size());
+    assertSame(waiting, dispatched.get(0));
+    assertEquals(1, limiter.inFlight());
+  }
+
+  @Test
+  void handsPermitOverToOtherLimiter() {
+    AdaptiveConcurrencyLimiter first = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+    AdaptiveConcurrencyLimiter second = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+    NoopRequest request = request();
+
+    assertTrue(first.tryAcquire(request));
+    assertTrue(second.tryAcquire(request));
+    assertEquals(0, first.inFlight());
+    assertEquals(1, second.inFlight());
+
+    complete(request, 1000);
+    assertEquals(0, second.inFlight());
+  }
+
+  @Test
+  void releasesEachPermitOnceIfRequestCompletesDuringHandOver() throws Exception {
+    for (int i = 0; i < 1000; i++) {
+      AdaptiveConcurrencyLimiter first = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+      AdaptiveConcurrencyLimiter second = new AdaptiveConcurrencyLimiter(dispatched::add, 2, 1, 10);
+      NoopRequest request = request();
+      assertTrue(first.tryAcquire(request));
+
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      Thread handOver = new Thread(() -> {
+        await(barrier);
+        second.tryAcquire(request);
+      });
+      handOver.start();
+      await(barrier);
+      complete(request, 1000);
+      handOver.join();
+
+      assertEquals(0, first.inFlight());
+      assertEquals(0, second.inFlight());
+    }
+  }
+
+  @Test
+  void drainsQueuedRequestsIntoConsumer() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 1, 1, 10);
+    NoopRequest first = request();
+    NoopRequest timedOut = request();
+    NoopRequest waiting = request();
+
+    assertTrue(limiter.tryAcquire(first));
+    assertFalse(limiter.tryAcquire(timedOut));
+    timedOut.cancel(CancellationReason.TIMEOUT);
+    assertFalse(limiter.tryAcquire(waiting));
+
+    List<Request<? extends Response>> drained = new ArrayList<>();
+    limiter.drainQueue(drained::add);
+    assertEquals(1, drained.size());
+    assertSame(waiting, drained.get(0));
+    assertEquals(0, limiter.queued());
+
+    complete(first, 1000);
+    assertTrue(dispatched.isEmpty());
+    assertEquals(0, limiter.inFlight());
+  }
+
+  @Test
+  void growsWhileLatencyIsStable() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 4, 1, 100);
+    List<NoopRequest> inFlight = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      while (inFlight.size() < limiter.currentLimit()) {
+        NoopRequest request = request();
+        assertTrue(limiter.tryAcquire(request));
+        inFlight.add(request);
+      }
+      complete(inFlight.remove(0), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertTrue(limiter.currentLimit() > 4);
+  }
+
+  @Test
+  void backsOffOnLatencySpikeAndTimeouts() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(dispatched::add, 50, 10, 100);
+    for (int i = 0; i < 100; i++) {
+      NoopRequest request = request();
+      limiter.tryAcquire(request);
+      complete(request, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    int stableLimit = limiter.currentLimit();
+
+    for (int i = 0; i < 10; i++) {
+      NoopRequest request = request();
+      limiter.tryAcquire(request);
+      complete(request, TimeUnit.MILLISECONDS.toNanos(50));
+    }
+    int backedOff = limiter.currentLimit();
+    assertTrue(backedOff < stableLimit);
+
+    NoopRequest timedOut = request();
+    limiter.tryAcquire(timedOut);
+    timedOut.cancel(CancellationReason.TIMEOUT);
+    assertTrue(limiter.currentLimit() <= backedOff);
+    assertTrue(limiter.currentLimit() >= 10);
+  }
+
+  private NoopRequest request() {
+    return new NoopRequest(Duration.ofSeconds(1), ctx, BestEffortRetryStrategy.INSTANCE, null);
+  }
+
+  private static void complete(final NoopRequest request, final long dispatchLatency) {
+    request.context().dispatchLatency(dispatchLatency);
+    request.fail(new RuntimeException());
+  }
+
+  private static void await(final CyclicBarrier barrier) {
+    try {
+      barrier.await();
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+}
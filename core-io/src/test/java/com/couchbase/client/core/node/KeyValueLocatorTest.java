@@ -82,6 +82,57 @@ class KeyValueLocatorTest {
     verify(node2Mock, never()).send(getRequestMock);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void usesPublishedRoutingTableUntilBucketIsGone() {
+    KeyValueLocator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    NodeInfo nodeInfo2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+      Collections.EMPTY_MAP, null);
+
+    Node node1Mock = mock(Node.class);
+    when(node1Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node node2Mock = mock(Node.class);
+    when(node2Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    List<Node> nodes = new ArrayList<>(Arrays.asList(node1Mock, node2Mock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(configMock.bucketConfigs()).thenReturn(Collections.singletonMap("bucket", bucketMock));
+    when(bucketMock.nodes()).thenReturn(Arrays.asList(nodeInfo1, nodeInfo2));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 0);
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo1);
+
+    GetRequest getRequest = mock(GetRequest.class);
+    when(getRequest.bucket()).thenReturn("bucket");
+    when(getRequest.key()).thenReturn("key".getBytes(UTF_8));
+    when(getRequest.context()).thenReturn(mock(RequestContext.class));
+
+    locator.updateRoutingTables(configMock, nodes);
+
+    // The published table still points to the first node, while the regular lookup would pick the second one
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo2);
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, never()).send(getRequest);
+
+    locator.removeRoutingTable("bucket");
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, times(1)).send(getRequest);
+
+    locator.updateRoutingTables(configMock, nodes);
+    when(configMock.bucketConfigs()).thenReturn(Collections.emptyMap());
+    locator.updateRoutingTables(configMock, nodes);
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, times(2)).send(getRequest);
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void pickFastForwardIfAvailableAndRetry() {
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link PartitionRoutingTable}.
+ */
+class PartitionRoutingTableTest {
+
+  private static final NodeInfo NODE_INFO_1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+    Collections.emptyMap(), null);
+  private static final NodeInfo NODE_INFO_2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+    Collections.emptyMap(), null);
+
+  @Test
+  void locatesActiveAndReplicaNodes() {
+    Node node1 = node(NODE_INFO_1);
+    Node node2 = node(NODE_INFO_2);
+    List<Node> nodes = new ArrayList<>();
+    nodes.add(node1);
+    nodes.add(node2);
+    CouchbaseBucketConfig config = config(false);
+
+    PartitionRoutingTable table = PartitionRoutingTable.build(config, nodes);
+    assertTrue(table.builtFor(config, nodes));
+
+    assertSame(node1, table.active(0, false));
+    assertSame(node2, table.replica(0, 0, false));
+    assertSame(node2, table.active(1, false));
+    assertSame(node1, table.replica(1, 0, false));
+
+    assertNull(table.replica(0, 1, false));
+    assertNull(table.active(4, false));
+    assertNull(table.active(0, true));
+  }
+
+  @Test
+  void locatesFastForwardNodes() {
+    Node node1 = node(NODE_INFO_1);
+    Node node2 = node(NODE_INFO_2);
+    List<Node> nodes = new ArrayList<>();
+    nodes.add(node1);
+    nodes.add(node2);
+    CouchbaseBucketConfig config = config(true);
+    when(config.nodeIndexForActive(0, true)).thenReturn((short) 1);
+
+    PartitionRoutingTable table = PartitionRoutingTable.build(config, nodes);
+    assertSame(node1, table.active(0, false));
+    assertSame(node2, table.active(0, true));
+  }
+
+  @Test
+  void leavesUnmanagedNodesEmptyAndDetectsChanges() {
+    Node node1 = node(NODE_INFO_1);
+    List<Node> nodes = new ArrayList<>();
+    nodes.add(node1);
+    CouchbaseBucketConfig config = config(false);
+
+    PartitionRoutingTable table = PartitionRoutingTable.build(config, nodes);
+    assertSame(node1, table.active(0, false));
+    assertNull(table.active(1, false));
+
+    nodes.add(node(NODE_INFO_2));
+    assertFalse(table.builtFor(config, nodes));
+    assertFalse(PartitionRoutingTable.build(config, nodes).builtFor(config(false), nodes));
+  }
+
+  @Test
+  void detectsReplacedNodeWithSameNodeCount() {
+    Node node1 = node(NODE_INFO_1);
+    Node node2 = node(NODE_INFO_2);
+    List<Node> nodes = new CopyOnWriteArrayList<>();
+    nodes.add(node1);
+    nodes.add(node2);
+    CouchbaseBucketConfig config = config(false);
+
+    PartitionRoutingTable table = PartitionRoutingTable.build(config, nodes);
+    assertTrue(table.builtFor(config, nodes));
+
+    nodes.remove(node2);
+    Node replacement = node(NODE_INFO_2);
+    nodes.add(replacement);
+    assertFalse(table.builtFor(config, nodes));
+
+    PartitionRoutingTable rebuilt = PartitionRoutingTable.build(config, nodes);
+    assertTrue(rebuilt.builtFor(config, nodes));
+    assertSame(replacement, rebuilt.active(1, false));
+  }
+
+  private static Node node(final NodeInfo nodeInfo) {
+    Node node = mock(Node.class);
+    when(node.identifier()).thenReturn(nodeInfo.identifier());
+    return node;
+  }
+
+  /**
+   * Creates a config with four partitions and one replica, alternating the active between the two nodes.
+   */
+  private static CouchbaseBucketConfig config(final boolean fastForward) {
+    CouchbaseBucketConfig config = mock(CouchbaseBucketConfig.class);
+    when(config.numberOfPartitions()).thenReturn(4);
+    when(config.numberOfReplicas()).thenReturn(1);
+    when(config.hasFastForwardMap()).thenReturn(fastForward);
+    when(config.nodeAtIndex(0)).thenReturn(NODE_INFO_1);
+    when(config.nodeAtIndex(1)).thenReturn(NODE_INFO_2);
+    when(config.nodeIndexForActive(anyInt(), anyBoolean())).thenAnswer(i -> (short) ((int) i.getArgument(0) % 2));
+    when(config.nodeIndexForReplica(anyInt(), anyInt(), anyBoolean()))
+      .thenAnswer(i -> (short) (((int) i.getArgument(0) + 1) % 2));
+    return config;
+  }
+
+}
@@ -49,6 +49,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -429,7 +430,7 @@ class PooledServiceTest {
   }
 
   @Test
-  void cleansIdleConnections() throws Exception {
+  void cleansIdleConnections() {
     int minEndpoints = 0;
     long now = System.nanoTime();
 
@@ -478,9 +479,15 @@ class PooledServiceTest {
     states.onNext(EndpointState.CONNECTING);
     states.onNext(EndpointState.CONNECTED);
 
-    when(mock1.outstandingRequests()).thenReturn(0L);
+    // The endpoint is moved into the pool on another thread before the request is written into it.
+    verify(mock1, timeout(1000)).send(request1);
+
+    // Let the endpoint appear idle for longer than configured, stubbing without invoking the mock since the
+    // periodic check might be using it at the same time.
+    doReturn(0L).when(mock1).outstandingRequests();
+    doReturn(System.nanoTime() - Duration.ofSeconds(1).toNanos()).when(mock1).lastResponseReceived();
 
-    Thread.sleep(600);
+    service.cleanIdleConnections();
 
     verify(mock1, times(1)).disconnect();
     verify(mock2, never()).disconnect();
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.tracing.NoopRequestTracer;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link ObserveCoordinator}.
+ */
+class ObserveCoordinatorTest {
+
+  private final List<ObserveViaSeqnoRequest> sent = new ArrayList<>();
+  private final ObserveCoordinator coordinator = new ObserveCoordinator();
+  private CoreContext coreContext;
+
+  @BeforeEach
+  void beforeEach() {
+    Core core = mock(Core.class);
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    when(env.requestTracer()).thenReturn(NoopRequestTracer.INSTANCE);
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(core).send(any());
+    coreContext = new CoreContext(core, 1, env, mock(Authenticator.class));
+  }
+
+  @Test
+  void sharesInFlightPollPerPartitionAndReplica() {
+    MutationToken first = new MutationToken((short) 1, 1234, 10, "bucket");
+    MutationToken second = new MutationToken((short) 1, 1234, 20, "bucket");
+
+    CompletableFuture<ObserveViaSeqnoResponse> firstActive = observe(first, "a", 0);
+    CompletableFuture<ObserveViaSeqnoResponse> secondActive = observe(second, "b", 0);
+    CompletableFuture<ObserveViaSeqnoResponse> secondReplica = observe(second, "b", 1);
+
+    assertEquals(2, sent.size());
+    assertTrue(sent.get(0).active());
+    assertEquals(1, sent.get(1).replica());
+
+    ObserveViaSeqnoResponse response = response();
+    sent.get(0).succeed(response);
+    assertSame(response, firstActive.join());
+    assertSame(response, secondActive.join());
+    assertFalse(secondReplica.isDone());
+    assertEquals(1, coordinator.inFlight());
+
+    observe(first, "a", 0);
+    assertEquals(3, sent.size());
+  }
+
+  @Test
+  void doesNotShareAcrossPartitions() {
+    observe(new MutationToken((short) 1, 1234, 10, "bucket"), "a", 0);
+    observe(new MutationToken((short) 2, 1234, 10, "bucket"), "b", 0);
+    observe(new MutationToken((short) 1, 5678, 10, "bucket"), "c", 0);
+
+    assertEquals(3, sent.size());
+  }
+
+  @Test
+  void completesEmptyOnFailure() {
+    CompletableFuture<ObserveViaSeqnoResponse> result = observe(new MutationToken((short) 1, 1234, 10, "bucket"), "a", 0);
+    sent.get(0).fail(new RuntimeException("failed"));
+
+    assertNull(result.join());
+    assertEquals(0, coordinator.inFlight());
+  }
+
+  private CompletableFuture<ObserveViaSeqnoResponse> observe(final MutationToken token, final String key,
+                                                             final int replica) {
+    ObserveContext ctx = new ObserveContext(coreContext, Observe.ObservePersistTo.ONE, Observe.ObserveReplicateTo.NONE,
+      Optional.of(token), 0, CollectionIdentifier.fromDefault("bucket"), key, false, Duration.ofSeconds(1), null);
+    return coordinator.observe(ctx, token, replica, null).toFuture();
+  }
+
+  private static ObserveViaSeqnoResponse response() {
+    return new ObserveViaSeqnoResponse(ResponseStatus.SUCCESS, true, (short) 1, 1234, 20, 20,
+      Optional.empty(), Optional.empty());
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link PowerOfTwoChoicesSelectionStrategy}.
+ */
+class PowerOfTwoChoicesSelectionStrategyTest {
+
+  @SuppressWarnings("unchecked")
+  private final Request<?> request = mock(Request.class);
+
+  @Test
+  void returnsNullIfEmptyEndpointList() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    assertNull(strategy.select(request, Collections.emptyList()));
+  }
+
+  @Test
+  void selectsSingleEndpointOnlyIfEligible() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    Endpoint endpoint = endpoint(0, 0);
+    assertSame(endpoint, strategy.select(request, Collections.singletonList(endpoint)));
+
+    when(endpoint.channelWritable()).thenReturn(false);
+    assertNull(strategy.select(request, Collections.singletonList(endpoint)));
+  }
+
+  @Test
+  void prefersFewerOutstandingRequests() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    Endpoint busy = endpoint(5, 0);
+    Endpoint idle = endpoint(1, 1000);
+    List<Endpoint> endpoints = Arrays.asList(busy, idle);
+
+    for (int i = 0; i < 100; i++) {
+      assertSame(idle, strategy.select(request, endpoints));
+    }
+  }
+
+  @Test
+  void prefersLowerLatencyIfEquallyLoaded() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    Endpoint slow = endpoint(0, 50_000_000);
+    Endpoint fast = endpoint(0, 200_000);
+    List<Endpoint> endpoints = Arrays.asList(slow, fast);
+
+    for (int i = 0; i < 100; i++) {
+      assertSame(fast, strategy.select(request, endpoints));
+    }
+  }
+
+  @Test
+  void skipsIneligibleEndpoints() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    Endpoint disconnected = endpoint(0, 0);
+    when(disconnected.state()).thenReturn(EndpointState.DISCONNECTED);
+    Endpoint notWritable = endpoint(0, 0);
+    when(notWritable.channelWritable()).thenReturn(false);
+    Endpoint busy = endpoint(0, 0);
+    when(busy.freeToWrite()).thenReturn(false);
+    Endpoint eligible = endpoint(3, 50_000_000);
+    List<Endpoint> endpoints = Arrays.asList(disconnected, notWritable, busy, eligible);
+
+    for (int i = 0; i < 100; i++) {
+      assertSame(eligible, strategy.select(request, endpoints));
+    }
+
+    when(eligible.freeToWrite()).thenReturn(false);
+    assertNull(strategy.select(request, endpoints));
+  }
+
+  @Test
+  void spreadsAcrossEquallyLoadedEndpoints() {
+    EndpointSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+    List<Endpoint> endpoints = Arrays.asList(endpoint(0, 0), endpoint(0, 0), endpoint(0, 0), endpoint(0, 0));
+
+    int[] selected = new int[endpoints.size()];
+    for (int i = 0; i < 1000; i++) {
+      selected[endpoints.indexOf(strategy.select(request, endpoints))]++;
+    }
+    for (int count : selected) {
+      assertEquals(true, count > 0);
+    }
+  }
+
+  private static Endpoint endpoint(final long outstandingRequests, final long recentLatency) {
+    Endpoint endpoint = mock(Endpoint.class);
+    when(endpoint.state()).thenReturn(EndpointState.CONNECTED);
+    when(endpoint.freeToWrite()).thenReturn(true);
+    when(endpoint.channelWritable()).thenReturn(true);
+    when(endpoint.outstandingRequests()).thenReturn(outstandingRequests);
+    when(endpoint.recentLatency()).thenReturn(recentLatency);
+    return endpoint;
+  }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link ConcurrentLruCache}.
+ */
+class ConcurrentLruCacheTest {
+
+  @Test
+  void storesAndRemovesEntries() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10);
+    assertNull(cache.get("foo"));
+
+    cache.put("foo", "bar");
+    assertEquals("bar", cache.get("foo"));
+    cache.put("foo", "baz");
+    assertEquals("baz", cache.get("foo"));
+    assertEquals(1, cache.size());
+
+    assertEquals("baz", cache.remove("foo"));
+    assertNull(cache.get("foo"));
+    assertNull(cache.remove("foo"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void evictsEntriesNotRecentlyUsed() {
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(3);
+    cache.put(1, 1);
+    cache.put(2, 2);
+    cache.put(3, 3);
+
+    // 1 gets a second chance, so 2 is the first one which is not referenced
+    cache.get(1);
+    cache.put(4, 4);
+
+    assertEquals(3, cache.size());
+    assertNotNull(cache.get(1));
+    assertNull(cache.get(2));
+    assertNotNull(cache.get(3));
+    assertNotNull(cache.get(4));
+  }
+
+  @Test
+  void skipsRemovedEntriesOnEviction() {
+    CountingMeter meter = new CountingMeter();
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(2, meter, "test");
+    cache.put(1, 1);
+    cache.put(2, 2);
+    cache.get(1);
+    cache.remove(1);
+
+    cache.put(3, 3);
+    assertEquals(2, cache.size());
+    assertEquals(0, meter.count("cb.cache.evictions"));
+
+    cache.put(4, 4);
+    assertEquals(2, cache.size());
+    assertEquals(1, meter.count("cb.cache.evictions"));
+    assertNull(cache.get(2));
+    assertNotNull(cache.get(3));
+    assertNotNull(cache.get(4));
+  }
+
+  @Test
+  void keepsClockBoundedUnderRemovals() {
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(8);
+    for (int i = 0; i < 10_000; i++) {
+      cache.put(i, i);
+      assertEquals(i, cache.remove(i));
+    }
+
+    assertEquals(0, cache.size());
+    assertTrue(cache.clockSize() <= 9);
+  }
+
+  @Test
+  void reportsHitsMissesAndEvictions() {
+    CountingMeter meter = new CountingMeter();
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(2, meter, "test");
+
+    cache.put(1, 1);
+    cache.put(2, 2);
+    cache.get(1);
+    cache.get(1);
+    cache.get(5);
+    cache.put(3, 3);
+
+    assertEquals(2, meter.count("cb.cache.hits"));
+    assertEquals(1, meter.count("cb.cache.misses"));
+    assertEquals(1, meter.count("cb.cache.evictions"));
+  }
+
+  @Test
+  void staysWithinCapacityUnderConcurrentAccess() throws Exception {
+    int capacity = 100;
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(capacity);
+    CountDownLatch latch = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final int offset = t;
+      Thread thread = new Thread(() -> {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < 10_000; i++) {
+          int key = (i * 31 + offset) % 1000;
+          if (cache.get(key) == null) {
+            cache.put(key, key);
+          }
+          if (i % 100 == 0) {
+            cache.remove(key);
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    latch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(cache.size() <= capacity);
+    int found = 0;
+    for (int key = 0; key < 1000; key++) {
+      Integer value = cache.get(key);
+      if (value != null) {
+        assertEquals(key, (int) value);
+        found++;
+      }
+    }
+    assertEquals(cache.size(), found);
+  }
+
+  @Test
+  void accountsForEntriesRemovedDuringEviction() throws Exception {
+    ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(16);
+    CountDownLatch latch = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final int offset = t;
+      Thread thread = new Thread(() -> {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < 20_000; i++) {
+          int key = (i * 7 + offset) % 64;
+          cache.put(key, key);
+          cache.remove((key + 1) % 64);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    latch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int key = 0; key < 64; key++) {
+      cache.remove(key);
+    }
+    assertEquals(0, cache.size());
+    assertEquals(cache.clockSize(), cache.removedInClock());
+  }
+
+  /**
+   * Simple meter which keeps track of the counter values by name.
+   */
+  private static class CountingMeter implements Meter {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(final String name, final Map<String, String> tags) {
+      AtomicLong counter = counters.computeIfAbsent(name, k -> new AtomicLong());
+      return counter::addAndGet;
+    }
+
+    @Override
+    public ValueRecorder valueRecorder(final String name, final Map<String, String> tags) {
+      throw new UnsupportedOperationException();
+    }
+
+    long count(final String name) {
+      return counters.get(name).get();
+    }
+  }
+
+}
@@ -56,6 +56,7 @@ import com.couchbase.client.java.manager.user.AsyncUserManager;
 import com.couchbase.client.java.query.QueryAccessor;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 import com.couchbase.client.java.search.SearchAccessor;
 import com.couchbase.client.java.search.SearchOptions;
 import com.couchbase.client.java.search.SearchQuery;
@@ -325,6 +326,23 @@ public class AsyncCluster {
     return queryAccessor.queryAsync(queryRequest(statement, opts), opts, serializer);
   }
 
+  /**
+   * Performs a N1QL query with custom {@link QueryOptions} and returns a result which pulls the rows on demand.
+   *
+   * <p>Note that consuming the rows of the {@link StreamingQueryResult} blocks while waiting for further rows.</p>
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   */
+  @Stability.Volatile
+  public CompletableFuture<StreamingQueryResult> queryStream(final String statement, final QueryOptions options) {
+    notNull(options, "QueryOptions", () -> new ReducedQueryErrorContext(statement));
+    final QueryOptions.Built opts = options.build();
+    JsonSerializer serializer = opts.serializer() == null ? environment.get().jsonSerializer() : opts.serializer();
+    return queryAccessor.queryStreamAsync(queryRequest(statement, opts), opts, serializer);
+  }
+
   /**
    * Helper method to construct the query request.
    *
@@ -62,6 +62,7 @@ import com.couchbase.client.java.kv.GetAnyReplicaOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetReplicaResult;
 import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.HedgedReplicaAccessor;
 import com.couchbase.client.java.kv.InsertAccessor;
 import com.couchbase.client.java.kv.InsertOptions;
 import com.couchbase.client.java.kv.LookupInAccessor;
@@ -69,6 +70,8 @@ import com.couchbase.client.java.kv.LookupInMacro;
 import com.couchbase.client.java.kv.LookupInOptions;
 import com.couchbase.client.java.kv.LookupInResult;
 import com.couchbase.client.java.kv.LookupInSpec;
+import com.couchbase.client.java.kv.MultiAccessor;
+import com.couchbase.client.java.kv.MultiResult;
 import com.couchbase.client.java.kv.MutateInAccessor;
 import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
@@ -79,6 +82,7 @@ import com.couchbase.client.java.kv.RemoveAccessor;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplaceAccessor;
 import com.couchbase.client.java.kv.ReplaceOptions;
+import com.couchbase.client.java.kv.ReplicateTo;
 import com.couchbase.client.java.kv.StoreSemantics;
 import com.couchbase.client.java.kv.TouchAccessor;
 import com.couchbase.client.java.kv.TouchOptions;
@@ -91,7 +95,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -269,6 +275,51 @@ public class AsyncCollection {
     }
   }
 
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @return a {@link CompletableFuture} completing once all documents are loaded or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids) {
+    return getMulti(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   * <p>
+   * The individual requests are ordered by their target node before they are sent, but each of them is still
+   * routed and written on its own. The returned future completes once every document is either loaded or failed,
+   * the individual failures are reported in {@link MultiResult#errors()} and do not fail the returned future.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @param options custom options to change the default behavior.
+   * @return a {@link CompletableFuture} completing once all documents are loaded or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids,
+                                                            final GetOptions options) {
+    notNull(ids, "Ids", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "GetOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    final GetOptions.Built opts = options.build();
+
+    final Transcoder transcoder = opts.transcoder() == null ? environment.transcoder() : opts.transcoder();
+    if (opts.projections().isEmpty() && !opts.withExpiry()) {
+      Map<String, GetRequest> requests = new LinkedHashMap<>(ids.size());
+      for (String id : ids) {
+        requests.put(id, fullGetRequest(id, opts));
+      }
+      return MultiAccessor.get(core, requests, transcoder);
+    } else {
+      Map<String, CompletableFuture<GetResult>> operations = new LinkedHashMap<>(ids.size());
+      for (String id : ids) {
+        operations.put(id, GetAccessor.subdocGet(core, subdocGetRequest(id, opts), transcoder));
+      }
+      return MultiAccessor.collect(operations);
+    }
+  }
+
   /**
    * Helper method to create a get request for a full doc fetch.
    *
@@ -561,6 +612,14 @@ public class AsyncCollection {
     );
     opts.parentSpan(parent);
 
+    if (built.hedged()) {
+      GetAllReplicasOptions.Built allOpts = opts.build();
+      Transcoder transcoder = allOpts.transcoder() == null ? environment.transcoder() : allOpts.transcoder();
+      Duration timeout = allOpts.timeout().orElse(environment.timeoutConfig().kvTimeout());
+      return getAllReplicasRequests(id, allOpts, timeout, parent)
+        .thenCompose(requests -> HedgedReplicaAccessor.getAnyReplica(core, requests.collect(Collectors.toList()), transcoder))
+        .whenComplete((getReplicaResult, throwable) -> parent.end());
+    }
 
     CompletableFuture<List<CompletableFuture<GetReplicaResult>>> listOfFutures = getAllReplicas(id, opts);
 
@@ -713,6 +772,51 @@ public class AsyncCollection {
     return RemoveAccessor.remove(core, removeRequest(id, opts), id, opts.persistTo(), opts.replicateTo());
   }
 
+  /**
+   * Removes many documents from a collection with default options.
+   *
+   * @param ids the ids of the documents to remove.
+   * @return a {@link CompletableFuture} completing once all documents are removed or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids) {
+    return removeMulti(ids, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes many documents from a collection with custom options.
+   * <p>
+   * The individual requests are ordered by their target node before they are sent, but each of them is still
+   * routed and written on its own. The returned future completes once every document is either removed or failed,
+   * the individual failures are reported in {@link MultiResult#errors()} and do not fail the returned future.
+   *
+   * @param ids the ids of the documents to remove.
+   * @param options custom options to change the default behavior.
+   * @return a {@link CompletableFuture} completing once all documents are removed or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids,
+                                                                    final RemoveOptions options) {
+    notNull(ids, "Ids", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "RemoveOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    RemoveOptions.Built opts = options.build();
+
+    if (opts.persistTo() == PersistTo.NONE && opts.replicateTo() == ReplicateTo.NONE) {
+      Map<String, RemoveRequest> requests = new LinkedHashMap<>(ids.size());
+      for (String id : ids) {
+        requests.put(id, removeRequest(id, opts));
+      }
+      return MultiAccessor.remove(core, requests);
+    } else {
+      Map<String, CompletableFuture<MutationResult>> operations = new LinkedHashMap<>(ids.size());
+      for (String id : ids) {
+        operations.put(id, RemoveAccessor.remove(core, removeRequest(id, opts), id, opts.persistTo(),
+          opts.replicateTo()));
+      }
+      return MultiAccessor.collect(operations);
+    }
+  }
+
   /**
    * Helper method to create the remove request.
    *
@@ -824,6 +928,52 @@ public class AsyncCollection {
     return UpsertAccessor.upsert(core, upsertRequest(id, content, opts), id, opts.persistTo(), opts.replicateTo());
   }
 
+  /**
+   * Upserts many full documents which might or might not exist yet with default options.
+   *
+   * @param documents the document contents to upsert, keyed by their document ids.
+   * @return a {@link CompletableFuture} completing once all documents are upserted or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents) {
+    return upsertMulti(documents, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts many full documents which might or might not exist yet with custom options.
+   * <p>
+   * The individual requests are ordered by their target node before they are sent, but each of them is still
+   * routed and written on its own. The returned future completes once every document is either upserted or failed,
+   * the individual failures are reported in {@link MultiResult#errors()} and do not fail the returned future.
+   *
+   * @param documents the document contents to upsert, keyed by their document ids.
+   * @param options custom options to customize the upsert behavior.
+   * @return a {@link CompletableFuture} completing once all documents are upserted or failed.
+   */
+  @Stability.Volatile
+  public CompletableFuture<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents,
+                                                                    final UpsertOptions options) {
+    notNull(documents, "Documents", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "UpsertOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    UpsertOptions.Built opts = options.build();
+
+    if (opts.persistTo() == PersistTo.NONE && opts.replicateTo() == ReplicateTo.NONE) {
+      Map<String, UpsertRequest> requests = new LinkedHashMap<>(documents.size());
+      for (Map.Entry<String, ?> document : documents.entrySet()) {
+        requests.put(document.getKey(), upsertRequest(document.getKey(), document.getValue(), opts));
+      }
+      return MultiAccessor.upsert(core, requests);
+    } else {
+      Map<String, CompletableFuture<MutationResult>> operations = new LinkedHashMap<>(documents.size());
+      for (Map.Entry<String, ?> document : documents.entrySet()) {
+        String id = document.getKey();
+        operations.put(id, UpsertAccessor.upsert(core, upsertRequest(id, document.getValue(), opts), id,
+          opts.persistTo(), opts.replicateTo()));
+      }
+      return MultiAccessor.collect(operations);
+    }
+  }
+
   /**
    * Helper method to generate the upsert request.
    *
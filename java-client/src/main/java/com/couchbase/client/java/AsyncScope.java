@@ -37,6 +37,7 @@ import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.query.QueryAccessor;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -219,6 +220,25 @@ public class AsyncScope {
         serializer);
   }
 
+  /**
+   * Performs a N1QL query with custom {@link QueryOptions} in a Scope and returns a result which pulls the rows
+   * on demand.
+   *
+   * <p>Note that consuming the rows of the {@link StreamingQueryResult} blocks while waiting for further rows.</p>
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   */
+  @Stability.Volatile
+  public CompletableFuture<StreamingQueryResult> queryStream(final String statement, final QueryOptions options) {
+    notNull(options, "QueryOptions", () -> new ReducedQueryErrorContext(statement));
+    final QueryOptions.Built opts = options.build();
+    JsonSerializer serializer = opts.serializer() == null ? environment.jsonSerializer() : opts.serializer();
+    return queryAccessor.queryStreamAsync(queryRequest(bucketName(), scopeName, statement, opts, core, environment()),
+      opts, serializer);
+  }
+
   /**
    * Helper method to construct the query request. ( copied from Cluster )
    *
@@ -40,6 +40,7 @@ import com.couchbase.client.java.manager.search.SearchIndexManager;
 import com.couchbase.client.java.manager.user.UserManager;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 import com.couchbase.client.java.search.SearchOptions;
 import com.couchbase.client.java.search.SearchQuery;
 import com.couchbase.client.java.search.result.SearchResult;
@@ -393,6 +394,41 @@ public class Cluster {
     return block(async().query(statement, options));
   }
 
+  /**
+   * Performs a query against the query (N1QL) services and returns a result which pulls the rows on demand.
+   *
+   * <p>Only a bounded number of rows is buffered at a time, so this should be preferred over
+   * {@link #query(String)} for large results. The result should be used in a try-with-resources block.</p>
+   *
+   * @param statement the N1QL query statement.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStream(final String statement) {
+    return queryStream(statement, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Performs a query against the query (N1QL) services with custom options and returns a result which pulls the
+   * rows on demand.
+   *
+   * <p>Only a bounded number of rows is buffered at a time, so this should be preferred over
+   * {@link #query(String, QueryOptions)} for large results. The result should be used in a try-with-resources
+   * block.</p>
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStream(final String statement, final QueryOptions options) {
+    return block(async().queryStream(statement, options));
+  }
+
   /**
    * Performs an analytics query with default {@link AnalyticsOptions}.
    *
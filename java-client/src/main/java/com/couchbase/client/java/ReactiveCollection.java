@@ -56,6 +56,7 @@ import com.couchbase.client.java.kv.LookupInAccessor;
 import com.couchbase.client.java.kv.LookupInOptions;
 import com.couchbase.client.java.kv.LookupInResult;
 import com.couchbase.client.java.kv.LookupInSpec;
+import com.couchbase.client.java.kv.MultiResult;
 import com.couchbase.client.java.kv.MutateInAccessor;
 import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
@@ -77,6 +78,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
@@ -203,6 +205,31 @@ public class ReactiveCollection {
     return reactiveBinaryCollection;
   }
 
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @return a {@link Mono} completing once all documents are loaded or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids) {
+    return getMulti(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   * <p>
+   * The individual failures are reported in {@link MultiResult#errors()} and do not fail the returned {@link Mono}.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @param options custom options to change the default behavior.
+   * @return a {@link Mono} completing once all documents are loaded or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids, final GetOptions options) {
+    return Reactor.toMono(() -> asyncCollection.getMulti(ids, options));
+  }
+
   /**
    * Fetches a Document from a collection with default options.
    *
@@ -374,6 +401,9 @@ public class ReactiveCollection {
      */
   public Mono<GetReplicaResult> getAnyReplica(final String id, final GetAnyReplicaOptions options) {
     GetAnyReplicaOptions.Built built = options.build();
+    if (built.hedged()) {
+      return Reactor.toMono(() -> asyncCollection.getAnyReplica(id, options));
+    }
     GetAllReplicasOptions opts = GetAllReplicasOptions.getAllReplicasOptions().clientContext(built.clientContext());
     built.timeout().ifPresent(opts::timeout);
     built.retryStrategy().ifPresent(opts::retryStrategy);
@@ -413,6 +443,32 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Removes many documents from a collection with default options.
+   *
+   * @param ids the ids of the documents to remove.
+   * @return a {@link Mono} completing once all documents are removed or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids) {
+    return removeMulti(ids, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes many documents from a collection with custom options.
+   * <p>
+   * The individual failures are reported in {@link MultiResult#errors()} and do not fail the returned {@link Mono}.
+   *
+   * @param ids the ids of the documents to remove.
+   * @param options custom options to change the default behavior.
+   * @return a {@link Mono} completing once all documents are removed or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids,
+                                                       final RemoveOptions options) {
+    return Reactor.toMono(() -> asyncCollection.removeMulti(ids, options));
+  }
+
   /**
    * Removes a Document from a collection with default options.
    *
@@ -475,6 +531,31 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Upserts many full documents which might or might not exist yet with default options.
+   *
+   * @param documents the document contents to upsert, keyed by their document ids.
+   * @return a {@link Mono} completing once all documents are upserted or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents) {
+    return upsertMulti(documents, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts many full documents which might or might not exist yet with custom options.
+   * <p>
+   * The individual failures are reported in {@link MultiResult#errors()} and do not fail the returned {@link Mono}.
+   *
+   * @param documents the document contents to upsert, keyed by their document ids.
+   * @param options custom options to customize the upsert behavior.
+   * @return a {@link Mono} completing once all documents are upserted or failed.
+   */
+  @Stability.Volatile
+  public Mono<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents, final UpsertOptions options) {
+    return Reactor.toMono(() -> asyncCollection.upsertMulti(documents, options));
+  }
+
   /**
    * Upserts a full document which might or might not exist yet with default options.
    *
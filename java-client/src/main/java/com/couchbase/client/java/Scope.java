@@ -26,6 +26,7 @@ import com.couchbase.client.java.analytics.AnalyticsResult;
 import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -168,6 +169,38 @@ public class Scope {
     return block(async().query(statement, options));
   }
 
+  /**
+   * Performs a N1QL query with default {@link QueryOptions} in a Scope and returns a result which pulls the rows
+   * on demand.
+   *
+   * <p>Only a bounded number of rows is buffered at a time, so this should be preferred over
+   * {@link #query(String)} for large results. The result should be used in a try-with-resources block.</p>
+   *
+   * @param statement the N1QL query statement.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStream(final String statement) {
+    return queryStream(statement, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Performs a N1QL query with custom {@link QueryOptions} in a Scope and returns a result which pulls the rows
+   * on demand.
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingQueryResult} once the header of the response arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStream(final String statement, final QueryOptions options) {
+    return block(async().queryStream(statement, options));
+  }
+
   /**
    * Performs an Analytics query with default {@link AnalyticsOptions} on a scope
    *
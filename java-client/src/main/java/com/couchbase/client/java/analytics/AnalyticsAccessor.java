@@ -48,7 +48,9 @@ public class AnalyticsAccessor {
   }
 
   public static Mono<ReactiveAnalyticsResult> analyticsQueryReactive(final Core core, final AnalyticsRequest request, final JsonSerializer serializer) {
-    return analyticsQueryInternal(core, request).map(r -> new ReactiveAnalyticsResult(r, serializer));
+    return analyticsQueryInternal(core, request).map(r -> new ReactiveAnalyticsResult(
+      r, serializer, core.context().environment().scheduler()
+    ));
   }
 
   private static Mono<AnalyticsResponse> analyticsQueryInternal(final Core core, final AnalyticsRequest request) {
@@ -16,12 +16,17 @@
 
 package com.couchbase.client.java.analytics;
 
+import com.couchbase.client.core.Reactor;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.analytics.AnalyticsResponse;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.TypeRef;
 import com.couchbase.client.java.json.JsonObject;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 public class ReactiveAnalyticsResult {
 
@@ -32,9 +37,16 @@ public class ReactiveAnalyticsResult {
      */
     private final JsonSerializer serializer;
 
-    ReactiveAnalyticsResult(final AnalyticsResponse response, final JsonSerializer serializer) {
+    /**
+     * The scheduler to decode rows on if they are decoded in parallel.
+     */
+    private final Scheduler decodeScheduler;
+
+    ReactiveAnalyticsResult(final AnalyticsResponse response, final JsonSerializer serializer,
+                            final Scheduler decodeScheduler) {
         this.response = response;
         this.serializer = serializer;
+        this.decodeScheduler = decodeScheduler;
     }
 
     /**
@@ -55,6 +67,48 @@ public class ReactiveAnalyticsResult {
         return response.rows().map(row -> serializer.deserialize(target, row.data()));
     }
 
+    /**
+     * Get a {@link Flux} which publishes the rows that were fetched by the query which are then decoded to the
+     * requested entity class on the SDK scheduler, with up to the given number of rows decoded in parallel.
+     * <p>
+     * The rows are still published in order, and no more than {@code parallelism} rows are fetched ahead of
+     * the demand of the subscriber.
+     *
+     * @param target target class for converting the query row
+     * @param parallelism the maximum number of rows decoded at the same time, must be at least 1.
+     * @return {@link Flux}
+     * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
+     */
+    @Stability.Volatile
+    public <T> Flux<T> rowsAs(final Class<T> target, final int parallelism) {
+        checkParallelism(parallelism);
+        return Reactor.parallelMapOrdered(response.rows(), row -> serializer.deserialize(target, row.data()),
+          decodeScheduler, parallelism);
+    }
+
+    /**
+     * Get a {@link Flux} which publishes the rows that were fetched by the query which are then decoded to the
+     * requested entity type on the SDK scheduler, with up to the given number of rows decoded in parallel.
+     *
+     * @param target target type for converting the query row
+     * @param parallelism the maximum number of rows decoded at the same time, must be at least 1.
+     * @return {@link Flux}
+     * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
+     * @see #rowsAs(Class, int)
+     */
+    @Stability.Volatile
+    public <T> Flux<T> rowsAs(final TypeRef<T> target, final int parallelism) {
+        checkParallelism(parallelism);
+        return Reactor.parallelMapOrdered(response.rows(), row -> serializer.deserialize(target, row.data()),
+          decodeScheduler, parallelism);
+    }
+
+    private static void checkParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw InvalidArgumentException.fromMessage("The decode parallelism must be at least 1, but was " + parallelism);
+        }
+    }
+
     public Mono<AnalyticsMetaData> metaData() {
         return response.trailer().map(t -> AnalyticsMetaData.from(response.header(), t));
     }
@@ -23,6 +23,7 @@ import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.CouchbaseBucketConfig;
 import com.couchbase.client.core.config.NodeInfo;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.error.DocumentNotFoundException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.msg.kv.MultiObserveViaCasRequest;
 import com.couchbase.client.core.msg.kv.MultiObserveViaCasResponse;
@@ -31,10 +32,9 @@ import com.couchbase.client.core.node.KeyValueLocator;
 import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.java.Collection;
 import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.MultiResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -62,6 +62,8 @@ public class ReactiveBatchHelper {
    * only a small subset comes back. (So let's say you give it 1000 IDs but you only expect 50 to be there or so).
    * Otherwise if all are most of them are there, just use a bulk get with the reactive API directly - you won't see
    * much benefit in this case.
+   * <p>
+   * Documents which are removed after the exists check but before they are fetched are not part of the result.
    *
    * @param collection the collection to perform the fetch on.
    * @param ids the document IDs to fetch.
@@ -71,11 +73,28 @@ public class ReactiveBatchHelper {
   public static Mono<Map<String, GetResult>> getIfExists(final Collection collection,
                                                          final java.util.Collection<String> ids) {
     return  Mono.defer(() -> existsBytes(collection, ids)
-        .flatMap(e -> {
-          String key = new String(e, StandardCharsets.UTF_8);
-          return collection.reactive().get(key).map(r -> Tuples.of(key, r));
-        })
-        .collectMap(Tuple2::getT1, Tuple2::getT2));
+        .map(e -> new String(e, StandardCharsets.UTF_8))
+        .collectList()
+        .flatMap(found -> collection.reactive().getMulti(found))
+        .flatMap(ReactiveBatchHelper::foundResults));
+  }
+
+  /**
+   * Turns the result of fetching the existing documents into the map returned by {@link #getIfExists}.
+   * <p>
+   * Documents which have been removed between the exists check and the fetch are left out, all other errors
+   * fail the returned mono.
+   *
+   * @param result the result of the multi get.
+   * @return a mono with the found documents, or the first error which is not a {@link DocumentNotFoundException}.
+   */
+  static Mono<Map<String, GetResult>> foundResults(final MultiResult<GetResult> result) {
+    for (Throwable error : result.errors().values()) {
+      if (!(error instanceof DocumentNotFoundException)) {
+        return Mono.error(error);
+      }
+    }
+    return Mono.just(result.results());
   }
 
   /**
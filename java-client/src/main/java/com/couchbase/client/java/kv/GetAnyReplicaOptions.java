@@ -29,6 +29,11 @@ public class GetAnyReplicaOptions extends CommonOptions<GetAnyReplicaOptions> {
    */
   private Transcoder transcoder;
 
+  /**
+   * If the replicas are only read once the active did not respond in time.
+   */
+  private boolean hedged = false;
+
   /**
    * Creates a new set of {@link GetAnyReplicaOptions}.
    *
@@ -53,6 +58,24 @@ public class GetAnyReplicaOptions extends CommonOptions<GetAnyReplicaOptions> {
     return this;
   }
 
+  /**
+   * Reads from the active first and only fans out to the replicas if it did not respond in time.
+   *
+   * <p>By default the active and all replicas are read at once, which multiplies the read load by the number of
+   * copies. In hedged mode the replicas are only read if the active has not responded within its recent 95th
+   * percentile get latency (or failed before that), and the reads still in-flight are cancelled as soon as one
+   * of them returned the document. This protects against tail latency of a single node for a fraction of the
+   * read amplification.</p>
+   *
+   * @param hedged true if the replica reads should be hedged.
+   * @return the {@link GetAnyReplicaOptions} to allow method chaining.
+   */
+  @Stability.Volatile
+  public GetAnyReplicaOptions hedged(final boolean hedged) {
+    this.hedged = hedged;
+    return this;
+  }
+
   @Stability.Internal
   public Built build() {
     return new Built();
@@ -66,6 +89,10 @@ public class GetAnyReplicaOptions extends CommonOptions<GetAnyReplicaOptions> {
       return transcoder;
     }
 
+    public boolean hedged() {
+      return hedged;
+    }
+
   }
 
 }
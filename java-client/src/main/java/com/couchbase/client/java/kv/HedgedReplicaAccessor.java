@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentUnretrievableException;
+import com.couchbase.client.core.error.context.AggregateErrorContext;
+import com.couchbase.client.core.error.context.ErrorContext;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.java.codec.Transcoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reads a document from the active first and only from its replicas if the active does not respond in time.
+ *
+ * <p>The hedge delay is the recent 95th percentile latency of get requests against the node which is active for
+ * the partition of the document, as recorded by the endpoints. Until enough responses have been recorded (or if
+ * the active node cannot be determined) {@link #DEFAULT_HEDGE_DELAY} is used. If the active fails before the
+ * delay is up, the replicas are read right away. As soon as one read returned the document, all others still
+ * in-flight are cancelled.</p>
+ */
+@Stability.Internal
+public enum HedgedReplicaAccessor {
+  ;
+
+  /**
+   * The latency percentile of the active node after which the replicas are read.
+   */
+  static final double HEDGE_PERCENTILE = 0.95;
+
+  /**
+   * The hedge delay used if no recent latency of the active node is known.
+   */
+  static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(10);
+
+  /**
+   * Dispatches the read against the active and hedges it with the replica reads if needed.
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the request to the active, followed by the requests to the replicas.
+   * @param transcoder the transcoder used to decode the response bodies.
+   * @return a {@link CompletableFuture} with the first document returned.
+   */
+  public static CompletableFuture<GetReplicaResult> getAnyReplica(final Core core, final List<GetRequest> requests,
+                                                                  final Transcoder transcoder) {
+    GetRequest active = requests.get(0);
+    HedgedRead read = new HedgedRead(core, requests, transcoder);
+    read.start(hedgeDelay(core, active));
+    return read.result;
+  }
+
+  /**
+   * Returns the delay after which the replicas of the document of the given request are read.
+   *
+   * @param core the core to look up the config and latencies from.
+   * @param active the request to the active.
+   * @return the hedge delay.
+   */
+  static Duration hedgeDelay(final Core core, final GetRequest active) {
+    BucketConfig config = core.clusterConfig().bucketConfig(active.bucket());
+    if (!(config instanceof CouchbaseBucketConfig)) {
+      return DEFAULT_HEDGE_DELAY;
+    }
+
+    CouchbaseBucketConfig cbc = (CouchbaseBucketConfig) config;
+    int numPartitions = cbc.numberOfPartitions();
+    if (numPartitions == 0) {
+      return DEFAULT_HEDGE_DELAY;
+    }
+    int nodeIndex = cbc.nodeIndexForActive(KeyValueLocator.partitionForKey(active.key(), numPartitions), false);
+    if (nodeIndex < 0 || nodeIndex >= cbc.nodes().size()) {
+      return DEFAULT_HEDGE_DELAY;
+    }
+
+    long percentile = core.responseLatencyPercentile(
+      ServiceType.KV,
+      cbc.nodeAtIndex(nodeIndex).hostname(),
+      GetRequest.class,
+      HEDGE_PERCENTILE
+    );
+    return percentile > 0 ? Duration.ofNanos(percentile) : DEFAULT_HEDGE_DELAY;
+  }
+
+  /**
+   * Holds the state of one hedged read.
+   */
+  private static class HedgedRead {
+
+    private final Core core;
+    private final List<GetRequest> requests;
+    private final Transcoder transcoder;
+    private final CompletableFuture<GetReplicaResult> result = new CompletableFuture<>();
+    private final List<ErrorContext> errors = new ArrayList<>();
+
+    private boolean hedged;
+    private int outstanding;
+    private volatile Timeout hedgeTimeout;
+
+    HedgedRead(final Core core, final List<GetRequest> requests, final Transcoder transcoder) {
+      this.core = core;
+      this.requests = requests;
+      this.transcoder = transcoder;
+    }
+
+    void start(final Duration hedgeDelay) {
+      synchronized (this) {
+        outstanding = 1;
+      }
+      dispatch(requests.get(0));
+      if (requests.size() > 1 && !result.isDone()) {
+        hedgeTimeout = core.context().environment().timer().schedule(this::hedge, hedgeDelay);
+        if (result.isDone()) {
+          hedgeTimeout.cancel();
+        }
+      }
+    }
+
+    /**
+     * Reads from all replicas, unless already done or the document has already been returned.
+     */
+    private void hedge() {
+      synchronized (this) {
+        if (hedged || result.isDone()) {
+          return;
+        }
+        hedged = true;
+        outstanding += requests.size() - 1;
+        if (outstanding == 0) {
+          fail();
+          return;
+        }
+      }
+      for (int i = 1; i < requests.size(); i++) {
+        dispatch(requests.get(i));
+      }
+    }
+
+    private void dispatch(final GetRequest request) {
+      GetAccessor
+        .get(core, request, transcoder)
+        .whenComplete((getResult, error) -> {
+          if (error == null) {
+            succeed(GetReplicaResult.from(getResult, request instanceof ReplicaGetRequest));
+          } else {
+            failed(error);
+          }
+        });
+    }
+
+    private void succeed(final GetReplicaResult replicaResult) {
+      if (result.complete(replicaResult)) {
+        Timeout timeout = hedgeTimeout;
+        if (timeout != null) {
+          timeout.cancel();
+        }
+        for (GetRequest request : requests) {
+          if (!request.completed()) {
+            request.cancel(CancellationReason.STOPPED_LISTENING);
+          }
+        }
+      }
+    }
+
+    private void failed(final Throwable error) {
+      boolean hedgeNow = false;
+      synchronized (this) {
+        if (error instanceof CompletionException && error.getCause() instanceof CouchbaseException) {
+          errors.add(((CouchbaseException) error.getCause()).context());
+        }
+        if (--outstanding == 0) {
+          if (hedged) {
+            fail();
+          } else {
+            hedgeNow = true;
+          }
+        }
+      }
+      if (hedgeNow) {
+        hedge();
+      }
+    }
+
+    private void fail() {
+      result.completeExceptionally(new DocumentUnretrievableException(new AggregateErrorContext(new ArrayList<>(errors))));
+    }
+
+  }
+
+}
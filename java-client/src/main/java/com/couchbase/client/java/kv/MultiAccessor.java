@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.msg.kv.RemoveResponse;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.msg.kv.UpsertResponse;
+import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.java.codec.Transcoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.couchbase.client.core.error.DefaultErrorUtil.keyValueStatusToException;
+
+/**
+ * Dispatches many key value requests at once and aggregates their responses into a single {@link MultiResult}.
+ *
+ * <p>Before sending, the requests are ordered by the node which is active for their partition, so that requests
+ * going to the same node are handed to the core back to back. Note that this is only a best effort ordering: it
+ * does not guarantee that they are written or flushed together, since each request is still routed and retried
+ * individually. The individual responses are collected directly from the request futures instead of going through
+ * a converting future chain per document.</p>
+ */
+@Stability.Internal
+public enum MultiAccessor {
+  ;
+
+  /**
+   * Dispatches all get requests and decodes their documents with the given transcoder.
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the requests to dispatch, keyed by document ID.
+   * @param transcoder the transcoder used to decode the response bodies.
+   * @return a {@link CompletableFuture} which completes once all requests are completed.
+   */
+  public static CompletableFuture<MultiResult<GetResult>> get(final Core core, final Map<String, GetRequest> requests,
+                                                              final Transcoder transcoder) {
+    return dispatch(core, requests, (GetResponse response) ->
+      new GetResult(response.content(), response.flags(), response.cas(), Optional.empty(), transcoder)
+    );
+  }
+
+  /**
+   * Dispatches all upsert requests.
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the requests to dispatch, keyed by document ID.
+   * @return a {@link CompletableFuture} which completes once all requests are completed.
+   */
+  public static CompletableFuture<MultiResult<MutationResult>> upsert(final Core core,
+                                                                      final Map<String, UpsertRequest> requests) {
+    return dispatch(core, requests, (UpsertResponse response) ->
+      new MutationResult(response.cas(), response.mutationToken())
+    );
+  }
+
+  /**
+   * Dispatches all remove requests.
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the requests to dispatch, keyed by document ID.
+   * @return a {@link CompletableFuture} which completes once all requests are completed.
+   */
+  public static CompletableFuture<MultiResult<MutationResult>> remove(final Core core,
+                                                                      final Map<String, RemoveRequest> requests) {
+    return dispatch(core, requests, (RemoveResponse response) ->
+      new MutationResult(response.cas(), response.mutationToken())
+    );
+  }
+
+  /**
+   * Aggregates already running per-document operations into a single {@link MultiResult}.
+   *
+   * <p>This is used for the cases which need more than one request per document (i.e. projections or legacy
+   * durability) and therefore cannot be dispatched as one request per document.</p>
+   *
+   * @param operations the running operations, keyed by document ID.
+   * @return a {@link CompletableFuture} which completes once all operations are completed.
+   */
+  public static <T> CompletableFuture<MultiResult<T>> collect(final Map<String, CompletableFuture<T>> operations) {
+    final Aggregator<T> aggregator = new Aggregator<>(operations.size());
+    for (Map.Entry<String, CompletableFuture<T>> operation : operations.entrySet()) {
+      final String id = operation.getKey();
+      operation.getValue().whenComplete((result, throwable) -> {
+        if (throwable == null) {
+          aggregator.success(id, result);
+        } else {
+          aggregator.failure(id, throwable);
+        }
+      });
+    }
+    return aggregator.future();
+  }
+
+  /**
+   * Sends all requests ordered by their target node and completes the returned future once all of them are done.
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the requests to dispatch, keyed by document ID.
+   * @param converter converts a successful response into the result.
+   * @return a {@link CompletableFuture} which completes once all requests are completed.
+   */
+  private static <REQ extends KeyValueRequest<RES>, RES extends Response, T> CompletableFuture<MultiResult<T>>
+  dispatch(final Core core, final Map<String, REQ> requests, final Function<RES, T> converter) {
+    final Aggregator<T> aggregator = new Aggregator<>(requests.size());
+    for (Map.Entry<String, REQ> entry : orderByNode(core, requests)) {
+      final String id = entry.getKey();
+      final REQ request = entry.getValue();
+      request.response().whenComplete((response, throwable) -> {
+        try {
+          if (throwable != null) {
+            aggregator.failure(id, throwable);
+          } else if (response.status().success()) {
+            aggregator.success(id, converter.apply(response));
+          } else {
+            aggregator.failure(id, keyValueStatusToException(request, response));
+          }
+        } catch (Throwable t) {
+          aggregator.failure(id, t);
+        } finally {
+          request.context().logicallyComplete();
+        }
+      });
+      core.send(request);
+    }
+    return aggregator.future();
+  }
+
+  /**
+   * Groups the requests by the node which is currently active for their partition.
+   *
+   * <p>If no couchbase bucket config is available (yet), the requests are returned in their original order and
+   * the locator takes care of them as usual.</p>
+   */
+  private static <REQ extends KeyValueRequest<?>> List<Map.Entry<String, REQ>> orderByNode(final Core core,
+                                                                                         final Map<String, REQ> requests) {
+    final List<Map.Entry<String, REQ>> ordered = new ArrayList<>(requests.entrySet());
+    if (ordered.isEmpty()) {
+      return ordered;
+    }
+
+    final String bucket = ordered.get(0).getValue().collectionIdentifier().bucket();
+    final BucketConfig config = core.clusterConfig().bucketConfig(bucket);
+    if (!(config instanceof CouchbaseBucketConfig)) {
+      return ordered;
+    }
+
+    final CouchbaseBucketConfig cbc = (CouchbaseBucketConfig) config;
+    final int numPartitions = cbc.numberOfPartitions();
+    final int numNodes = cbc.nodes().size();
+    if (numPartitions == 0 || numNodes == 0) {
+      return ordered;
+    }
+
+    // The last group collects all requests whose partition has no active node right now.
+    final List<List<Map.Entry<String, REQ>>> groups = new ArrayList<>(numNodes + 1);
+    for (int i = 0; i <= numNodes; i++) {
+      groups.add(new ArrayList<>());
+    }
+    for (Map.Entry<String, REQ> entry : ordered) {
+      int partition = KeyValueLocator.partitionForKey(entry.getValue().key(), numPartitions);
+      int nodeIndex = cbc.nodeIndexForActive(partition, false);
+      groups.get(nodeIndex < 0 || nodeIndex >= numNodes ? numNodes : nodeIndex).add(entry);
+    }
+
+    ordered.clear();
+    for (List<Map.Entry<String, REQ>> group : groups) {
+      ordered.addAll(group);
+    }
+    return ordered;
+  }
+
+  /**
+   * Collects the individual outcomes and completes the aggregate future once the last one arrived.
+   */
+  private static class Aggregator<T> {
+
+    private final Map<String, T> results = new ConcurrentHashMap<>();
+    private final Map<String, Throwable> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<MultiResult<T>> future = new CompletableFuture<>();
+
+    Aggregator(final int expected) {
+      this.remaining = new AtomicInteger(expected);
+      if (expected == 0) {
+        complete();
+      }
+    }
+
+    void success(final String id, final T result) {
+      results.put(id, result);
+      countDown();
+    }
+
+    void failure(final String id, final Throwable throwable) {
+      errors.put(id, throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable);
+      countDown();
+    }
+
+    CompletableFuture<MultiResult<T>> future() {
+      return future;
+    }
+
+    private void countDown() {
+      if (remaining.decrementAndGet() == 0) {
+        complete();
+      }
+    }
+
+    private void complete() {
+      future.complete(new MultiResult<>(results, errors));
+    }
+  }
+
+}
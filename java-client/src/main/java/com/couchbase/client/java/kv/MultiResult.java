@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of a batch operation which has been performed on many document IDs at once.
+ *
+ * <p>Every ID which has been part of the batch either shows up in the {@link #results()} or in the
+ * {@link #errors()}, but never in both.</p>
+ *
+ * @param <T> the type of the individual results.
+ * @since 3.1.2
+ */
+@Stability.Volatile
+public class MultiResult<T> {
+
+  private final Map<String, T> results;
+  private final Map<String, Throwable> errors;
+
+  /**
+   * Creates a new {@link MultiResult}.
+   *
+   * @param results the successful results, keyed by document ID.
+   * @param errors the failures, keyed by document ID.
+   */
+  MultiResult(final Map<String, T> results, final Map<String, Throwable> errors) {
+    this.results = Collections.unmodifiableMap(results);
+    this.errors = Collections.unmodifiableMap(errors);
+  }
+
+  /**
+   * Returns the results of all operations which completed successfully, keyed by document ID.
+   */
+  public Map<String, T> results() {
+    return results;
+  }
+
+  /**
+   * Returns the errors of all operations which failed, keyed by document ID.
+   */
+  public Map<String, Throwable> errors() {
+    return errors;
+  }
+
+  /**
+   * Returns true if at least one of the operations failed.
+   */
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "MultiResult{" +
+      "results=" + results +
+      ", errors=" + errors +
+      '}';
+  }
+
+}
@@ -37,7 +37,7 @@ import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.service.ServiceType;
-import com.couchbase.client.core.util.LRUCache;
+import com.couchbase.client.core.util.ConcurrentLruCache;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.json.JsonObject;
 import reactor.core.publisher.Mono;
@@ -45,8 +45,6 @@ import reactor.util.annotation.Nullable;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -69,16 +67,9 @@ import static com.couchbase.client.java.query.QueryOptions.queryOptions;
 @Stability.Internal
 public class QueryAccessor {
     /**
-     * The maximum number of prepared queries that will be kept around if the cache is enabled.
+     * Holds the query cache, sized through {@link com.couchbase.client.core.env.IoConfig#queryCacheSize()}.
      */
-    private static final int QUERY_CACHE_SIZE = 5000;
-
-    /**
-     * Holds the query cache.
-     */
-    private final Map<String, QueryCacheEntry> queryCache = Collections.synchronizedMap(
-      new LRUCache<>(QUERY_CACHE_SIZE)
-    );
+    private final ConcurrentLruCache<String, QueryCacheEntry> queryCache;
 
     private final Core core;
 
@@ -89,6 +80,8 @@ public class QueryAccessor {
 
     public QueryAccessor(final Core core) {
         this.core = core;
+        CoreEnvironment env = core.context().environment();
+        this.queryCache = new ConcurrentLruCache<>(env.ioConfig().queryCacheSize(), env.meter(), "query");
 
         core
           .configurationProvider()
@@ -137,6 +130,24 @@ public class QueryAccessor {
           .toFuture();
     }
 
+    /**
+     * Performs a N1QL query and returns a result which pulls the rows on demand as a future.
+     *
+     * <p>The future completes once the header of the response has been received, the rows are only fetched
+     * from the network while they are consumed from the result.</p>
+     *
+     * @param request the request to perform.
+     * @param options query options to use.
+     * @return the future once the header of the response arrived.
+     */
+    public CompletableFuture<StreamingQueryResult> queryStreamAsync(final QueryRequest request,
+                                                                    final QueryOptions.Built options,
+                                                                    final JsonSerializer serializer) {
+        return queryInternal(request, options, options.adhoc(), serializer)
+          .map(response -> new StreamingQueryResult(response, serializer))
+          .toFuture();
+    }
+
     /**
      * Performs a N1QL query and returns the result as a future.
      *
@@ -146,7 +157,9 @@ public class QueryAccessor {
      */
     public Mono<ReactiveQueryResult> queryReactive(final QueryRequest request, final QueryOptions.Built options,
                                                    final JsonSerializer serializer) {
-        return queryInternal(request, options, options.adhoc(), serializer).map(r -> new ReactiveQueryResult(r, serializer));
+        return queryInternal(request, options, options.adhoc(), serializer).map(r -> new ReactiveQueryResult(
+          r, serializer, core.context().environment().scheduler()
+        ));
     }
 
     /**
@@ -16,14 +16,17 @@
 
 package com.couchbase.client.java.query;
 
+import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.query.QueryResponse;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.TypeRef;
 import com.couchbase.client.java.json.JsonObject;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Reactive result that fetch parts of the N1ql Query responses reactively
@@ -40,9 +43,16 @@ public class ReactiveQueryResult {
 	 */
 	private final JsonSerializer serializer;
 
-	ReactiveQueryResult(final QueryResponse response, final JsonSerializer serializer) {
+	/**
+	 * The scheduler to decode rows on if they are decoded in parallel.
+	 */
+	private final Scheduler decodeScheduler;
+
+	ReactiveQueryResult(final QueryResponse response, final JsonSerializer serializer,
+											final Scheduler decodeScheduler) {
 		this.response = response;
 		this.serializer = serializer;
+		this.decodeScheduler = decodeScheduler;
 	}
 
 	/**
@@ -79,6 +89,49 @@ public class ReactiveQueryResult {
 		return response.rows().map(n -> serializer.deserialize(target, n.data()));
 	}
 
+	/**
+	 * Get a {@link Flux} which publishes the rows that were fetched by the query which are then decoded to the
+	 * requested entity class on the SDK scheduler, with up to the given number of rows decoded in parallel.
+	 * <p>
+	 * This moves the decoding off the IO threads and spreads it across cores, which pays off for wide rows and
+	 * expensive entity classes. The rows are still published in order, and no more than {@code parallelism} rows
+	 * are fetched ahead of the demand of the subscriber.
+	 *
+	 * @param target target class for converting the query row
+	 * @param parallelism the maximum number of rows decoded at the same time, must be at least 1.
+	 * @return {@link Flux}
+	 * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
+	 */
+	@Stability.Volatile
+	public <T> Flux<T> rowsAs(Class<T> target, int parallelism) {
+		checkParallelism(parallelism);
+		return Reactor.parallelMapOrdered(response.rows(), n -> serializer.deserialize(target, n.data()),
+			decodeScheduler, parallelism);
+	}
+
+	/**
+	 * Get a {@link Flux} which publishes the rows that were fetched by the query which are then decoded to the
+	 * requested entity type on the SDK scheduler, with up to the given number of rows decoded in parallel.
+	 *
+	 * @param target target type for converting the query row
+	 * @param parallelism the maximum number of rows decoded at the same time, must be at least 1.
+	 * @return {@link Flux}
+	 * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
+	 * @see #rowsAs(Class, int)
+	 */
+	@Stability.Volatile
+	public <T> Flux<T> rowsAs(TypeRef<T> target, int parallelism) {
+		checkParallelism(parallelism);
+		return Reactor.parallelMapOrdered(response.rows(), n -> serializer.deserialize(target, n.data()),
+			decodeScheduler, parallelism);
+	}
+
+	private static void checkParallelism(final int parallelism) {
+		if (parallelism < 1) {
+			throw InvalidArgumentException.fromMessage("The decode parallelism must be at least 1, but was " + parallelism);
+		}
+	}
+
 	/**
 	 * Returns a {@link Mono} containing a {@link QueryMetaData},  giving access to the additional metadata associated with
 	 * this query.
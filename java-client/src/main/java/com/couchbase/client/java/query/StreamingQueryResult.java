@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.java.codec.JsonSerializer;
+import com.couchbase.client.java.codec.TypeRef;
+import com.couchbase.client.java.json.JsonObject;
+import reactor.core.Exceptions;
+
+import java.io.Closeable;
+import java.util.stream.Stream;
+
+import static com.couchbase.client.java.AsyncUtils.block;
+
+/**
+ * The result of a N1QL query which pulls its rows from the network on demand.
+ *
+ * <p>Compared to a {@link QueryResult}, which holds all rows in memory, only a bounded window of
+ * {@link #ROW_PREFETCH} rows is buffered at any time: once it is full, reading from the socket is paused until
+ * the application consumed more rows. This keeps the memory footprint independent of the size of the result,
+ * i.e. when exporting large data sets.</p>
+ *
+ * <p>The rows can be consumed only once, through one of the {@code rowsAs} methods, and the returned stream
+ * blocks while waiting for more rows to arrive. The metadata is only available once all rows have been consumed.
+ * If the rows are not consumed completely, the result must be closed to release the connection, so it is
+ * recommended to use it in a try-with-resources block.</p>
+ *
+ * @since 3.1.2
+ */
+@Stability.Volatile
+public class StreamingQueryResult implements Closeable {
+
+  /**
+   * The number of rows requested from the network at once.
+   */
+  static final int ROW_PREFETCH = 128;
+
+  private final QueryResponse response;
+  private final JsonSerializer serializer;
+  private final Stream<QueryChunkRow> rows;
+
+  /**
+   * Set once the rows have been received completely (or failed), so the metadata is on its way.
+   */
+  private volatile boolean rowsDone;
+
+  /**
+   * Set once the result has been closed.
+   */
+  private volatile boolean closed;
+
+  StreamingQueryResult(final QueryResponse response, final JsonSerializer serializer) {
+    this.response = response;
+    this.serializer = serializer;
+    // The signals are materialized so that the rows already buffered are still handed out before an error is
+    // thrown, instead of the error overtaking them.
+    this.rows = response
+      .rows()
+      .doOnTerminate(() -> rowsDone = true)
+      .materialize()
+      .toStream(ROW_PREFETCH)
+      .filter(signal -> !signal.isOnComplete())
+      .map(signal -> {
+        if (signal.isOnError()) {
+          throw Exceptions.propagate(signal.getThrowable());
+        }
+        return signal.get();
+      });
+  }
+
+  /**
+   * Returns the rows of the query decoded into {@link JsonObject}s, pulling them on demand.
+   *
+   * @return a stream of rows which blocks while waiting for further rows.
+   * @throws DecodingFailureException if a row cannot be decoded successfully.
+   * @throws IllegalStateException if the rows have been consumed already.
+   */
+  public Stream<JsonObject> rowsAsObject() {
+    return rowsAs(JsonObject.class);
+  }
+
+  /**
+   * Returns the rows of the query decoded into the given target class, pulling them on demand.
+   *
+   * @param target the target class to decode into.
+   * @return a stream of rows which blocks while waiting for further rows.
+   * @throws DecodingFailureException if a row cannot be decoded successfully.
+   * @throws IllegalStateException if the rows have been consumed already.
+   */
+  public <T> Stream<T> rowsAs(final Class<T> target) {
+    return rows.map(row -> serializer.deserialize(target, row.data()));
+  }
+
+  /**
+   * Returns the rows of the query decoded into the given target type, pulling them on demand.
+   *
+   * @param target the target type to decode into.
+   * @return a stream of rows which blocks while waiting for further rows.
+   * @throws DecodingFailureException if a row cannot be decoded successfully.
+   * @throws IllegalStateException if the rows have been consumed already.
+   */
+  public <T> Stream<T> rowsAs(final TypeRef<T> target) {
+    return rows.map(row -> serializer.deserialize(target, row.data()));
+  }
+
+  /**
+   * Returns the {@link QueryMetaData} of the query, blocking until it is available.
+   *
+   * <p>The metadata is sent after all rows, so this method must only be called once all rows have been
+   * consumed or the result has been closed. Since the rows are not read from the network while nobody consumes
+   * them, it fails instead of waiting forever otherwise.</p>
+   *
+   * @return the metadata of the query.
+   * @throws IllegalStateException if the rows have not been consumed completely and the result is not closed.
+   */
+  public QueryMetaData metaData() {
+    if (!rowsDone && !closed) {
+      throw new IllegalStateException("The metadata is only available once all rows have been consumed "
+        + "or the result has been closed");
+    }
+    return block(response.trailer().map(trailer -> QueryMetaData.from(response.header(), trailer)).toFuture());
+  }
+
+  /**
+   * Stops pulling rows if they have not been consumed completely, so the connection can be released.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    rows.close();
+  }
+
+}
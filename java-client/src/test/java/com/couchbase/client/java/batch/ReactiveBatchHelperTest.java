@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.java.batch;
+
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.MultiResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveBatchHelperTest {
+
+  @Test
+  void dropsDocumentsRemovedAfterExistsCheck() {
+    GetResult found = mock(GetResult.class);
+    Map<String, Throwable> errors = new HashMap<>();
+    errors.put("removed", new DocumentNotFoundException(null));
+
+    Map<String, GetResult> result = ReactiveBatchHelper
+      .foundResults(multiResult(Collections.singletonMap("found", found), errors))
+      .block();
+
+    assertEquals(Collections.singletonMap("found", found), result);
+  }
+
+  @Test
+  void propagatesOtherErrors() {
+    CouchbaseException failure = new CouchbaseException("failed");
+    Map<String, Throwable> errors = new HashMap<>();
+    errors.put("removed", new DocumentNotFoundException(null));
+    errors.put("failed", failure);
+
+    CouchbaseException thrown = assertThrows(
+      CouchbaseException.class,
+      () -> ReactiveBatchHelper.foundResults(multiResult(Collections.emptyMap(), errors)).block()
+    );
+    assertSame(failure, thrown);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MultiResult<GetResult> multiResult(final Map<String, GetResult> results,
+                                                    final Map<String, Throwable> errors) {
+    MultiResult<GetResult> result = mock(MultiResult.class);
+    when(result.results()).thenReturn(results);
+    when(result.errors()).thenReturn(errors);
+    return result;
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.config.ClusterConfig;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentUnretrievableException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.java.codec.RawBinaryTranscoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgedReplicaAccessorTest {
+
+  private static final CollectionIdentifier CID = CollectionIdentifier.fromDefault("bucket");
+
+  private Core core;
+  private CoreContext ctx;
+  private Timeout hedgeTimeout;
+  private ArgumentCaptor<Runnable> hedge;
+  private List<Request<?>> sent;
+
+  @BeforeEach
+  void setup() {
+    core = mock(Core.class);
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    Timer timer = mock(Timer.class);
+    hedgeTimeout = mock(Timeout.class);
+    hedge = ArgumentCaptor.forClass(Runnable.class);
+    when(env.timer()).thenReturn(timer);
+    when(timer.schedule(hedge.capture(), any(Duration.class))).thenReturn(hedgeTimeout);
+
+    ctx = new CoreContext(core, 1, env, null);
+    when(core.context()).thenReturn(ctx);
+    when(core.clusterConfig()).thenReturn(mock(ClusterConfig.class));
+
+    sent = new ArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(core).send(any());
+  }
+
+  @Test
+  void readsReplicasOnlyAfterHedgeDelay() {
+    List<GetRequest> requests = requests();
+    CompletableFuture<GetReplicaResult> result = HedgedReplicaAccessor.getAnyReplica(
+      core, requests, RawBinaryTranscoder.INSTANCE
+    );
+
+    verify(core.context().environment().timer())
+      .schedule(any(Runnable.class), eq(HedgedReplicaAccessor.DEFAULT_HEDGE_DELAY));
+    assertEquals(Arrays.asList(requests.get(0)), sent);
+
+    hedge.getValue().run();
+    assertEquals(requests, sent);
+    assertFalse(result.isDone());
+  }
+
+  @Test
+  void readsReplicasRightAwayIfActiveFails() {
+    List<GetRequest> requests = requests();
+    CompletableFuture<GetReplicaResult> result = HedgedReplicaAccessor.getAnyReplica(
+      core, requests, RawBinaryTranscoder.INSTANCE
+    );
+    assertEquals(1, sent.size());
+
+    requests.get(0).fail(new CouchbaseException("active failed"));
+    assertEquals(requests, sent);
+
+    // the hedge timer firing afterwards must not read the replicas again
+    hedge.getValue().run();
+    assertEquals(requests, sent);
+
+    requests.get(1).succeed(response(ResponseStatus.SUCCESS));
+    assertTrue(result.join().isReplica());
+  }
+
+  @Test
+  void cancelsLosingReadsOnceOneSucceeds() {
+    List<GetRequest> requests = requests();
+    CompletableFuture<GetReplicaResult> result = HedgedReplicaAccessor.getAnyReplica(
+      core, requests, RawBinaryTranscoder.INSTANCE
+    );
+    hedge.getValue().run();
+
+    requests.get(2).succeed(response(ResponseStatus.SUCCESS));
+    assertTrue(result.join().isReplica());
+
+    assertEquals(CancellationReason.STOPPED_LISTENING, requests.get(0).cancellationReason());
+    assertEquals(CancellationReason.STOPPED_LISTENING, requests.get(1).cancellationReason());
+    verify(hedgeTimeout).cancel();
+  }
+
+  @Test
+  void cancelsHedgeOnceActiveSucceeds() {
+    List<GetRequest> requests = requests();
+    CompletableFuture<GetReplicaResult> result = HedgedReplicaAccessor.getAnyReplica(
+      core, requests, RawBinaryTranscoder.INSTANCE
+    );
+
+    requests.get(0).succeed(response(ResponseStatus.SUCCESS));
+    assertFalse(result.join().isReplica());
+    verify(hedgeTimeout).cancel();
+
+    hedge.getValue().run();
+    assertEquals(1, sent.size());
+  }
+
+  @Test
+  void failsIfAllReadsFail() {
+    List<GetRequest> requests = requests();
+    CompletableFuture<GetReplicaResult> result = HedgedReplicaAccessor.getAnyReplica(
+      core, requests, RawBinaryTranscoder.INSTANCE
+    );
+
+    requests.get(0).succeed(response(ResponseStatus.NOT_FOUND));
+    requests.get(1).succeed(response(ResponseStatus.NOT_FOUND));
+    assertFalse(result.isDone());
+    requests.get(2).succeed(response(ResponseStatus.NOT_FOUND));
+
+    CompletionException thrown = assertThrows(CompletionException.class, result::join);
+    assertTrue(thrown.getCause() instanceof DocumentUnretrievableException);
+  }
+
+  /**
+   * Creates the request to the active followed by the requests to two replicas.
+   */
+  private List<GetRequest> requests() {
+    return Arrays.asList(
+      new GetRequest("id", Duration.ofSeconds(1), ctx, CID, BestEffortRetryStrategy.INSTANCE, null),
+      new ReplicaGetRequest("id", Duration.ofSeconds(1), ctx, CID, BestEffortRetryStrategy.INSTANCE, (short) 1, null),
+      new ReplicaGetRequest("id", Duration.ofSeconds(1), ctx, CID, BestEffortRetryStrategy.INSTANCE, (short) 2, null)
+    );
+  }
+
+  private static GetResponse response(final ResponseStatus status) {
+    GetResponse response = mock(GetResponse.class);
+    when(response.status()).thenReturn(status);
+    when(response.content()).thenReturn(new byte[0]);
+    return response;
+  }
+
+}
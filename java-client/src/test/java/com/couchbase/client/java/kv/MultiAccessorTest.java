@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.config.ClusterConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.java.codec.RawBinaryTranscoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MultiAccessorTest {
+
+  private static final String BUCKET = "bucket";
+  private static final CollectionIdentifier CID = CollectionIdentifier.fromDefault(BUCKET);
+
+  private Core core;
+  private CoreContext ctx;
+  private ClusterConfig clusterConfig;
+  private List<Request<?>> sent;
+
+  @BeforeEach
+  void setup() {
+    core = mock(Core.class);
+    ctx = new CoreContext(core, 1, null, null);
+    clusterConfig = mock(ClusterConfig.class);
+    when(core.clusterConfig()).thenReturn(clusterConfig);
+
+    sent = new ArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(core).send(any());
+  }
+
+  @Test
+  void completesImmediatelyWithoutIds() {
+    CompletableFuture<MultiResult<GetResult>> future = MultiAccessor.get(
+      core, Collections.emptyMap(), RawBinaryTranscoder.INSTANCE
+    );
+
+    assertTrue(future.isDone());
+    MultiResult<GetResult> result = future.join();
+    assertTrue(result.results().isEmpty());
+    assertTrue(result.errors().isEmpty());
+    assertFalse(result.hasErrors());
+    verify(core, never()).send(any());
+  }
+
+  @Test
+  void collectCompletesImmediatelyWithoutIds() {
+    MultiResult<Object> result = MultiAccessor.collect(Collections.<String, CompletableFuture<Object>>emptyMap()).join();
+
+    assertTrue(result.results().isEmpty());
+    assertFalse(result.hasErrors());
+  }
+
+  @Test
+  void separatesResultsFromErrors() {
+    Map<String, GetRequest> requests = requests("found", "missing", "timeout");
+
+    CompletableFuture<MultiResult<GetResult>> future = MultiAccessor.get(core, requests, RawBinaryTranscoder.INSTANCE);
+    assertEquals(3, sent.size());
+
+    requests.get("found").succeed(response(ResponseStatus.SUCCESS, 1234));
+    requests.get("missing").succeed(response(ResponseStatus.NOT_FOUND, 0));
+    assertFalse(future.isDone());
+    requests.get("timeout").fail(new CompletionException(new TimeoutException()));
+
+    MultiResult<GetResult> result = future.join();
+    assertEquals(Collections.singleton("found"), result.results().keySet());
+    assertEquals(1234, result.results().get("found").cas());
+
+    assertTrue(result.hasErrors());
+    assertEquals(2, result.errors().size());
+    assertTrue(result.errors().get("missing") instanceof DocumentNotFoundException);
+    assertTrue(result.errors().get("timeout") instanceof TimeoutException);
+
+    for (GetRequest request : requests.values()) {
+      assertTrue(request.context().logicallyCompletedAt() > 0);
+    }
+  }
+
+  @Test
+  void resultIsNotModifiable() {
+    Map<String, GetRequest> requests = requests("a");
+    CompletableFuture<MultiResult<GetResult>> future = MultiAccessor.get(core, requests, RawBinaryTranscoder.INSTANCE);
+    requests.get("a").succeed(response(ResponseStatus.SUCCESS, 1));
+
+    MultiResult<GetResult> result = future.join();
+    assertThrows(UnsupportedOperationException.class, () -> result.results().remove("a"));
+    assertThrows(UnsupportedOperationException.class, () -> result.errors().put("a", new Exception()));
+  }
+
+  @Test
+  void sendsRequestsGroupedByActiveNode() {
+    int numPartitions = 4;
+    CouchbaseBucketConfig config = mock(CouchbaseBucketConfig.class);
+    when(config.numberOfPartitions()).thenReturn(numPartitions);
+    when(config.nodes()).thenReturn(Arrays.asList(mock(NodeInfo.class), mock(NodeInfo.class)));
+    // partitions 0 and 2 live on node 1, 1 on node 0 and 3 has no active node right now
+    when(config.nodeIndexForActive(anyInt(), eq(false))).thenAnswer(invocation -> {
+      int partition = invocation.getArgument(0);
+      return (short) (partition == 3 ? -1 : partition % 2 == 0 ? 1 : 0);
+    });
+    when(clusterConfig.bucketConfig(BUCKET)).thenReturn(config);
+
+    String[] ids = new String[32];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = "id-" + i;
+    }
+    MultiAccessor.get(core, requests(ids), RawBinaryTranscoder.INSTANCE);
+
+    assertEquals(ids.length, sent.size());
+    int lastGroup = 0;
+    for (Request<?> request : sent) {
+      int partition = KeyValueLocator.partitionForKey(((GetRequest) request).key(), numPartitions);
+      int group = partition == 3 ? 2 : partition % 2 == 0 ? 1 : 0;
+      assertTrue(group >= lastGroup, "Request for group " + group + " sent after group " + lastGroup);
+      lastGroup = group;
+    }
+  }
+
+  @Test
+  void keepsOrderWithoutBucketConfig() {
+    MultiAccessor.get(core, requests("c", "a", "b"), RawBinaryTranscoder.INSTANCE);
+
+    List<String> sentIds = new ArrayList<>();
+    for (Request<?> request : sent) {
+      sentIds.add(new String(((GetRequest) request).key()));
+    }
+    assertEquals(Arrays.asList("c", "a", "b"), sentIds);
+  }
+
+  private Map<String, GetRequest> requests(final String... ids) {
+    Map<String, GetRequest> requests = new LinkedHashMap<>();
+    for (String id : ids) {
+      requests.put(id, new GetRequest(id, Duration.ofSeconds(1), ctx, CID, BestEffortRetryStrategy.INSTANCE, null));
+    }
+    return requests;
+  }
+
+  private static GetResponse response(final ResponseStatus status, final long cas) {
+    GetResponse response = mock(GetResponse.class);
+    when(response.status()).thenReturn(status);
+    when(response.cas()).thenReturn(cas);
+    when(response.content()).thenReturn(new byte[0]);
+    return response;
+  }
+
+}
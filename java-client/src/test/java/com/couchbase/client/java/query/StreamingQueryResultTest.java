@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.msg.query.QueryChunkHeader;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
+import com.couchbase.client.core.msg.query.QueryChunkTrailer;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.java.codec.DefaultJsonSerializer;
+import com.couchbase.client.java.json.JsonObject;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link StreamingQueryResult}.
+ */
+class StreamingQueryResultTest {
+
+  private static final int NUM_ROWS = 10 * StreamingQueryResult.ROW_PREFETCH;
+
+  @Test
+  void pullsRowsOnDemand() {
+    AtomicInteger emitted = new AtomicInteger();
+    StreamingQueryResult result = result(rows(NUM_ROWS).doOnNext(row -> emitted.incrementAndGet()));
+
+    Iterator<JsonObject> rows = result.rowsAsObject().iterator();
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, rows.next().getInt("id"));
+    }
+    assertTrue(emitted.get() <= StreamingQueryResult.ROW_PREFETCH, "Emitted " + emitted.get() + " rows");
+
+    int consumed = 10;
+    while (rows.hasNext()) {
+      assertEquals(consumed++, rows.next().getInt("id"));
+    }
+    assertEquals(NUM_ROWS, consumed);
+    assertEquals("request-id", result.metaData().requestId());
+  }
+
+  @Test
+  void closeCancelsRows() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    StreamingQueryResult result = result(rows(NUM_ROWS).doOnCancel(() -> cancelled.set(true)));
+
+    Iterator<JsonObject> rows = result.rowsAsObject().iterator();
+    rows.next();
+    assertFalse(cancelled.get());
+
+    result.close();
+    assertTrue(cancelled.get());
+    assertEquals("request-id", result.metaData().requestId());
+  }
+
+  @Test
+  void surfacesErrorsMidStream() {
+    CouchbaseException failure = new CouchbaseException("failed");
+    StreamingQueryResult result = result(Flux.concat(rows(3), Flux.error(failure)));
+
+    Iterator<JsonObject> rows = result.rowsAsObject().iterator();
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, rows.next().getInt("id"));
+    }
+    CouchbaseException thrown = assertThrows(CouchbaseException.class, rows::hasNext);
+    assertEquals(failure, thrown);
+  }
+
+  @Test
+  void metaDataFailsFastBeforeRowsConsumed() {
+    StreamingQueryResult result = result(rows(NUM_ROWS), Mono.never());
+
+    assertThrows(IllegalStateException.class, result::metaData);
+    result.rowsAsObject().iterator().next();
+    assertThrows(IllegalStateException.class, result::metaData);
+  }
+
+  private static Flux<QueryChunkRow> rows(final int numRows) {
+    return Flux.range(0, numRows).map(i -> new QueryChunkRow(("{\"id\":" + i + "}").getBytes(UTF_8)));
+  }
+
+  private static StreamingQueryResult result(final Flux<QueryChunkRow> rows) {
+    return result(rows, Mono.just(new QueryChunkTrailer(
+      "success",
+      Optional.empty(),
+      Optional.empty(),
+      Optional.empty(),
+      Optional.empty()
+    )));
+  }
+
+  private static StreamingQueryResult result(final Flux<QueryChunkRow> rows, final Mono<QueryChunkTrailer> trailer) {
+    QueryResponse response = mock(QueryResponse.class);
+    when(response.header()).thenReturn(
+      new QueryChunkHeader("request-id", Optional.empty(), Optional.empty(), Optional.empty())
+    );
+    when(response.rows()).thenReturn(rows);
+    when(response.trailer()).thenReturn(trailer);
+    return new StreamingQueryResult(response, DefaultJsonSerializer.create());
+  }
+
+}